@@ -35,6 +35,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.api.Authentication;
 import org.eclipse.jetty.client.api.AuthenticationStore;
+import org.eclipse.jetty.client.api.Request;
 import org.eclipse.jetty.client.util.BasicAuthentication;
 import org.eclipse.jetty.client.util.DigestAuthentication;
 import org.openhab.binding.http.internal.config.HttpChannelConfig;
@@ -44,6 +45,7 @@ import org.openhab.binding.http.internal.http.HttpResponseListener;
 import org.openhab.binding.http.internal.http.HttpStatusListener;
 import org.openhab.binding.http.internal.http.RateLimitedHttpClient;
 import org.openhab.binding.http.internal.http.RefreshingUrlCache;
+import org.openhab.binding.http.internal.http.RefreshingUrlCacheRegistry;
 import org.openhab.core.i18n.TimeZoneProvider;
 import org.openhab.core.library.types.DateTimeType;
 import org.openhab.core.library.types.PointType;
@@ -88,6 +90,7 @@ public class HttpThingHandler extends BaseThingHandler implements HttpStatusList
     private final Logger logger = LoggerFactory.getLogger(HttpThingHandler.class);
     private final HttpClientProvider httpClientProvider;
     private final RateLimitedHttpClient rateLimitedHttpClient;
+    private final RefreshingUrlCacheRegistry urlCacheRegistry;
     private final HttpDynamicStateDescriptionProvider httpDynamicStateDescriptionProvider;
     private final TimeZoneProvider timeZoneProvider;
 
@@ -97,10 +100,12 @@ public class HttpThingHandler extends BaseThingHandler implements HttpStatusList
     private final Map<ChannelUID, String> channelUrls = new HashMap<>();
 
     public HttpThingHandler(Thing thing, HttpClientProvider httpClientProvider,
+            RefreshingUrlCacheRegistry urlCacheRegistry,
             HttpDynamicStateDescriptionProvider httpDynamicStateDescriptionProvider,
             TimeZoneProvider timeZoneProvider) {
         super(thing);
         this.httpClientProvider = httpClientProvider;
+        this.urlCacheRegistry = urlCacheRegistry;
         this.rateLimitedHttpClient = new RateLimitedHttpClient(httpClientProvider.getSecureClient(), scheduler);
         this.httpDynamicStateDescriptionProvider = httpDynamicStateDescriptionProvider;
         this.timeZoneProvider = timeZoneProvider;
@@ -167,6 +172,8 @@ public class HttpThingHandler extends BaseThingHandler implements HttpStatusList
             rateLimitedHttpClient.setHttpClient(httpClientProvider.getSecureClient());
         }
         rateLimitedHttpClient.setDelay(config.delay);
+        rateLimitedHttpClient.setBurst(config.burst);
+        rateLimitedHttpClient.setMaxConcurrentRequests(config.maxConcurrentRequests);
 
         // remove empty headers
         config.headers.removeIf(String::isBlank);
@@ -236,7 +243,8 @@ public class HttpThingHandler extends BaseThingHandler implements HttpStatusList
                     urlHandlerCount, thing.getUID(), config.delay, config.refresh);
         }
 
-        urlHandlers.values().forEach(urlHandler -> urlHandler.start(scheduler, config.refresh));
+        // requests are shared with other things requesting the same content
+        urlHandlers.values().forEach(urlHandler -> urlCacheRegistry.subscribe(urlHandler, scheduler, config.refresh));
 
         updateStatus(ThingStatus.UNKNOWN);
     }
@@ -244,7 +252,10 @@ public class HttpThingHandler extends BaseThingHandler implements HttpStatusList
     @Override
     public void dispose() {
         // stop update tasks
-        urlHandlers.values().forEach(RefreshingUrlCache::stop);
+        urlHandlers.values().forEach(urlHandler -> {
+            urlCacheRegistry.unsubscribe(urlHandler, scheduler);
+            urlHandler.stop();
+        });
         rateLimitedHttpClient.shutdown();
 
         // clear lists
@@ -374,35 +385,42 @@ public class HttpThingHandler extends BaseThingHandler implements HttpStatusList
             // build request
             rateLimitedHttpClient.newPriorityRequest(uri, config.commandMethod, command, config.contentType)
                     .thenAccept(request -> {
-                        request.timeout(config.timeout, TimeUnit.MILLISECONDS);
-                        config.getHeaders().forEach(request::header);
-
-                        CompletableFuture<@Nullable ChannelHandlerContent> responseContentFuture = new CompletableFuture<>();
-                        responseContentFuture.exceptionally(t -> {
-                            if (t instanceof HttpAuthException) {
-                                if (isRetry || !rateLimitedHttpClient.reAuth(uri)) {
-                                    logger.warn(
-                                            "Retry after authentication failure failed again for '{}', failing here",
-                                            uri);
-                                    onHttpError("Authentication failed");
-                                } else {
-                                    sendHttpValue(commandUrl, command, true);
-                                }
-                            }
-                            return null;
-                        });
-
-                        if (logger.isTraceEnabled()) {
-                            logger.trace("Sending to '{}': {}", uri, Util.requestToLogString(request));
+                        try {
+                            sendRequest(uri, request, commandUrl, command, isRetry);
+                        } catch (RuntimeException e) {
+                            rateLimitedHttpClient.discard(request);
+                            throw e;
                         }
-
-                        request.send(new HttpResponseListener(responseContentFuture, null, config.bufferSize, this));
                     });
         } catch (IllegalArgumentException | URISyntaxException | MalformedURLException e) {
             logger.warn("Creating request for '{}' failed: {}", commandUrl, e.getMessage());
         }
     }
 
+    private void sendRequest(URI uri, Request request, String commandUrl, String command, boolean isRetry) {
+        request.timeout(config.timeout, TimeUnit.MILLISECONDS);
+        config.getHeaders().forEach(request::header);
+
+        CompletableFuture<@Nullable ChannelHandlerContent> responseContentFuture = new CompletableFuture<>();
+        responseContentFuture.exceptionally(t -> {
+            if (t instanceof HttpAuthException) {
+                if (isRetry || !rateLimitedHttpClient.reAuth(uri)) {
+                    logger.warn("Retry after authentication failure failed again for '{}', failing here", uri);
+                    onHttpError("Authentication failed");
+                } else {
+                    sendHttpValue(commandUrl, command, true);
+                }
+            }
+            return null;
+        });
+
+        if (logger.isTraceEnabled()) {
+            logger.trace("Sending to '{}': {}", uri, Util.requestToLogString(request));
+        }
+
+        request.send(new HttpResponseListener(responseContentFuture, null, config.bufferSize, this));
+    }
+
     private String concatenateUrlParts(String baseUrl, @Nullable String extension) {
         if (extension != null && !extension.isEmpty()) {
             if (!URL_PART_DELIMITER.contains(baseUrl.charAt(baseUrl.length() - 1))
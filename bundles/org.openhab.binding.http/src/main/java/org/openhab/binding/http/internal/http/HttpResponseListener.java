@@ -23,6 +23,8 @@ import org.eclipse.jetty.client.api.Response;
 import org.eclipse.jetty.client.api.Result;
 import org.eclipse.jetty.client.util.BufferingResponseListener;
 import org.eclipse.jetty.http.HttpField;
+import org.eclipse.jetty.http.HttpFields;
+import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpStatus;
 import org.openhab.core.thing.binding.generic.ChannelHandlerContent;
 import org.slf4j.Logger;
@@ -39,6 +41,8 @@ public class HttpResponseListener extends BufferingResponseListener {
     private final CompletableFuture<@Nullable ChannelHandlerContent> future;
     private final HttpStatusListener httpStatusListener;
     private final String fallbackEncoding;
+    private final @Nullable ChannelHandlerContent notModifiedContent;
+    private volatile @Nullable HttpFields responseHeaders;
 
     /**
      * the HttpResponseListener is responsible
@@ -49,10 +53,37 @@ public class HttpResponseListener extends BufferingResponseListener {
      */
     public HttpResponseListener(CompletableFuture<@Nullable ChannelHandlerContent> future,
             @Nullable String fallbackEncoding, int bufferSize, HttpStatusListener httpStatusListener) {
+        this(future, fallbackEncoding, bufferSize, httpStatusListener, null);
+    }
+
+    /**
+     * the HttpResponseListener is responsible
+     *
+     * @param future Content future to complete with the result of the request
+     * @param fallbackEncoding a fallback encoding for the content (UTF-8 if null)
+     * @param bufferSize the buffer size for the content in kB (default 2048 kB)
+     * @param notModifiedContent content to complete the future with on a "304 Not Modified" response to a conditional
+     *            request (null if the request is not conditional)
+     */
+    public HttpResponseListener(CompletableFuture<@Nullable ChannelHandlerContent> future,
+            @Nullable String fallbackEncoding, int bufferSize, HttpStatusListener httpStatusListener,
+            @Nullable ChannelHandlerContent notModifiedContent) {
         super(bufferSize * 1024);
         this.future = future;
         this.fallbackEncoding = fallbackEncoding != null ? fallbackEncoding : StandardCharsets.UTF_8.name();
         this.httpStatusListener = httpStatusListener;
+        this.notModifiedContent = notModifiedContent;
+    }
+
+    /**
+     * Get a header of the response
+     *
+     * @param header the header
+     * @return the value of the header, or null if the header is not present or no response was received (yet)
+     */
+    public @Nullable String getResponseHeader(HttpHeader header) {
+        HttpFields responseHeaders = this.responseHeaders;
+        return responseHeaders != null ? responseHeaders.get(header) : null;
     }
 
     @Override
@@ -62,6 +93,9 @@ public class HttpResponseListener extends BufferingResponseListener {
             logger.trace("Received from '{}': {}", result.getRequest().getURI(), responseToLogString(response));
         }
         Request request = result.getRequest();
+        if (response != null) {
+            responseHeaders = response.getHeaders();
+        }
         if (response == null || (result.isFailed() && response.getStatus() != HttpStatus.UNAUTHORIZED_401)) {
             logger.debug("Requesting '{}' (method='{}', content='{}') failed: {}", request.getURI(),
                     request.getMethod(), request.getContent(), result.getFailure().getMessage());
@@ -87,6 +121,21 @@ public class HttpResponseListener extends BufferingResponseListener {
                     }
                     httpStatusListener.onHttpSuccess();
                     break;
+                case HttpStatus.NOT_MODIFIED_304:
+                    ChannelHandlerContent notModifiedContent = this.notModifiedContent;
+                    if (notModifiedContent != null) {
+                        logger.trace("Content of '{}' not modified", request.getURI());
+                        future.complete(notModifiedContent);
+                        httpStatusListener.onHttpSuccess();
+                    } else {
+                        // not a conditional request, so there is no content to use
+                        logger.debug("Requesting '{}' (method='{}', content='{}') failed: unexpected {} {}",
+                                request.getURI(), request.getMethod(), request.getContent(), response.getStatus(),
+                                response.getReason());
+                        future.complete(null);
+                        httpStatusListener.onHttpError(response.getReason());
+                    }
+                    break;
                 case HttpStatus.UNAUTHORIZED_401:
                     logger.debug("Requesting '{}' (method='{}', content='{}') failed: Authorization error",
                             request.getURI(), request.getMethod(), request.getContent());
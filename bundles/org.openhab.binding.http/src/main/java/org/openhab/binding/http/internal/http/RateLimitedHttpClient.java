@@ -13,13 +13,20 @@
 package org.openhab.binding.http.internal.http;
 
 import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -36,21 +43,28 @@ import org.slf4j.LoggerFactory;
  * The {@link RateLimitedHttpClient} is a wrapper for a Jetty HTTP client that limits the number of requests by delaying
  * the request creation
  *
+ * Requests are limited per target host by a token bucket: a token is added every <code>delay</code> ms, up to
+ * <code>burst</code> tokens, and each request takes one token. Optionally, the number of requests in flight per host is
+ * limited as well. Priority requests are preferred over regular requests, but regular requests are not starved: after
+ * {@link #MAX_CONSECUTIVE_PRIORITY_REQUESTS} priority requests, a waiting regular request is created.
+ *
+ * A request is counted as in flight from its creation until it completes or is discarded.
+ *
  * @author Jan N. Klug - Initial contribution
  */
 @NonNullByDefault
 public class RateLimitedHttpClient {
     private static final int MAX_QUEUE_SIZE = 1000; // maximum queue size
+    private static final int MAX_CONSECUTIVE_PRIORITY_REQUESTS = 3;
     private final Logger logger = LoggerFactory.getLogger(RateLimitedHttpClient.class);
 
-    private HttpClient httpClient;
-    private int delay = 0; // in ms
+    private volatile HttpClient httpClient;
+    private volatile int delay = 0; // in ms
+    private volatile int burst = 1;
+    private volatile int maxConcurrentRequests = 0; // 0 = unlimited
     private final ScheduledExecutorService scheduler;
-    private final LinkedBlockingQueue<RequestQueueEntry> requestQueue = new LinkedBlockingQueue<>(MAX_QUEUE_SIZE);
-    private final LinkedBlockingQueue<RequestQueueEntry> priorityRequestQueue = new LinkedBlockingQueue<>(
-            MAX_QUEUE_SIZE);
-
-    private @Nullable ScheduledFuture<?> processJob;
+    private final Map<String, HostQueue> hostQueues = new ConcurrentHashMap<>();
+    private final Map<Request, Runnable> inFlightRequests = new ConcurrentHashMap<>();
 
     public RateLimitedHttpClient(HttpClient httpClient, ScheduledExecutorService scheduler) {
         this.httpClient = httpClient;
@@ -58,11 +72,12 @@ public class RateLimitedHttpClient {
     }
 
     /**
-     * Stop processing the queue and clear it
+     * Stop processing the queues and clear them
      */
     public void shutdown() {
-        stopProcessJob();
-        requestQueue.forEach(RequestQueueEntry::cancel);
+        hostQueues.values().forEach(HostQueue::cancel);
+        hostQueues.clear();
+        inFlightRequests.clear();
     }
 
     /**
@@ -75,10 +90,32 @@ public class RateLimitedHttpClient {
             throw new IllegalArgumentException("Delay needs to be larger or equal to zero");
         }
         this.delay = delay;
-        stopProcessJob();
-        if (delay != 0) {
-            processJob = scheduler.scheduleWithFixedDelay(this::processQueue, 0, delay, TimeUnit.MILLISECONDS);
+        hostQueues.values().forEach(HostQueue::process);
+    }
+
+    /**
+     * Set the number of requests that can be sent without delay, if no requests were sent for some time
+     *
+     * @param burst number of requests (only used if a delay is set)
+     */
+    public void setBurst(int burst) {
+        if (burst < 1) {
+            throw new IllegalArgumentException("Burst needs to be larger or equal to one");
         }
+        this.burst = burst;
+    }
+
+    /**
+     * Set the maximum number of requests in flight per host
+     *
+     * @param maxConcurrentRequests number of requests, 0 for no limit
+     */
+    public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+        if (maxConcurrentRequests < 0) {
+            throw new IllegalArgumentException("Maximum of concurrent requests needs to be larger or equal to zero");
+        }
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        hostQueues.values().forEach(HostQueue::process);
     }
 
     /**
@@ -93,6 +130,9 @@ public class RateLimitedHttpClient {
     /**
      * Create a new request to the given URL respecting rate-limits
      *
+     * The request needs to be sent or {@link #discard(Request) discarded}, otherwise it is counted as in flight
+     * forever.
+     *
      * @param finalUrl the request URL
      * @param method http request method GET/PUT/POST
      * @param content the content (if method PUT/POST)
@@ -100,11 +140,14 @@ public class RateLimitedHttpClient {
      */
     public CompletableFuture<Request> newRequest(URI finalUrl, HttpMethod method, String content,
             @Nullable String contentType) {
-        return queueRequest(finalUrl, method, content, contentType, requestQueue);
+        return queueRequest(finalUrl, method, content, contentType, false);
     }
 
     /**
-     * Create a new priority request (executed as next request) to the given URL respecting rate-limits
+     * Create a new priority request (preferred over regular requests) to the given URL respecting rate-limits
+     *
+     * The request needs to be sent or {@link #discard(Request) discarded}, otherwise it is counted as in flight
+     * forever.
      *
      * @param finalUrl the request URL
      * @param method http request method GET/PUT/POST
@@ -113,25 +156,43 @@ public class RateLimitedHttpClient {
      */
     public CompletableFuture<Request> newPriorityRequest(URI finalUrl, HttpMethod method, String content,
             @Nullable String contentType) {
-        return queueRequest(finalUrl, method, content, contentType, priorityRequestQueue);
+        return queueRequest(finalUrl, method, content, contentType, true);
     }
 
     private CompletableFuture<Request> queueRequest(URI finalUrl, HttpMethod method, String content,
-            @Nullable String contentType, LinkedBlockingQueue<RequestQueueEntry> queue) {
-        // if no delay is set, return a completed CompletableFuture
+            @Nullable String contentType, boolean priority) {
         CompletableFuture<Request> future = new CompletableFuture<>();
-        RequestQueueEntry queueEntry = new RequestQueueEntry(finalUrl, method, content, contentType, future);
-        if (delay == 0) {
+        RequestQueueEntry queueEntry = new RequestQueueEntry(finalUrl, method, content, contentType, priority,
+                future);
+        if (delay == 0 && maxConcurrentRequests == 0) {
+            // if no limit is set, return a completed CompletableFuture
             queueEntry.completeFuture(httpClient);
         } else {
-            if (!queue.offer(queueEntry)) {
+            HostQueue hostQueue = hostQueues.computeIfAbsent(finalUrl.getHost() + ":" + finalUrl.getPort(),
+                    HostQueue::new);
+            if (hostQueue.offer(queueEntry)) {
+                hostQueue.process();
+            } else {
                 future.completeExceptionally(new RejectedExecutionException("Maximum queue size exceeded."));
             }
-
         }
         return future;
     }
 
+    /**
+     * Discard a request that is not sent, e.g. because preparing it failed
+     *
+     * The request is no longer counted as in flight. Discarding a sent or already discarded request has no effect.
+     *
+     * @param request a request created by this client
+     */
+    public void discard(Request request) {
+        Runnable release = inFlightRequests.get(request);
+        if (release != null) {
+            release.run();
+        }
+    }
+
     /**
      * Get the {@link AuthenticationStore} from the wrapped {@link HttpClient}
      *
@@ -160,25 +221,141 @@ public class RateLimitedHttpClient {
         }
     }
 
-    private void stopProcessJob() {
-        ScheduledFuture<?> processJob = this.processJob;
-        if (processJob != null) {
-            processJob.cancel(false);
-            this.processJob = null;
-        }
-    }
-
     /**
-     * Gets a request from either the priority queue or tge regular queue and creates the request
+     * The queues, token bucket and in-flight requests of a single host
      */
-    private void processQueue() {
-        RequestQueueEntry queueEntry = priorityRequestQueue.poll();
-        if (queueEntry == null) {
-            // no entry in priorityRequestQueue, try the regular queue
-            queueEntry = requestQueue.poll();
+    private class HostQueue {
+        private final String host;
+        private final Queue<RequestQueueEntry> priorityRequestQueue = new ArrayDeque<>();
+        private final Queue<RequestQueueEntry> requestQueue = new ArrayDeque<>();
+
+        private double tokens = burst;
+        private long lastRefill = System.nanoTime();
+        private int inFlight = 0;
+        private int consecutivePriorityRequests = 0;
+        private @Nullable ScheduledFuture<?> wakeUpJob;
+
+        public HostQueue(String host) {
+            this.host = host;
         }
-        if (queueEntry != null) {
-            queueEntry.completeFuture(httpClient);
+
+        public synchronized boolean offer(RequestQueueEntry queueEntry) {
+            Queue<RequestQueueEntry> queue = queueEntry.priority ? priorityRequestQueue : requestQueue;
+            return queue.size() < MAX_QUEUE_SIZE && queue.offer(queueEntry);
+        }
+
+        /**
+         * Create the requests that are allowed by the limits and schedule the next run if requests are waiting for
+         * tokens
+         */
+        public void process() {
+            List<RequestQueueEntry> entries = new ArrayList<>();
+            synchronized (this) {
+                int delay = RateLimitedHttpClient.this.delay;
+                int maxConcurrentRequests = RateLimitedHttpClient.this.maxConcurrentRequests;
+                refill(delay);
+                while (hasWaitingRequests() && (maxConcurrentRequests == 0 || inFlight < maxConcurrentRequests)
+                        && (delay == 0 || tokens >= 1)) {
+                    entries.add(nextEntry());
+                    inFlight++;
+                    if (delay != 0) {
+                        tokens--;
+                    }
+                }
+                if (hasWaitingRequests() && delay != 0 && tokens < 1 && wakeUpJob == null) {
+                    long waitNanos = (long) Math.ceil((1 - tokens) * TimeUnit.MILLISECONDS.toNanos(delay));
+                    wakeUpJob = scheduler.schedule(this::wakeUp, waitNanos, TimeUnit.NANOSECONDS);
+                }
+            }
+            // complete outside the lock, the requests may be sent (and completed) immediately
+            for (RequestQueueEntry entry : entries) {
+                long waitNanos = System.nanoTime() - entry.queued;
+                logger.trace("Creating {} request to '{}' after {}ms in queue", entry.priority ? "priority" : "regular",
+                        entry.finalUrl, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+                RequestQueueMetrics.record(host, entry.priority, waitNanos);
+                start(entry);
+            }
+        }
+
+        /**
+         * Create the request of an entry, it is counted as in flight until it completes or is discarded
+         */
+        private void start(RequestQueueEntry entry) {
+            Request request;
+            try {
+                request = entry.createRequest(httpClient);
+            } catch (RuntimeException e) {
+                release();
+                entry.fail(e);
+                return;
+            }
+            AtomicBoolean released = new AtomicBoolean();
+            Runnable releaseOnce = () -> {
+                if (released.compareAndSet(false, true)) {
+                    inFlightRequests.remove(request);
+                    release();
+                }
+            };
+            inFlightRequests.put(request, releaseOnce);
+            request.onComplete(result -> releaseOnce.run());
+            if (!entry.complete(request)) {
+                // the future was cancelled or failed while waiting, nobody sends the request
+                releaseOnce.run();
+            }
+        }
+
+        /**
+         * Cancel all waiting requests
+         */
+        public synchronized void cancel() {
+            ScheduledFuture<?> wakeUpJob = this.wakeUpJob;
+            if (wakeUpJob != null) {
+                wakeUpJob.cancel(false);
+                this.wakeUpJob = null;
+            }
+            priorityRequestQueue.forEach(RequestQueueEntry::cancel);
+            priorityRequestQueue.clear();
+            requestQueue.forEach(RequestQueueEntry::cancel);
+            requestQueue.clear();
+        }
+
+        private void wakeUp() {
+            synchronized (this) {
+                wakeUpJob = null;
+            }
+            process();
+        }
+
+        private void release() {
+            synchronized (this) {
+                inFlight--;
+            }
+            process();
+        }
+
+        private void refill(int delay) {
+            long now = System.nanoTime();
+            if (delay != 0) {
+                tokens = Math.min(burst, tokens + (double) (now - lastRefill) / TimeUnit.MILLISECONDS.toNanos(delay));
+            }
+            lastRefill = now;
+        }
+
+        private boolean hasWaitingRequests() {
+            return !priorityRequestQueue.isEmpty() || !requestQueue.isEmpty();
+        }
+
+        /**
+         * Get the next entry, priority requests are preferred unless regular requests waited for a number of them
+         */
+        private RequestQueueEntry nextEntry() {
+            if (!priorityRequestQueue.isEmpty() && (requestQueue.isEmpty()
+                    || consecutivePriorityRequests < MAX_CONSECUTIVE_PRIORITY_REQUESTS)) {
+                consecutivePriorityRequests++;
+                return Objects.requireNonNull(priorityRequestQueue.poll());
+            }
+            consecutivePriorityRequests = 0;
+            return Objects.requireNonNull(requestQueue.poll());
         }
     }
 
@@ -187,14 +364,17 @@ public class RateLimitedHttpClient {
         private final HttpMethod method;
         private final String content;
         private final @Nullable String contentType;
+        private final boolean priority;
         private final CompletableFuture<Request> future;
+        private final long queued = System.nanoTime();
 
         public RequestQueueEntry(URI finalUrl, HttpMethod method, String content, @Nullable String contentType,
-                CompletableFuture<Request> future) {
+                boolean priority, CompletableFuture<Request> future) {
             this.finalUrl = finalUrl;
             this.method = method;
             this.content = content;
             this.contentType = contentType;
+            this.priority = priority;
             this.future = future;
         }
 
@@ -204,6 +384,20 @@ public class RateLimitedHttpClient {
          * @param httpClient the client to create the request
          */
         public void completeFuture(HttpClient httpClient) {
+            try {
+                complete(createRequest(httpClient));
+            } catch (RuntimeException e) {
+                fail(e);
+            }
+        }
+
+        /**
+         * create the request
+         *
+         * @param httpClient the client to create the request
+         * @return the request
+         */
+        public Request createRequest(HttpClient httpClient) {
             Request request = httpClient.newRequest(finalUrl).method(method);
             if ((method == HttpMethod.POST || method == HttpMethod.PUT) && !content.isEmpty()) {
                 if (contentType == null) {
@@ -212,7 +406,26 @@ public class RateLimitedHttpClient {
                     request.content(new StringContentProvider(content), contentType);
                 }
             }
-            future.complete(request);
+            return request;
+        }
+
+        /**
+         * complete the future with the given request
+         *
+         * @param request the request
+         * @return true if the future was completed, false if it was already cancelled or failed
+         */
+        public boolean complete(Request request) {
+            return future.complete(request);
+        }
+
+        /**
+         * complete the future exceptionally
+         *
+         * @param cause the reason why no request is created
+         */
+        public void fail(Throwable cause) {
+            future.completeExceptionally(cause);
         }
 
         /**
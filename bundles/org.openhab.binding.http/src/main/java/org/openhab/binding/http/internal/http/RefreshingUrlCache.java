@@ -15,8 +15,10 @@ package org.openhab.binding.http.internal.http;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
@@ -29,8 +31,11 @@ import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpMethod;
 import org.openhab.binding.http.internal.Util;
+import org.openhab.binding.http.internal.config.HttpAuthMode;
 import org.openhab.binding.http.internal.config.HttpThingConfig;
 import org.openhab.core.thing.binding.generic.ChannelHandlerContent;
 import org.slf4j.Logger;
@@ -40,6 +45,10 @@ import org.slf4j.LoggerFactory;
  * The {@link RefreshingUrlCache} is responsible for requesting from a single URL and passing the content to the
  * channels
  *
+ * Caches of different things that send the same request can be shared through the {@link RefreshingUrlCacheRegistry}.
+ * Only one of them (the leader) is started and requests the URL, the others (the followers) receive the results of
+ * the leader.
+ *
  * @author Jan N. Klug - Initial contribution
  */
 @NonNullByDefault
@@ -49,6 +58,7 @@ public class RefreshingUrlCache {
     private final String url;
     private final RateLimitedHttpClient httpClient;
     private final boolean strictErrorHandling;
+    private final boolean skipUnchanged;
     private final int timeout;
     private final int bufferSize;
     private final @Nullable String fallbackEncoding;
@@ -58,15 +68,36 @@ public class RefreshingUrlCache {
     private final String httpContent;
     private final @Nullable String httpContentType;
     private final HttpStatusListener httpStatusListener;
+    private final RequestKey requestKey;
+    private final Set<RefreshingUrlCache> followers = ConcurrentHashMap.newKeySet();
+    private final HttpStatusListener followersStatusListener = new HttpStatusListener() {
+        @Override
+        public void onHttpError(@Nullable String message) {
+            httpStatusListener.onHttpError(message);
+            followers.forEach(follower -> follower.httpStatusListener.onHttpError(message));
+        }
+
+        @Override
+        public void onHttpSuccess() {
+            httpStatusListener.onHttpSuccess();
+            followers.forEach(follower -> follower.httpStatusListener.onHttpSuccess());
+        }
+    };
 
     private @Nullable ScheduledFuture<?> future;
-    private @Nullable ChannelHandlerContent lastContent;
+    private volatile @Nullable ChannelHandlerContent lastContent;
+
+    // validators of the last content, used for conditional requests
+    private volatile @Nullable URI lastUri;
+    private volatile @Nullable String lastETag;
+    private volatile @Nullable String lastModified;
 
     public RefreshingUrlCache(RateLimitedHttpClient httpClient, String url, HttpThingConfig thingConfig,
             String httpContent, @Nullable String httpContentType, HttpStatusListener httpStatusListener) {
         this.httpClient = httpClient;
         this.url = url;
         this.strictErrorHandling = thingConfig.strictErrorHandling;
+        this.skipUnchanged = thingConfig.skipUnchanged;
         this.timeout = thingConfig.timeout;
         this.bufferSize = thingConfig.bufferSize;
         this.httpMethod = thingConfig.stateMethod;
@@ -75,6 +106,11 @@ public class RefreshingUrlCache {
         this.httpContentType = httpContentType;
         this.httpStatusListener = httpStatusListener;
         fallbackEncoding = thingConfig.encoding;
+        // everything that influences the request or the received content, credentials are part of the key because
+        // basic and digest authentication is not configured as header
+        requestKey = new RequestKey(url, httpMethod, headers, httpContent, httpContentType, timeout, bufferSize,
+                fallbackEncoding, thingConfig.ignoreSSLErrors, thingConfig.authMode, thingConfig.username,
+                thingConfig.password);
     }
 
     public void start(ScheduledExecutorService executor, int refreshTime) {
@@ -89,19 +125,54 @@ public class RefreshingUrlCache {
     public void stop() {
         // clearing all listeners to prevent further updates
         consumers.clear();
+        stopRefresh();
+    }
+
+    /**
+     * Stop the refresh task, but keep the consumers
+     */
+    void stopRefresh() {
         ScheduledFuture<?> future = this.future;
         if (future != null) {
             future.cancel(true);
+            this.future = null;
             logger.trace("Stopped refresh task for URL '{}'", url);
         }
     }
 
+    /**
+     * Get the key of the request, caches with equal keys request the same content
+     *
+     * @return the key
+     */
+    RequestKey getRequestKey() {
+        return requestKey;
+    }
+
+    /**
+     * Add a cache that receives the results of the requests of this cache
+     *
+     * @param follower the cache
+     */
+    void addFollower(RefreshingUrlCache follower) {
+        followers.add(follower);
+    }
+
+    /**
+     * Remove a cache added with {@link #addFollower(RefreshingUrlCache)}
+     *
+     * @param follower the cache
+     */
+    void removeFollower(RefreshingUrlCache follower) {
+        followers.remove(follower);
+    }
+
     private void refresh() {
         refresh(false);
     }
 
     private void refresh(boolean isRetry) {
-        if (consumers.isEmpty()) {
+        if (consumers.isEmpty() && followers.isEmpty()) {
             // do not refresh if we don't have listeners
             return;
         }
@@ -112,28 +183,12 @@ public class RefreshingUrlCache {
             logger.trace("Requesting refresh (retry={}) from '{}' with timeout {}ms", isRetry, uri, timeout);
 
             httpClient.newRequest(uri, httpMethod, httpContent, httpContentType).thenAccept(request -> {
-                request.timeout(timeout, TimeUnit.MILLISECONDS);
-                headers.forEach(request::header);
-
-                CompletableFuture<@Nullable ChannelHandlerContent> responseContentFuture = new CompletableFuture<>();
-                responseContentFuture.exceptionally(t -> {
-                    if (t instanceof HttpAuthException) {
-                        if (isRetry || !httpClient.reAuth(uri)) {
-                            logger.debug("Authentication failed for '{}', retry={}", uri, isRetry);
-                            httpStatusListener.onHttpError("Authentication failed");
-                        } else {
-                            refresh(true);
-                        }
-                    }
-                    return null;
-                }).thenAccept(this::processResult);
-
-                if (logger.isTraceEnabled()) {
-                    logger.trace("Sending to '{}': {}", uri, Util.requestToLogString(request));
+                try {
+                    send(uri, request, isRetry);
+                } catch (RuntimeException e) {
+                    httpClient.discard(request);
+                    throw e;
                 }
-
-                request.send(new HttpResponseListener(responseContentFuture, fallbackEncoding, bufferSize,
-                        httpStatusListener));
             }).exceptionally(e -> {
                 if (e instanceof CancellationException) {
                     logger.debug("Request to URL {} was cancelled by thing handler.", uri);
@@ -147,6 +202,69 @@ public class RefreshingUrlCache {
         }
     }
 
+    /**
+     * Prepare and send a refresh request
+     *
+     * @param uri the URI of the request
+     * @param request the request
+     * @param isRetry true if the request is retried after an authentication failure
+     */
+    private void send(URI uri, Request request, boolean isRetry) {
+        request.timeout(timeout, TimeUnit.MILLISECONDS);
+        headers.forEach(request::header);
+        ChannelHandlerContent notModifiedContent = addConditionalHeaders(uri, request);
+
+        CompletableFuture<@Nullable ChannelHandlerContent> responseContentFuture = new CompletableFuture<>();
+        HttpResponseListener responseListener = new HttpResponseListener(responseContentFuture, fallbackEncoding,
+                bufferSize, followersStatusListener, notModifiedContent);
+        responseContentFuture.exceptionally(t -> {
+            if (t instanceof HttpAuthException) {
+                if (isRetry || !httpClient.reAuth(uri)) {
+                    logger.debug("Authentication failed for '{}', retry={}", uri, isRetry);
+                    followersStatusListener.onHttpError("Authentication failed");
+                } else {
+                    refresh(true);
+                }
+            }
+            return null;
+        }).thenAccept(content -> processResult(uri, responseListener, content));
+
+        if (logger.isTraceEnabled()) {
+            logger.trace("Sending to '{}': {}", uri, Util.requestToLogString(request));
+        }
+
+        request.send(responseListener);
+    }
+
+    /**
+     * Make the request conditional if the server provided validators for the last content of the same URI
+     *
+     * Only GET requests are made conditional, the URI is compared because it may contain a formatted date.
+     *
+     * @param uri the URI of the request
+     * @param request the request
+     * @return the last content (to be used if the server responds with "304 Not Modified"), null if the request is
+     *         not conditional
+     */
+    private @Nullable ChannelHandlerContent addConditionalHeaders(URI uri, Request request) {
+        ChannelHandlerContent lastContent = this.lastContent;
+        if (httpMethod != HttpMethod.GET || lastContent == null || !uri.equals(lastUri)
+                || request.getHeaders().contains(HttpHeader.IF_NONE_MATCH)
+                || request.getHeaders().contains(HttpHeader.IF_MODIFIED_SINCE)) {
+            return null;
+        }
+        String lastETag = this.lastETag;
+        String lastModified = this.lastModified;
+        if (lastETag != null) {
+            request.header(HttpHeader.IF_NONE_MATCH, lastETag);
+        } else if (lastModified != null) {
+            request.header(HttpHeader.IF_MODIFIED_SINCE, lastModified);
+        } else {
+            return null;
+        }
+        return lastContent;
+    }
+
     public void addConsumer(Consumer<@Nullable ChannelHandlerContent> consumer) {
         consumers.add(consumer);
     }
@@ -155,7 +273,39 @@ public class RefreshingUrlCache {
         return Optional.ofNullable(lastContent);
     }
 
-    private void processResult(@Nullable ChannelHandlerContent content) {
+    private void processResult(URI uri, HttpResponseListener responseListener,
+            @Nullable ChannelHandlerContent content) {
+        ChannelHandlerContent lastContent = this.lastContent;
+        if (content == null) {
+            lastUri = null;
+            lastETag = null;
+            lastModified = null;
+        } else {
+            String eTag = responseListener.getResponseHeader(HttpHeader.ETAG);
+            String modified = responseListener.getResponseHeader(HttpHeader.LAST_MODIFIED);
+            if (content != lastContent || eTag != null || modified != null) {
+                // a "304 Not Modified" response returns the last content and may omit the validators
+                lastUri = uri;
+                lastETag = eTag;
+                lastModified = modified;
+            }
+        }
+
+        dispatch(uri, content);
+        followers.forEach(follower -> follower.dispatch(uri, content));
+    }
+
+    private void dispatch(URI uri, @Nullable ChannelHandlerContent content) {
+        ChannelHandlerContent lastContent = this.lastContent;
+        if (isUnchanged(lastContent, content)) {
+            if (skipUnchanged) {
+                logger.trace("Content of '{}' unchanged, skipping update of channels", uri);
+                return;
+            }
+            // keep the instance for comparison with the next result
+            content = lastContent;
+        }
+
         if (content != null || strictErrorHandling) {
             for (Consumer<@Nullable ChannelHandlerContent> consumer : consumers) {
                 try {
@@ -165,6 +315,20 @@ public class RefreshingUrlCache {
                 }
             }
         }
-        lastContent = content;
+        this.lastContent = content;
+    }
+
+    private static boolean isUnchanged(@Nullable ChannelHandlerContent lastContent,
+            @Nullable ChannelHandlerContent content) {
+        if (lastContent == null || content == null) {
+            return false;
+        }
+        return lastContent == content || (Arrays.equals(lastContent.getRawContent(), content.getRawContent())
+                && Objects.equals(lastContent.getMediaType(), content.getMediaType()));
+    }
+
+    record RequestKey(String url, HttpMethod method, Map<String, String> headers, String content,
+            @Nullable String contentType, int timeout, int bufferSize, @Nullable String fallbackEncoding,
+            boolean ignoreSSLErrors, HttpAuthMode authMode, String username, String password) {
     }
 }
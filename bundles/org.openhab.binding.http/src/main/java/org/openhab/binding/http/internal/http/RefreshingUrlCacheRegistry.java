@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.http;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.http.internal.http.RefreshingUrlCache.RequestKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link RefreshingUrlCacheRegistry} is responsible for sharing the requests of {@link RefreshingUrlCache}s of
+ * different things that request the same content
+ *
+ * The first subscribed cache of a request is the leader. It is started with the shortest refresh time of all
+ * subscribed caches and passes its results to the other caches. If the leader is unsubscribed, the next cache takes
+ * over.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class RefreshingUrlCacheRegistry {
+    private final Logger logger = LoggerFactory.getLogger(RefreshingUrlCacheRegistry.class);
+
+    private final Map<RequestKey, SharedRequest> sharedRequests = new HashMap<>();
+
+    /**
+     * Subscribe a cache, the cache must not be started
+     *
+     * @param cache the cache
+     * @param executor the executor for the refresh task
+     * @param refreshTime the requested refresh time in s
+     */
+    public synchronized void subscribe(RefreshingUrlCache cache, ScheduledExecutorService executor, int refreshTime) {
+        SharedRequest sharedRequest = sharedRequests.computeIfAbsent(cache.getRequestKey(), k -> new SharedRequest());
+        sharedRequest.refreshTimes.put(cache, refreshTime);
+        sharedRequest.update(executor);
+    }
+
+    /**
+     * Unsubscribe a cache, the cache is stopped if it is the leader
+     *
+     * @param cache the cache
+     * @param executor the executor for the refresh task of a new leader
+     */
+    public synchronized void unsubscribe(RefreshingUrlCache cache, ScheduledExecutorService executor) {
+        RequestKey key = cache.getRequestKey();
+        SharedRequest sharedRequest = sharedRequests.get(key);
+        if (sharedRequest == null || sharedRequest.refreshTimes.remove(cache) == null) {
+            return;
+        }
+        RefreshingUrlCache leader = sharedRequest.leader;
+        if (leader != null) {
+            leader.removeFollower(cache);
+        }
+        if (sharedRequest.refreshTimes.isEmpty()) {
+            sharedRequests.remove(key);
+        }
+        sharedRequest.update(executor);
+    }
+
+    /**
+     * Get the number of caches subscribed to the same request as the given cache
+     *
+     * @param cache the cache
+     * @return the number of subscribed caches (including the cache itself, if subscribed)
+     */
+    public synchronized int getSubscriberCount(RefreshingUrlCache cache) {
+        SharedRequest sharedRequest = sharedRequests.get(cache.getRequestKey());
+        return sharedRequest != null ? sharedRequest.refreshTimes.size() : 0;
+    }
+
+    private class SharedRequest {
+        // insertion order, the first entry is the leader
+        private final Map<RefreshingUrlCache, Integer> refreshTimes = new LinkedHashMap<>();
+
+        private @Nullable RefreshingUrlCache leader;
+        private int leaderRefreshTime;
+
+        /**
+         * (re-)start the leader if it or the shortest refresh time changed and assign the followers
+         */
+        private void update(ScheduledExecutorService executor) {
+            RefreshingUrlCache newLeader = refreshTimes.keySet().stream().findFirst().orElse(null);
+            int newRefreshTime = refreshTimes.values().stream().mapToInt(Integer::intValue).min().orElse(0);
+
+            RefreshingUrlCache leader = this.leader;
+            if (leader != null && (leader != newLeader || leaderRefreshTime != newRefreshTime)) {
+                leader.stopRefresh();
+                refreshTimes.keySet().forEach(leader::removeFollower);
+            }
+            if (newLeader != null) {
+                RefreshingUrlCache startedLeader = newLeader;
+                refreshTimes.keySet().stream().filter(cache -> cache != startedLeader)
+                        .forEach(startedLeader::addFollower);
+                if (leader != startedLeader || leaderRefreshTime != newRefreshTime) {
+                    startedLeader.start(executor, newRefreshTime);
+                    if (refreshTimes.size() > 1) {
+                        logger.debug("Sharing requests of {} things with a refresh time of {}s", refreshTimes.size(),
+                                newRefreshTime);
+                    }
+                }
+            }
+            this.leader = newLeader;
+            this.leaderRefreshTime = newRefreshTime;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.http;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * The {@link RequestQueueMetrics} records the time requests wait in the queues of the {@link RateLimitedHttpClient}s,
+ * per host and request type
+ *
+ * Waits are only recorded while the openHAB meter registry is available. It is bound by the handler factory.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public final class RequestQueueMetrics {
+    private static final String METRIC_NAME = "openhab.binding.http.queue.wait";
+
+    private static final Map<String, Timer> TIMERS = new ConcurrentHashMap<>();
+    private static volatile @Nullable MeterRegistry meterRegistry;
+
+    private RequestQueueMetrics() {
+        // static class
+    }
+
+    public static synchronized void bind(MeterRegistry registry) {
+        unbind();
+        meterRegistry = registry;
+    }
+
+    public static synchronized void unbind() {
+        MeterRegistry registry = meterRegistry;
+        meterRegistry = null;
+        if (registry != null) {
+            TIMERS.values().forEach(registry::remove);
+        }
+        TIMERS.clear();
+    }
+
+    /**
+     * Record the wait of a request
+     *
+     * @param host the target host of the request
+     * @param priority true for priority (command) requests, false for refresh requests
+     * @param nanos time between queueing and creation of the request, in nanoseconds
+     */
+    public static void record(String host, boolean priority, long nanos) {
+        MeterRegistry registry = meterRegistry;
+        if (registry == null) {
+            return;
+        }
+        String type = priority ? "command" : "refresh";
+        TIMERS.computeIfAbsent(host + "$" + type,
+                k -> Timer.builder(METRIC_NAME).description("Wait of requests for the rate limit")
+                        .tag("host", host).tag("type", type).register(registry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
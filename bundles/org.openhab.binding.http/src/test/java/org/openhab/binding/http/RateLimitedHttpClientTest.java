@@ -23,7 +23,9 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.lessThan;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.net.URI;
 import java.util.List;
@@ -99,11 +101,101 @@ public class RateLimitedHttpClientTest extends AbstractWireMockTest {
         assertThat((int) msBetween, allOf(greaterThanOrEqualTo(1000), lessThan(1100)));
     }
 
+    @Test
+    public void testWithLimitAndBurst() {
+        doLimitTest(500, 2, List.of(false, false, false));
+
+        // we expect the first two requests without delay, but at least 500ms delay for the third
+        long msBetween = responses.get(1).time - responses.get(0).time;
+        assertThat((int) msBetween, allOf(greaterThanOrEqualTo(0), lessThan(100)));
+        msBetween = responses.get(2).time - responses.get(0).time;
+        assertThat((int) msBetween, allOf(greaterThanOrEqualTo(500), lessThan(600)));
+    }
+
+    @Test
+    public void testPriorityDoesNotStarveRegularRequests() {
+        RateLimitedHttpClient rateLimitedHttpClient = new RateLimitedHttpClient(httpClient, scheduler);
+        rateLimitedHttpClient.setDelay(100);
+
+        URI url = URI.create("http://localhost:" + port + TEST_LOCATION);
+        List<Integer> createdRequests = new CopyOnWriteArrayList<>();
+        List<Boolean> config = List.of(false, false, true, true, true, true);
+        for (int i = 0; i < config.size(); i++) {
+            int seqNumber = i;
+            CompletableFuture<Request> requestFuture = config.get(i)
+                    ? rateLimitedHttpClient.newPriorityRequest(url, HttpMethod.GET, "", null)
+                    : rateLimitedHttpClient.newRequest(url, HttpMethod.GET, "", null);
+            requestFuture.thenAccept(request -> createdRequests.add(seqNumber));
+        }
+
+        waitForAssert(() -> assertEquals(config.size(), createdRequests.size()));
+        rateLimitedHttpClient.shutdown();
+
+        // the first request is created immediately, the waiting regular request after three priority requests
+        assertEquals(List.of(0, 2, 3, 4, 1, 5), createdRequests);
+    }
+
+    @Test
+    public void testWithMaxConcurrentRequests() {
+        stubFor(get(urlEqualTo(TEST_LOCATION)).willReturn(aResponse().withFixedDelay(500).withBody(TEST_CONTENT)));
+
+        RateLimitedHttpClient rateLimitedHttpClient = new RateLimitedHttpClient(httpClient, scheduler);
+        rateLimitedHttpClient.setMaxConcurrentRequests(1);
+
+        URI url = URI.create("http://localhost:" + port + TEST_LOCATION);
+        List<Long> creationTimes = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            rateLimitedHttpClient.newRequest(url, HttpMethod.GET, "", null).thenAccept(request -> {
+                creationTimes.add(System.currentTimeMillis());
+                request.send(result -> {
+                });
+            });
+        }
+
+        waitForAssert(() -> assertEquals(2, creationTimes.size()));
+        rateLimitedHttpClient.shutdown();
+
+        // the second request is created after the first completed
+        long msBetween = creationTimes.get(1) - creationTimes.get(0);
+        assertThat((int) msBetween, greaterThanOrEqualTo(500));
+    }
+
+    @Test
+    public void testUnsentRequestsReleaseTheirSlot() {
+        RateLimitedHttpClient rateLimitedHttpClient = new RateLimitedHttpClient(httpClient, scheduler);
+        rateLimitedHttpClient.setMaxConcurrentRequests(1);
+
+        URI url = URI.create("http://localhost:" + port + TEST_LOCATION);
+        CompletableFuture<Request> discardedFuture = rateLimitedHttpClient.newRequest(url, HttpMethod.GET, "", null);
+        CompletableFuture<Request> cancelledFuture = rateLimitedHttpClient.newRequest(url, HttpMethod.GET, "", null);
+        CompletableFuture<Request> createdFuture = rateLimitedHttpClient.newRequest(url, HttpMethod.GET, "", null);
+        CompletableFuture<Request> waitingFuture = rateLimitedHttpClient.newRequest(url, HttpMethod.GET, "", null);
+
+        assertTrue(discardedFuture.isDone());
+        assertFalse(cancelledFuture.isDone());
+
+        // the cancelled request is never created, so discarding the first request lets the third one in
+        cancelledFuture.cancel(false);
+        Request discardedRequest = discardedFuture.join();
+        rateLimitedHttpClient.discard(discardedRequest);
+        rateLimitedHttpClient.discard(discardedRequest);
+
+        waitForAssert(() -> assertTrue(createdFuture.isDone()));
+        // the slot is released only once, the fourth request waits for the third one
+        assertFalse(waitingFuture.isDone());
+        rateLimitedHttpClient.shutdown();
+    }
+
     private void doLimitTest(int setDelay, List<Boolean> config) {
+        doLimitTest(setDelay, 1, config);
+    }
+
+    private void doLimitTest(int setDelay, int setBurst, List<Boolean> config) {
         stubFor(get(urlEqualTo(TEST_LOCATION)).willReturn(aResponse().withBody(TEST_CONTENT)));
 
         RateLimitedHttpClient rateLimitedHttpClient = new RateLimitedHttpClient(httpClient, scheduler);
         rateLimitedHttpClient.setDelay(setDelay);
+        rateLimitedHttpClient.setBurst(setBurst);
 
         URI url = URI.create("http://localhost:" + port + TEST_LOCATION);
         int seqNumber = 0;
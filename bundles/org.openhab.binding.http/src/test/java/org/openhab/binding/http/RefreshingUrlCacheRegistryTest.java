@@ -0,0 +1,144 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.openhab.binding.http.internal.config.HttpThingConfig;
+import org.openhab.binding.http.internal.http.HttpStatusListener;
+import org.openhab.binding.http.internal.http.RateLimitedHttpClient;
+import org.openhab.binding.http.internal.http.RefreshingUrlCache;
+import org.openhab.binding.http.internal.http.RefreshingUrlCacheRegistry;
+import org.openhab.core.thing.binding.generic.ChannelHandlerContent;
+
+/**
+ * The {@link RefreshingUrlCacheRegistryTest} implements tests for the {@link RefreshingUrlCacheRegistry}
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class RefreshingUrlCacheRegistryTest extends AbstractWireMockTest {
+    private static final String TEST_LOCATION = "/sharedlocation";
+    private static final String TEST_CONTENT = "TESTCONTENT";
+
+    private @NonNullByDefault({}) RateLimitedHttpClient rateLimitedHttpClient;
+    private @NonNullByDefault({}) RefreshingUrlCacheRegistry registry;
+    private @NonNullByDefault({}) String url;
+
+    private final List<@Nullable ChannelHandlerContent> firstContents = new CopyOnWriteArrayList<>();
+    private final List<@Nullable ChannelHandlerContent> secondContents = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    public void initTest() {
+        httpClient.setUserAgentField(null);
+        rateLimitedHttpClient = new RateLimitedHttpClient(httpClient, scheduler);
+        rateLimitedHttpClient.setDelay(0);
+        registry = new RefreshingUrlCacheRegistry();
+        url = "http://localhost:" + port + TEST_LOCATION;
+        wireMockServer.resetRequests();
+    }
+
+    @AfterEach
+    public void cleanUpTest() {
+        rateLimitedHttpClient.shutdown();
+        firstContents.clear();
+        secondContents.clear();
+        super.cleanUpTest();
+    }
+
+    @Test
+    public void testSameRequestIsShared() {
+        stubFor(get(urlEqualTo(TEST_LOCATION)).willReturn(aResponse().withBody(TEST_CONTENT)));
+
+        HttpStatusListener firstStatusListener = mock(HttpStatusListener.class);
+        HttpStatusListener secondStatusListener = mock(HttpStatusListener.class);
+        RefreshingUrlCache first = getUrlCache(new HttpThingConfig(), firstContents, firstStatusListener, 5);
+        RefreshingUrlCache second = getUrlCache(new HttpThingConfig(), secondContents, secondStatusListener, 1);
+        assertEquals(2, registry.getSubscriberCount(first));
+
+        // the shortest refresh time is used for both caches
+        waitForAssert(() -> assertTrue(secondContents.size() >= 3));
+        registry.unsubscribe(first, scheduler);
+        first.stop();
+        registry.unsubscribe(second, scheduler);
+        second.stop();
+
+        int requestCount = wireMockServer.findAll(getRequestedFor(urlEqualTo(TEST_LOCATION))).size();
+        assertTrue(requestCount <= secondContents.size() + 1);
+        assertTrue(firstContents.size() >= 3);
+        assertEquals(0, registry.getSubscriberCount(first));
+    }
+
+    @Test
+    public void testNextCacheTakesOver() {
+        stubFor(get(urlEqualTo(TEST_LOCATION)).willReturn(aResponse().withBody(TEST_CONTENT)));
+
+        RefreshingUrlCache first = getUrlCache(new HttpThingConfig(), firstContents, mock(HttpStatusListener.class),
+                1);
+        RefreshingUrlCache second = getUrlCache(new HttpThingConfig(), secondContents, mock(HttpStatusListener.class),
+                1);
+        waitForAssert(() -> assertEquals(1, secondContents.size()));
+
+        registry.unsubscribe(first, scheduler);
+        first.stop();
+        int firstCount = firstContents.size();
+
+        waitForAssert(() -> assertTrue(secondContents.size() >= 3));
+        registry.unsubscribe(second, scheduler);
+        second.stop();
+        assertEquals(firstCount, firstContents.size());
+    }
+
+    @Test
+    public void testDifferentRequestsAreNotShared() {
+        HttpThingConfig otherConfig = new HttpThingConfig();
+        otherConfig.timeout = 1000;
+
+        RefreshingUrlCache first = getUrlCache(new HttpThingConfig(), firstContents, mock(HttpStatusListener.class),
+                1);
+        RefreshingUrlCache second = getUrlCache(otherConfig, secondContents, mock(HttpStatusListener.class), 1);
+        assertEquals(1, registry.getSubscriberCount(first));
+        assertEquals(1, registry.getSubscriberCount(second));
+
+        registry.unsubscribe(first, scheduler);
+        first.stop();
+        registry.unsubscribe(second, scheduler);
+        second.stop();
+    }
+
+    private RefreshingUrlCache getUrlCache(HttpThingConfig thingConfig, List<@Nullable ChannelHandlerContent> contents,
+            HttpStatusListener statusListener, int refresh) {
+        RefreshingUrlCache urlCache = new RefreshingUrlCache(rateLimitedHttpClient, url, thingConfig, "", null,
+                statusListener);
+        urlCache.addConsumer(contents::add);
+        registry.subscribe(urlCache, scheduler, refresh);
+        return urlCache;
+    }
+}
@@ -13,7 +13,10 @@
 package org.openhab.binding.http;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.moreThanOrExactly;
 import static com.github.tomakehurst.wiremock.client.WireMock.post;
 import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
@@ -111,6 +114,57 @@ public class RefreshingUrlCacheTest extends AbstractWireMockTest {
                 .allMatch(TEST_CONTENT::equals));
     }
 
+    @Test
+    public void testNotModifiedUsesLastContent() {
+        stubFor(get(urlEqualTo(TEST_LOCATION)).withHeader("If-None-Match", equalTo("\"1\"")).atPriority(1)
+                .willReturn(aResponse().withStatus(304)));
+        stubFor(get(urlEqualTo(TEST_LOCATION)).atPriority(2)
+                .willReturn(aResponse().withHeader("ETag", "\"1\"").withBody(TEST_CONTENT)));
+
+        RefreshingUrlCache urlCache = getUrlCache(TEST_CONTENT);
+
+        // wait until we got at least three results or timeout (after 10s)
+        waitForAssert(() -> assertEquals(3, contentWrappers.size()));
+        urlCache.stop();
+
+        // verify the server was asked for modifications and did not send the content again
+        wireMockServer.verify(moreThanOrExactly(2),
+                getRequestedFor(urlEqualTo(TEST_LOCATION)).withHeader("If-None-Match", equalTo("\"1\"")));
+        verify(statusListener, never()).onHttpError(any());
+        assertTrue(contentWrappers.stream().map(Objects::requireNonNull).map(ChannelHandlerContent::getAsString)
+                .allMatch(TEST_CONTENT::equals));
+    }
+
+    @Test
+    public void testNoUpdateOnUnexpectedNotModified() {
+        stubFor(get(urlEqualTo(TEST_LOCATION)).willReturn(aResponse().withStatus(304)));
+
+        RefreshingUrlCache urlCache = getUrlCache(TEST_CONTENT);
+
+        // the request is not conditional, so the response is reported as error
+        verify(statusListener, timeout(3000).atLeast(2)).onHttpError(any());
+        verify(statusListener, never()).onHttpSuccess();
+        urlCache.stop();
+
+        assertEquals(true, contentWrappers.isEmpty());
+    }
+
+    @Test
+    public void testNoUpdateOnUnchangedContentIfSkipUnchanged() {
+        stubFor(get(urlEqualTo(TEST_LOCATION)).willReturn(aResponse().withBody(TEST_CONTENT)));
+        thingConfig.skipUnchanged = true;
+
+        RefreshingUrlCache urlCache = getUrlCache(TEST_CONTENT);
+
+        // verify we get at least three responses in 5s
+        verify(statusListener, timeout(5000).atLeast(3)).onHttpSuccess();
+        urlCache.stop();
+
+        // only the first response is passed to the channels
+        assertEquals(1, contentWrappers.size());
+        assertEquals(TEST_CONTENT, Objects.requireNonNull(contentWrappers.get(0)).getAsString());
+    }
+
     @Test
     public void testNoUpdateOn404ErrorInNormalMode() {
         stubFor(get(urlEqualTo(TEST_LOCATION)).willReturn(aResponse().withStatus(404)));
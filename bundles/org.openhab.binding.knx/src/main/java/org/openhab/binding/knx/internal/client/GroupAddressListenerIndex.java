@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ * Index of the {@link GroupAddressListener}s by the group addresses they listen to, so that incoming telegrams can be
+ * dispatched without asking every listener.
+ *
+ * The group addresses of a listener are read when it is registered. Listeners changing their group addresses need to
+ * be registered again.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class GroupAddressListenerIndex {
+    private final Map<GroupAddress, Set<GroupAddressListener>> listenersByAddress = new ConcurrentHashMap<>();
+    private final Map<GroupAddressListener, Set<GroupAddress>> addressesByListener = new ConcurrentHashMap<>();
+
+    /**
+     * Add a listener, or update its group addresses if already added
+     *
+     * @param listener the listener
+     */
+    public synchronized void add(GroupAddressListener listener) {
+        remove(listener);
+        Set<GroupAddress> addresses = Set.copyOf(listener.getGroupAddresses());
+        addressesByListener.put(listener, addresses);
+        for (GroupAddress address : addresses) {
+            listenersByAddress.computeIfAbsent(address, a -> new CopyOnWriteArraySet<>()).add(listener);
+        }
+    }
+
+    /**
+     * Remove a listener
+     *
+     * @param listener the listener
+     */
+    public synchronized void remove(GroupAddressListener listener) {
+        Set<GroupAddress> addresses = addressesByListener.remove(listener);
+        if (addresses == null) {
+            return;
+        }
+        for (GroupAddress address : addresses) {
+            listenersByAddress.computeIfPresent(address, (a, listeners) -> {
+                listeners.remove(listener);
+                return listeners.isEmpty() ? null : listeners;
+            });
+        }
+    }
+
+    /**
+     * Get the listeners of a group address
+     *
+     * @param address the group address
+     * @return the listeners (empty if the address is not configured)
+     */
+    public Set<GroupAddressListener> get(GroupAddress address) {
+        Set<GroupAddressListener> listeners = listenersByAddress.get(address);
+        return listeners != null ? listeners : Set.of();
+    }
+
+    /**
+     * Get the number of indexed group addresses
+     *
+     * @return the number of group addresses with at least one listener
+     */
+    public int size() {
+        return listenersByAddress.size();
+    }
+}
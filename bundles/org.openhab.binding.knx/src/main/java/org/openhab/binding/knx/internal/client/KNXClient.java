@@ -62,6 +62,7 @@ public interface KNXClient {
 
     /**
      * Register the given listener to be informed on KNX bus traffic.
+     * The group addresses of the listener are read on registration, register it again if they change.
      *
      * @param listener the listener
      */
@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Counters of the telegrams received by a KNX client, can be shown on console using knx:stats.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class TelegramStatistics {
+    private static final int WINDOW_SECONDS = 60;
+
+    private final LongAdder telegrams = new LongAdder();
+    private final LongAdder unhandledTelegrams = new LongAdder();
+    private final LongAdder dispatches = new LongAdder();
+    private final LongAdder dispatchLatencyNanos = new LongAdder();
+    private final AtomicLong maxDispatchLatencyNanos = new AtomicLong();
+
+    // telegrams per second of the last WINDOW_SECONDS seconds, as ring buffer
+    private final long[] windowSeconds = new long[WINDOW_SECONDS];
+    private final long[] windowTelegrams = new long[WINDOW_SECONDS];
+
+    /**
+     * Record a received telegram
+     *
+     * @param handled true if at least one listener is interested in the group address of the telegram
+     */
+    public void recordTelegram(boolean handled) {
+        telegrams.increment();
+        if (!handled) {
+            unhandledTelegrams.increment();
+        }
+        long second = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
+        int slot = (int) Math.floorMod(second, WINDOW_SECONDS);
+        synchronized (windowSeconds) {
+            if (windowSeconds[slot] != second) {
+                windowSeconds[slot] = second;
+                windowTelegrams[slot] = 0;
+            }
+            windowTelegrams[slot]++;
+        }
+    }
+
+    /**
+     * Record the dispatch of a telegram to its listeners
+     *
+     * @param latencyNanos time from reception of the telegram until all listeners were notified, in nanoseconds
+     */
+    public void recordDispatch(long latencyNanos) {
+        dispatches.increment();
+        dispatchLatencyNanos.add(latencyNanos);
+        maxDispatchLatencyNanos.accumulateAndGet(latencyNanos, Math::max);
+    }
+
+    public long getTelegrams() {
+        return telegrams.sum();
+    }
+
+    public long getUnhandledTelegrams() {
+        return unhandledTelegrams.sum();
+    }
+
+    /**
+     * Get the average number of received telegrams per second
+     *
+     * @return the average of the last minute (excluding the current second)
+     */
+    public double getTelegramsPerSecond() {
+        long second = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
+        long count = 0;
+        synchronized (windowSeconds) {
+            for (int i = 0; i < WINDOW_SECONDS; i++) {
+                if (windowSeconds[i] < second && windowSeconds[i] >= second - WINDOW_SECONDS) {
+                    count += windowTelegrams[i];
+                }
+            }
+        }
+        return (double) count / WINDOW_SECONDS;
+    }
+
+    public double getAverageDispatchLatencyMillis() {
+        long count = dispatches.sum();
+        return count == 0 ? 0 : dispatchLatencyNanos.sum() / 1_000_000.0 / count;
+    }
+
+    public double getMaxDispatchLatencyMillis() {
+        return maxDispatchLatencyNanos.get() / 1_000_000.0;
+    }
+}
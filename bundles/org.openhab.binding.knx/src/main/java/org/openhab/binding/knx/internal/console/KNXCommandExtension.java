@@ -18,6 +18,7 @@ import java.util.Map.Entry;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.knx.internal.KNXBindingConstants;
+import org.openhab.binding.knx.internal.client.TelegramStatistics;
 import org.openhab.binding.knx.internal.factory.KNXHandlerFactory;
 import org.openhab.binding.knx.internal.handler.KNXBridgeBaseThingHandler;
 import org.openhab.core.io.console.Console;
@@ -39,7 +40,9 @@ import org.osgi.service.component.annotations.Reference;
 public class KNXCommandExtension extends AbstractConsoleCommandExtension implements ConsoleCommandCompleter {
 
     private static final String CMD_LIST_UNKNOWN_GA = "list-unknown-ga";
-    private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(List.of(CMD_LIST_UNKNOWN_GA), false);
+    private static final String CMD_STATS = "stats";
+    private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(List.of(CMD_LIST_UNKNOWN_GA, CMD_STATS),
+            false);
 
     private final KNXHandlerFactory knxHandlerFactory;
 
@@ -60,14 +63,26 @@ public class KNXCommandExtension extends AbstractConsoleCommandExtension impleme
                 }
             }
             return;
+        } else if (args.length == 1 && CMD_STATS.equalsIgnoreCase(args[0])) {
+            for (KNXBridgeBaseThingHandler bridgeHandler : knxHandlerFactory.getBridges()) {
+                TelegramStatistics statistics = bridgeHandler.getCommandExtensionData().telegramStatistics();
+                console.println("KNX bridge \"" + bridgeHandler.getThing().getLabel() + "\":");
+                console.println(String.format("  telegrams: %d (%.1f/s during the last minute), unhandled: %d",
+                        statistics.getTelegrams(), statistics.getTelegramsPerSecond(),
+                        statistics.getUnhandledTelegrams()));
+                console.println(String.format("  dispatch latency: %.2f ms average, %.2f ms maximum",
+                        statistics.getAverageDispatchLatencyMillis(), statistics.getMaxDispatchLatencyMillis()));
+            }
+            return;
         }
         printUsage(console);
     }
 
     @Override
     public List<String> getUsages() {
-        return List
-                .of(buildCommandUsage(CMD_LIST_UNKNOWN_GA, "list group addresses which are not configured in openHAB"));
+        return List.of(
+                buildCommandUsage(CMD_LIST_UNKNOWN_GA, "list group addresses which are not configured in openHAB"),
+                buildCommandUsage(CMD_STATS, "show statistics of received telegrams"));
     }
 
     @Override
@@ -19,11 +19,16 @@ import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import javax.measure.Unit;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.library.types.DateTimeType;
@@ -39,6 +44,7 @@ import org.openhab.core.library.types.StringType;
 import org.openhab.core.library.types.UpDownType;
 import org.openhab.core.types.Type;
 import org.openhab.core.types.UnDefType;
+import org.openhab.core.types.util.UnitUtils;
 import org.openhab.core.util.ColorUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -52,7 +58,6 @@ import tuwien.auto.calimero.dptxlator.DPTXlator2ByteUnsigned;
 import tuwien.auto.calimero.dptxlator.DPTXlator3BitControlled;
 import tuwien.auto.calimero.dptxlator.DPTXlator64BitSigned;
 import tuwien.auto.calimero.dptxlator.DPTXlator8BitUnsigned;
-import tuwien.auto.calimero.dptxlator.DPTXlatorBoolean;
 import tuwien.auto.calimero.dptxlator.DPTXlatorDateTime;
 import tuwien.auto.calimero.dptxlator.DPTXlatorSceneControl;
 import tuwien.auto.calimero.dptxlator.TranslatorTypes;
@@ -62,6 +67,10 @@ import tuwien.auto.calimero.dptxlator.TranslatorTypes;
  *
  * Parts of this code are based on the openHAB KNXCoreTypeMapper by Kai Kreuzer et al.
  *
+ * Translators are created once per DPT and thread and reused for further telegrams. Booleans (DPT 1) and colors
+ * (DPT 232, 242) are decoded directly from the raw data, numeric values use the typed getters of the translators and
+ * the parsed unit of the DPT.
+ *
  * @author Jan N. Klug - Initial contribution
  */
 @NonNullByDefault
@@ -71,8 +80,6 @@ public class ValueDecoder {
     private static final String TIME_DAY_FORMAT = "EEE, HH:mm:ss";
     private static final String TIME_FORMAT = "HH:mm:ss";
     private static final String DATE_FORMAT = "yyyy-MM-dd";
-    // RGB: "r:123 g:123 b:123" value-range: 0-255
-    private static final Pattern RGB_PATTERN = Pattern.compile("r:(?<r>\\d+) g:(?<g>\\d+) b:(?<b>\\d+)");
     // RGBW: "100 27 25 12 %", value range: 0-100, invalid values: "-"
     private static final Pattern RGBW_PATTERN = Pattern
             .compile("(?:(?<r>[\\d,.]+)|-)\\s(?:(?<g>[\\d,.]+)|-)\\s(?:(?<b>[\\d,.]+)|-)\\s(?:(?<w>[\\d,.]+)|-)\\s%");
@@ -82,6 +89,28 @@ public class ValueDecoder {
             .compile("(?:\\((?<x>\\d+(?:[,.]\\d+)?) (?<y>\\d+(?:[,.]\\d+)?)\\))?\\s*(?:(?<Y>\\d+(?:[,.]\\d+)?)\\s%)?");
     public static final Pattern TSD_SEPARATOR = Pattern.compile("^[0-9]+(?<sep>[,\\.])[0-9][0-9][0-9].*");
 
+    // translators keep the data of the last conversion and are not thread-safe, so they are cached per thread
+    private static final ThreadLocal<Map<String, DPTXlator>> TRANSLATORS = ThreadLocal.withInitial(HashMap::new);
+    // units of the DPTs, parsed on first use
+    private static final Map<String, Unit<?>> UNITS = new ConcurrentHashMap<>();
+
+    /**
+     * get a translator for the given DPT, translators are created on first use and reused afterwards
+     *
+     * @param dptId the DPT of the translator
+     * @return the translator of the current thread
+     * @throws KNXException if no translator is available for the DPT
+     */
+    private static DPTXlator getTranslator(String dptId) throws KNXException {
+        Map<String, DPTXlator> translators = TRANSLATORS.get();
+        DPTXlator translator = translators.get(dptId);
+        if (translator == null) {
+            translator = TranslatorTypes.createTranslator(0, dptId);
+            translators.put(dptId, translator);
+        }
+        return translator;
+    }
+
     private static boolean check235001(byte[] data) throws KNXException {
         if (data.length != 6) {
             throw new KNXFormatException("DPT235 broken frame");
@@ -114,13 +143,11 @@ public class ValueDecoder {
      */
     public static @Nullable Type decode(String dptId, byte[] data, Class<? extends Type> preferredType) {
         try {
-            String value = "";
             String translatorDptId = dptId;
             DPTXlator translator;
             try {
-                translator = TranslatorTypes.createTranslator(0, DPTUtil.NORMALIZED_DPT.getOrDefault(dptId, dptId));
+                translator = getTranslator(DPTUtil.NORMALIZED_DPT.getOrDefault(dptId, dptId));
                 translator.setData(data);
-                value = translator.getValue();
                 translatorDptId = translator.getType().getID();
             } catch (KNXException e) {
                 // special handling for decoding DPTs not yet supported by Calimero
@@ -128,18 +155,16 @@ public class ValueDecoder {
                     if (!check235001(data)) {
                         return null;
                     }
-                    translator = TranslatorTypes.createTranslator(0, "13.010");
+                    translator = getTranslator("13.010");
                     translator.setData(data);
-                    value = translator.getValue();
                     dptId = "13.010";
                     translatorDptId = dptId;
                 } else if ("235.61001".equals(dptId)) {
                     if (!check23561001(data)) {
                         return null;
                     }
-                    translator = TranslatorTypes.createTranslator(0, "5.006");
+                    translator = getTranslator("5.006");
                     translator.setData(new byte[] { data[4] });
-                    value = translator.getValue();
                     dptId = "5.006";
                     translatorDptId = dptId;
                 } else {
@@ -167,7 +192,7 @@ public class ValueDecoder {
 
             switch (mainType) {
                 case "1":
-                    return handleDpt1(subType, translator, preferredType);
+                    return handleDpt1(subType, (data[0] & 0x01) != 0, preferredType);
                 case "2":
                     DPTXlator1BitControlled translator1BitControlled = (DPTXlator1BitControlled) translator;
                     int decValue = (translator1BitControlled.getControlBit() ? 2 : 0)
@@ -177,19 +202,19 @@ public class ValueDecoder {
                     return handleDpt3(subType, translator);
                 case "6":
                     if ("020".equals(subType)) {
-                        return handleStringOrDecimal(data, value, preferredType, 8);
+                        return handleStringOrDecimal(data, translator, preferredType, 8);
                     } else {
                         return handleNumericDpt(id, translator, preferredType);
                     }
                 case "10":
-                    return handleDpt10(value);
+                    return handleDpt10(translator.getValue());
                 case "11":
                     return DateTimeType.valueOf(new SimpleDateFormat(DateTimeType.DATE_PATTERN)
-                            .format(new SimpleDateFormat(DATE_FORMAT).parse(value)));
+                            .format(new SimpleDateFormat(DATE_FORMAT).parse(translator.getValue())));
                 case "18":
                     DPTXlatorSceneControl translatorSceneControl = (DPTXlatorSceneControl) translator;
                     int decimalValue = translatorSceneControl.getSceneNumber();
-                    if (value.startsWith("learn")) {
+                    if (translator.getValue().startsWith("learn")) {
                         decimalValue += 0x80;
                     }
                     return new DecimalType(decimalValue);
@@ -197,20 +222,21 @@ public class ValueDecoder {
                     return handleDpt19(translator, data);
                 case "20":
                 case "21":
-                    return handleStringOrDecimal(data, value, preferredType, 8);
+                    return handleStringOrDecimal(data, translator, preferredType, 8);
                 case "22":
-                    return handleStringOrDecimal(data, value, preferredType, 16);
+                    return handleStringOrDecimal(data, translator, preferredType, 16);
                 case "16":
                 case "28":
                 case "250": // Map all combined color transitions to String,
                 case "252": // as no native support is planned.
                 case "253": // Currently only one subtype 2xx.600
                 case "254": // is defined for those DPTs.
-                    return StringType.valueOf(value);
+                    return StringType.valueOf(translator.getValue());
                 case "243": // color translation, fix regional
                 case "249": // settings
                     // workaround for different number formats, this is to fix time>=1000s:
                     // time is last block and may contain . and ,
+                    String value = translator.getValue();
                     int sep = java.lang.Math.max(value.indexOf(" % "), value.indexOf(" K "));
                     String time = value.substring(sep + 3);
                     Matcher mt = TSD_SEPARATOR.matcher(time);
@@ -221,11 +247,11 @@ public class ValueDecoder {
                     value = value.substring(0, sep + 3) + time;
                     return StringType.valueOf(value.replace(',', '.').replace(". ", ", "));
                 case "232":
-                    return handleDpt232(value, subType);
+                    return handleDpt232(data, subType);
                 case "242":
-                    return handleDpt242(value);
+                    return handleDpt242(data);
                 case "251":
-                    return handleDpt251(value, subType, preferredType);
+                    return handleDpt251(translator.getValue(), subType, preferredType);
                 default:
                     return handleNumericDpt(id, translator, preferredType);
             }
@@ -239,33 +265,32 @@ public class ValueDecoder {
         return null;
     }
 
-    private static Type handleDpt1(String subType, DPTXlator translator, Class<? extends Type> preferredType) {
-        DPTXlatorBoolean translatorBoolean = (DPTXlatorBoolean) translator;
+    private static Type handleDpt1(String subType, boolean value, Class<? extends Type> preferredType) {
         switch (subType) {
             case "008":
-                return translatorBoolean.getValueBoolean() ? UpDownType.DOWN : UpDownType.UP;
+                return value ? UpDownType.DOWN : UpDownType.UP;
             case "009":
             case "019":
                 // default is OpenClosedType (Contact), but it may be mapped to OnOffType as well
                 if (OnOffType.class.equals(preferredType)) {
-                    return OnOffType.from(translatorBoolean.getValueBoolean());
+                    return OnOffType.from(value);
                 }
 
                 // This is wrong for DPT 1.009. It should be true -> CLOSE, false -> OPEN, but unfortunately
                 // can't be fixed without breaking a lot of working installations.
                 // The documentation has been updated to reflect that. / @J-N-K
-                return translatorBoolean.getValueBoolean() ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
+                return value ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
             case "010":
-                return translatorBoolean.getValueBoolean() ? StopMoveType.MOVE : StopMoveType.STOP;
+                return value ? StopMoveType.MOVE : StopMoveType.STOP;
             case "022":
-                return DecimalType.valueOf(translatorBoolean.getValueBoolean() ? "1" : "0");
+                return DecimalType.valueOf(value ? "1" : "0");
             default:
                 // default is OnOffType (Switch), but it may be mapped to OpenClosedType as well
                 if (OpenClosedType.class.equals(preferredType)) {
-                    return translatorBoolean.getValueBoolean() ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
+                    return value ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
                 }
 
-                return OnOffType.from(translatorBoolean.getValueBoolean());
+                return OnOffType.from(value);
         }
     }
 
@@ -367,75 +392,65 @@ public class ValueDecoder {
         }
     }
 
-    private static @Nullable Type handleStringOrDecimal(byte[] data, String value, Class<? extends Type> preferredType,
-            int bits) {
+    private static @Nullable Type handleStringOrDecimal(byte[] data, DPTXlator translator,
+            Class<? extends Type> preferredType, int bits) {
         if (DecimalType.class.equals(preferredType)) {
             try {
-                // need a new translator for 8 bit unsigned, as Calimero handles only the string type
+                // need another translator for 8 bit unsigned, as Calimero handles only the string type
                 if (bits == 8) {
-                    DPTXlator8BitUnsigned translator = new DPTXlator8BitUnsigned("5.010");
-                    translator.setData(data);
-                    return new DecimalType(translator.getValueUnsigned());
+                    DPTXlator8BitUnsigned unsignedTranslator = (DPTXlator8BitUnsigned) getTranslator("5.010");
+                    unsignedTranslator.setData(data);
+                    return new DecimalType(unsignedTranslator.getValueUnsigned());
                 } else if (bits == 16) {
-                    DPTXlator2ByteUnsigned translator = new DPTXlator2ByteUnsigned("7.001");
-                    translator.setData(data);
-                    return new DecimalType(translator.getValueUnsigned());
+                    DPTXlator2ByteUnsigned unsignedTranslator = (DPTXlator2ByteUnsigned) getTranslator("7.001");
+                    unsignedTranslator.setData(data);
+                    return new DecimalType(unsignedTranslator.getValueUnsigned());
                 } else {
                     return null;
                 }
-            } catch (KNXFormatException e) {
+            } catch (KNXException e) {
                 return null;
             }
         } else {
-            return StringType.valueOf(value);
+            return StringType.valueOf(translator.getValue());
         }
     }
 
-    private static @Nullable Type handleDpt232(String value, String subType) {
-        Matcher rgb = RGB_PATTERN.matcher(value);
-        if (rgb.matches()) {
-            int r = Integer.parseInt(rgb.group("r"));
-            int g = Integer.parseInt(rgb.group("g"));
-            int b = Integer.parseInt(rgb.group("b"));
+    private static @Nullable Type handleDpt232(byte[] data, String subType) {
+        // the translator already checked the length of the data
+        int r = data[0] & 0xff;
+        int g = data[1] & 0xff;
+        int b = data[2] & 0xff;
 
-            switch (subType) {
-                case "600":
-                    return HSBType.fromRGB(r, g, b);
-                case "60000":
-                    // MDT specific: mis-use 232.600 for hsv instead of rgb
-                    DecimalType hue = new DecimalType(coerceToRange(r * 360.0 / 255.0, 0.0, 359.9999));
-                    PercentType sat = new PercentType(BigDecimal.valueOf(coerceToRange(g / 2.55, 0.0, 100.0)));
-                    PercentType bright = new PercentType(BigDecimal.valueOf(coerceToRange(b / 2.55, 0.0, 100.0)));
-                    return new HSBType(hue, sat, bright);
-                default:
-                    LOGGER.warn("Unknown subtype '232.{}', no conversion possible.", subType);
-                    return null;
-            }
+        switch (subType) {
+            case "600":
+                return HSBType.fromRGB(r, g, b);
+            case "60000":
+                // MDT specific: mis-use 232.600 for hsv instead of rgb
+                DecimalType hue = new DecimalType(coerceToRange(r * 360.0 / 255.0, 0.0, 359.9999));
+                PercentType sat = new PercentType(BigDecimal.valueOf(coerceToRange(g / 2.55, 0.0, 100.0)));
+                PercentType bright = new PercentType(BigDecimal.valueOf(coerceToRange(b / 2.55, 0.0, 100.0)));
+                return new HSBType(hue, sat, bright);
+            default:
+                LOGGER.warn("Unknown subtype '232.{}', no conversion possible.", subType);
+                return null;
         }
-        LOGGER.warn("Failed to convert '{}' (DPT 232): Pattern does not match", value);
-        return null;
     }
 
-    private static @Nullable Type handleDpt242(String value) {
-        Matcher xyY = XYY_PATTERN.matcher(value);
-        if (xyY.matches()) {
-            String stringx = xyY.group("x");
-            String stringy = xyY.group("y");
-            String stringY = xyY.group("Y");
-
-            if (stringx != null && stringy != null) {
-                double x = Double.parseDouble(stringx.replace(",", "."));
-                double y = Double.parseDouble(stringy.replace(",", "."));
-                if (stringY == null) {
-                    return ColorUtil.xyToHsb(new double[] { x, y });
-                } else {
-                    double pY = Double.parseDouble(stringY.replace(",", "."));
-                    return ColorUtil.xyToHsb(new double[] { x, y, pY / 100.0 });
-                }
-            }
+    private static @Nullable Type handleDpt242(byte[] data) {
+        // the translator already checked the length of the data
+        // x and y: 0-65535 for 0-1, Y: 0-255 for 0-100 %, last byte: bit 1 xy valid, bit 0 Y valid
+        if ((data[5] & 0x02) == 0) {
+            LOGGER.warn("Failed to convert DPT 242 value: x and y are not valid");
+            return null;
         }
-        LOGGER.warn("Failed to convert '{}' (DPT 242): Pattern does not match", value);
-        return null;
+        double x = (((data[0] & 0xff) << 8) | (data[1] & 0xff)) / 65535.0;
+        double y = (((data[2] & 0xff) << 8) | (data[3] & 0xff)) / 65535.0;
+        if ((data[5] & 0x01) == 0) {
+            return ColorUtil.xyToHsb(new double[] { x, y });
+        }
+        double pY = (data[4] & 0xff) / 255.0;
+        return ColorUtil.xyToHsb(new double[] { x, y, pY });
     }
 
     private static @Nullable Type handleDpt251(String value, String subType, Class<? extends Type> preferredType) {
@@ -495,13 +510,13 @@ public class ValueDecoder {
         }
 
         if (allowedTypes.contains(QuantityType.class) && !disableUoM) {
-            String unit = DPTUnits.getUnitForDpt(id);
+            Unit<?> unit = getUnit(id);
             if (unit != null) {
                 if (translator instanceof DPTXlator64BitSigned translatorSigned) {
                     // prevent loss of precision, do not represent 64bit decimal using double
-                    return new QuantityType<>(translatorSigned.getValueSigned() + " " + unit);
+                    return new QuantityType<>(BigDecimal.valueOf(translatorSigned.getValueSigned()), unit);
                 }
-                return new QuantityType<>(value + " " + unit);
+                return new QuantityType<>(BigDecimal.valueOf(value), unit);
             } else {
                 LOGGER.trace("Could not determine unit for DPT '{}', fallback to plain decimal", id);
             }
@@ -519,6 +534,17 @@ public class ValueDecoder {
         return null;
     }
 
+    private static @Nullable Unit<?> getUnit(String dptId) {
+        Unit<?> unit = UNITS.get(dptId);
+        if (unit == null) {
+            unit = UnitUtils.parseUnit(DPTUnits.getUnitForDpt(dptId));
+            if (unit != null) {
+                UNITS.put(dptId, unit);
+            }
+        }
+        return unit;
+    }
+
     private static double coerceToRange(double value, double min, double max) {
         return Math.min(Math.max(value, min), max);
     }
@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.KNXFormatException;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+class GroupAddressListenerIndexTest {
+
+    @Test
+    void testIndex() throws KNXFormatException {
+        GroupAddress ga1 = new GroupAddress("1/2/3");
+        GroupAddress ga2 = new GroupAddress("1/2/4");
+        GroupAddressListener listener1 = mock(GroupAddressListener.class);
+        when(listener1.getGroupAddresses()).thenReturn(Set.of(ga1, ga2));
+        GroupAddressListener listener2 = mock(GroupAddressListener.class);
+        when(listener2.getGroupAddresses()).thenReturn(Set.of(ga2));
+
+        GroupAddressListenerIndex index = new GroupAddressListenerIndex();
+        index.add(listener1);
+        index.add(listener2);
+        assertEquals(Set.of(listener1), index.get(new GroupAddress("1/2/3")));
+        assertEquals(Set.of(listener1, listener2), index.get(ga2));
+        assertTrue(index.get(new GroupAddress("1/2/5")).isEmpty());
+
+        index.remove(listener1);
+        assertTrue(index.get(ga1).isEmpty());
+        assertEquals(Set.of(listener2), index.get(ga2));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void testUpdate() throws KNXFormatException {
+        GroupAddress ga1 = new GroupAddress("1/2/3");
+        GroupAddress ga2 = new GroupAddress("1/2/4");
+        GroupAddressListener listener = mock(GroupAddressListener.class);
+        when(listener.getGroupAddresses()).thenReturn(Set.of(ga1));
+
+        GroupAddressListenerIndex index = new GroupAddressListenerIndex();
+        index.add(listener);
+        when(listener.getGroupAddresses()).thenReturn(Set.of(ga2));
+        index.add(listener);
+
+        assertTrue(index.get(ga1).isEmpty());
+        assertEquals(Set.of(listener), index.get(ga2));
+
+        // the addresses of the registration are removed, even if the listener changed them meanwhile
+        when(listener.getGroupAddresses()).thenReturn(Set.of());
+        index.remove(listener);
+        assertEquals(0, index.size());
+    }
+}
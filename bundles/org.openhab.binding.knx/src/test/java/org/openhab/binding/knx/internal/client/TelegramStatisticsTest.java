@@ -0,0 +1,41 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+class TelegramStatisticsTest {
+
+    @Test
+    void testStatistics() {
+        TelegramStatistics statistics = new TelegramStatistics();
+        statistics.recordTelegram(true);
+        statistics.recordTelegram(false);
+        statistics.recordDispatch(2_000_000);
+        statistics.recordDispatch(4_000_000);
+
+        assertEquals(2, statistics.getTelegrams());
+        assertEquals(1, statistics.getUnhandledTelegrams());
+        assertEquals(3.0, statistics.getAverageDispatchLatencyMillis(), 0.001);
+        assertEquals(4.0, statistics.getMaxDispatchLatencyMillis(), 0.001);
+    }
+}
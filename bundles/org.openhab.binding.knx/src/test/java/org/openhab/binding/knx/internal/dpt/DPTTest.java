@@ -17,11 +17,13 @@ import static org.junit.jupiter.api.Assertions.*;
 import java.text.DecimalFormat;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Matcher;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -31,10 +33,13 @@ import org.openhab.core.library.types.DateTimeType;
 import org.openhab.core.library.types.DecimalType;
 import org.openhab.core.library.types.HSBType;
 import org.openhab.core.library.types.IncreaseDecreaseType;
+import org.openhab.core.library.types.OnOffType;
 import org.openhab.core.library.types.QuantityType;
 import org.openhab.core.library.types.StringType;
 import org.openhab.core.library.unit.SIUnits;
 import org.openhab.core.library.unit.Units;
+import org.openhab.core.types.Type;
+import org.openhab.core.types.util.UnitUtils;
 import org.openhab.core.util.ColorUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -409,6 +414,52 @@ class DPTTest {
         assertEquals(encoded, "r:" + data[0] + " g:" + data[1] + " b:" + data[2]);
     }
 
+    @Test
+    public void dpt242XyYValue() {
+        byte[] data = new byte[] { 0x25, (byte) 0x80, 0x1d, (byte) 0x9f, 0x7f, 0x03 };
+        HSBType expected = ColorUtil.xyToHsb(new double[] { 0x2580 / 65535.0, 0x1d9f / 65535.0, 0x7f / 255.0 });
+        assertEquals(expected, ValueDecoder.decode("242.600", data, HSBType.class));
+
+        // Y not valid
+        data[5] = 0x02;
+        expected = ColorUtil.xyToHsb(new double[] { 0x2580 / 65535.0, 0x1d9f / 65535.0 });
+        assertEquals(expected, ValueDecoder.decode("242.600", data, HSBType.class));
+
+        // xy not valid
+        data[5] = 0x01;
+        assertNull(ValueDecoder.decode("242.600", data, HSBType.class));
+
+        // invalid frame size
+        assertNull(ValueDecoder.decode("242.600", new byte[] { 0x25, (byte) 0x80, 0x1d }, HSBType.class));
+    }
+
+    @Test
+    public void translatorReuse() throws InterruptedException {
+        byte[] first = new byte[] { 0x0c, 0x1a };
+        byte[] second = new byte[] { 0x07, (byte) 0xd0 };
+
+        Type expected = ValueDecoder.decode("9.001", first, QuantityType.class);
+        assertNotNull(expected);
+        assertNotEquals(expected, ValueDecoder.decode("9.001", second, QuantityType.class));
+        assertEquals(expected, ValueDecoder.decode("9.001", first, QuantityType.class));
+
+        // a failed conversion does not affect the next one
+        assertNull(ValueDecoder.decode("9.001", new byte[] { 0x0c }, QuantityType.class));
+        assertEquals(expected, ValueDecoder.decode("9.001", first, QuantityType.class));
+
+        assertEquals(OnOffType.ON, ValueDecoder.decode("1.001", new byte[] { 1 }, OnOffType.class));
+        assertEquals(OnOffType.OFF, ValueDecoder.decode("1.001", new byte[] { 0 }, OnOffType.class));
+
+        // translators of other threads are independent
+        AtomicReference<@Nullable Type> otherThreadResult = new AtomicReference<>();
+        Thread thread = new Thread(
+                () -> otherThreadResult.set(ValueDecoder.decode("9.001", second, QuantityType.class)));
+        thread.start();
+        thread.join();
+        assertEquals(ValueDecoder.decode("9.001", second, QuantityType.class), otherThreadResult.get());
+        assertEquals(expected, ValueDecoder.decode("9.001", first, QuantityType.class));
+    }
+
     @Test
     public void dpt235Decoder() {
         byte[] noActiveEnergy = new byte[] { (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff,
@@ -549,6 +600,13 @@ class DPTTest {
         }
     }
 
+    @ParameterizedTest
+    @MethodSource("unitProvider")
+    public void unitsParsed(Map.Entry<String, String> unit) {
+        // the decoder creates the quantities from the parsed unit of the DPT
+        assertNotNull(UnitUtils.parseUnit(unit.getValue()), "Failed to parse " + unit);
+    }
+
     private static Stream<byte[]> rgbValueProvider() {
         // Returning all combinations is too much. Implementation tries to catch rounding errors
         // but is still deterministic to get reproducible test results.
@@ -22,7 +22,12 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.modbus.internal.AtomicStampedValue;
 import org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal;
+import org.openhab.binding.modbus.internal.ModbusMetrics;
+import org.openhab.binding.modbus.internal.ModbusPollerMetrics;
+import org.openhab.binding.modbus.internal.ModbusReadCoalescer;
+import org.openhab.binding.modbus.internal.ModbusReadCoalescer.CoalescedPoll;
 import org.openhab.binding.modbus.internal.config.ModbusPollerConfiguration;
+import org.openhab.binding.modbus.internal.handler.AbstractModbusEndpointThingHandler;
 import org.openhab.binding.modbus.internal.handler.ModbusDataThingHandler;
 import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
 import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
@@ -40,6 +45,7 @@ import org.openhab.core.thing.Thing;
 import org.openhab.core.thing.ThingStatus;
 import org.openhab.core.thing.ThingStatusDetail;
 import org.openhab.core.thing.ThingStatusInfo;
+import org.openhab.core.thing.ThingUID;
 import org.openhab.core.thing.binding.BaseBridgeHandler;
 import org.openhab.core.thing.binding.ThingHandler;
 import org.openhab.core.types.Command;
@@ -156,6 +162,41 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
         }
     }
 
+    /**
+     * Callback of the regular poll, recording the responses and failures to the metrics before delegating them
+     */
+    private class RegularPollCallback
+            implements ModbusReadCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> {
+
+        private final boolean recordTransactions;
+
+        /**
+         * @param recordTransactions whether the transactions are recorded as well, false if the poll is merged with
+         *            other polls, which records the transactions itself
+         */
+        RegularPollCallback(boolean recordTransactions) {
+            this.recordTransactions = recordTransactions;
+        }
+
+        @Override
+        public void handle(AsyncModbusReadResult result) {
+            ModbusPollerMetrics localPollerMetrics = pollerMetrics;
+            if (localPollerMetrics != null) {
+                localPollerMetrics.recordPollResponse(result.getRequest());
+                if (recordTransactions) {
+                    localPollerMetrics.recordTransaction(result.getRequest(), null);
+                }
+            }
+            callbackDelegator.handle(result);
+        }
+
+        @Override
+        public void handle(AsyncModbusFailure<ModbusReadRequestBlueprint> failure) {
+            recordFailure(failure, recordTransactions);
+            callbackDelegator.handle(failure);
+        }
+    }
+
     /**
      * Immutable data object to cache the results of a poll request
      */
@@ -189,6 +230,7 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
     private @NonNullByDefault({}) ModbusPollerConfiguration config;
     private long cacheMillis;
     private volatile @Nullable PollTask pollTask;
+    private volatile @Nullable CoalescedPoll coalescedPoll;
     private volatile @Nullable ModbusReadRequestBlueprint request;
     private volatile boolean disposed;
     private volatile List<ModbusDataThingHandler> childCallbacks = new CopyOnWriteArrayList<>();
@@ -196,11 +238,22 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
     private @NonNullByDefault({}) ModbusCommunicationInterface comms;
 
     private ReadCallbackDelegator callbackDelegator = new ReadCallbackDelegator();
+    private final @Nullable ModbusMetrics metrics;
+    private volatile @Nullable ModbusPollerMetrics pollerMetrics;
 
     private @Nullable ModbusReadFunctionCode functionCode;
 
     public ModbusPollerThingHandler(Bridge bridge) {
+        this(bridge, null);
+    }
+
+    /**
+     * @param bridge the poller thing
+     * @param metrics registry to record the transactions of the poller to, or null to not record them
+     */
+    public ModbusPollerThingHandler(Bridge bridge, @Nullable ModbusMetrics metrics) {
         super(bridge);
+        this.metrics = metrics;
     }
 
     @Override
@@ -312,7 +365,19 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
             logger.debug("Unregistering polling from ModbusManager");
             comms.unregisterRegularPoll(localPollTask);
         }
+        CoalescedPoll localCoalescedPoll = this.coalescedPoll;
+        if (localCoalescedPoll != null) {
+            logger.debug("Unregistering merged polling");
+            localCoalescedPoll.unregister();
+        }
+        ModbusPollerMetrics localPollerMetrics = this.pollerMetrics;
+        ModbusMetrics localMetrics = this.metrics;
+        if (localPollerMetrics != null && localMetrics != null) {
+            localMetrics.unregister(localPollerMetrics);
+        }
         this.pollTask = null;
+        this.coalescedPoll = null;
+        this.pollerMetrics = null;
         request = null;
         comms = null;
         updateStatus(ThingStatus.OFFLINE);
@@ -327,7 +392,7 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
     @SuppressWarnings("null")
     private synchronized void registerPollTask() throws EndpointNotInitializedException {
         logger.trace("registerPollTask()");
-        if (pollTask != null) {
+        if (pollTask != null || coalescedPoll != null) {
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR);
             logger.debug("pollTask should be unregistered before registering a new one!");
             return;
@@ -356,15 +421,32 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
         ModbusReadRequestBlueprint localRequest = new ModbusReadRequestBlueprint(slaveEndpointThingHandler.getSlaveId(),
                 localFunctionCode, config.getStart(), config.getLength(), config.getMaxTries());
         this.request = localRequest;
+        ModbusMetrics localMetrics = this.metrics;
+        ThingUID bridgeUID = getThing().getBridgeUID();
+        if (localMetrics != null && bridgeUID != null) {
+            pollerMetrics = localMetrics.register(bridgeUID, getThing().getUID(), Math.max(0, config.getRefresh()));
+        }
 
         if (config.getRefresh() <= 0L) {
             logger.debug("Not registering polling with ModbusManager since refresh disabled");
             updateStatus(ThingStatus.ONLINE, ThingStatusDetail.NONE, "Not polling");
         } else {
-            logger.debug("Registering polling with ModbusManager");
-            pollTask = localComms.registerRegularPoll(localRequest, config.getRefresh(), 0, callbackDelegator,
-                    callbackDelegator);
-            assert pollTask != null;
+            ModbusReadCoalescer readCoalescer = null;
+            if (slaveEndpointThingHandler instanceof AbstractModbusEndpointThingHandler<?, ?> endpointHandler) {
+                readCoalescer = endpointHandler.getReadCoalescer();
+            }
+            if (readCoalescer != null) {
+                logger.debug("Registering polling with ModbusManager, merged with other pollers of the endpoint");
+                RegularPollCallback regularPollCallback = new RegularPollCallback(false);
+                coalescedPoll = readCoalescer.registerRegularPoll(localRequest, config.getRefresh(),
+                        regularPollCallback, regularPollCallback, pollerMetrics);
+            } else {
+                logger.debug("Registering polling with ModbusManager");
+                RegularPollCallback regularPollCallback = new RegularPollCallback(true);
+                pollTask = localComms.registerRegularPoll(localRequest, config.getRefresh(), 0, regularPollCallback,
+                        regularPollCallback);
+                assert pollTask != null;
+            }
             updateStatus(ThingStatus.ONLINE);
         }
     }
@@ -455,11 +537,42 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
                     getThing().getUID());
             ModbusCommunicationInterface localComms = comms;
             if (localComms != null) {
-                localComms.submitOneTimePoll(localRequest, callbackDelegator, callbackDelegator);
+                long submitted = System.nanoTime();
+                localComms.submitOneTimePoll(localRequest, result -> {
+                    ModbusPollerMetrics localPollerMetrics = pollerMetrics;
+                    if (localPollerMetrics != null) {
+                        localPollerMetrics.recordOneTimeResponse(localRequest, System.nanoTime() - submitted);
+                    }
+                    callbackDelegator.handle(result);
+                }, failure -> {
+                    recordFailure(failure, true);
+                    callbackDelegator.handle(failure);
+                });
             }
         }
     }
 
+    private void recordFailure(AsyncModbusFailure<ModbusReadRequestBlueprint> failure, boolean recordTransaction) {
+        ModbusPollerMetrics localPollerMetrics = pollerMetrics;
+        if (localPollerMetrics != null) {
+            localPollerMetrics.recordFailure(failure.getCause());
+            if (recordTransaction) {
+                localPollerMetrics.recordTransaction(failure.getRequest(), failure.getCause());
+            }
+        }
+    }
+
+    /**
+     * Get the transaction statistics of this poller
+     *
+     * Note that metrics might be <code>null</code> in case initialization is not complete.
+     *
+     * @return transaction statistics of this poller
+     */
+    public @Nullable ModbusPollerMetrics getPollerMetrics() {
+        return pollerMetrics;
+    }
+
     public AtomicReference<@Nullable ModbusRegisterArray> getLastPolledDataCache() {
         return lastPolledDataCache;
     }
@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.monitor.MeterRegistryProvider;
+import org.openhab.core.thing.ThingUID;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Registry of the {@link ModbusPollerMetrics} of all pollers
+ *
+ * The metrics are published to the openHAB meter registry, when available.
+ *
+ * @author agent - Initial contribution
+ */
+@Component(service = ModbusMetrics.class)
+@NonNullByDefault
+public class ModbusMetrics {
+
+    private final List<ModbusPollerMetrics> pollerMetrics = new ArrayList<>();
+    private @Nullable MeterRegistry meterRegistry;
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
+    public synchronized void setMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        MeterRegistry meterRegistry = meterRegistryProvider.getOHMeterRegistry();
+        this.meterRegistry = meterRegistry;
+        pollerMetrics.forEach(metrics -> metrics.bind(meterRegistry));
+    }
+
+    public synchronized void unsetMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        meterRegistry = null;
+        pollerMetrics.forEach(ModbusPollerMetrics::unbind);
+    }
+
+    /**
+     * Create the metrics of a poller
+     *
+     * @param endpoint UID of the endpoint thing
+     * @param poller UID of the poller thing
+     * @param refreshMillis poll interval of the poller, or 0 if it is not polling regularly
+     * @return metrics to record the transactions of the poller to
+     */
+    public synchronized ModbusPollerMetrics register(ThingUID endpoint, ThingUID poller, long refreshMillis) {
+        ModbusPollerMetrics metrics = new ModbusPollerMetrics(endpoint.getAsString(), poller.getAsString(),
+                refreshMillis);
+        MeterRegistry meterRegistry = this.meterRegistry;
+        if (meterRegistry != null) {
+            metrics.bind(meterRegistry);
+        }
+        pollerMetrics.add(metrics);
+        return metrics;
+    }
+
+    /**
+     * Remove the metrics of a poller
+     *
+     * @param metrics metrics returned by {@link #register(ThingUID, ThingUID, long)}
+     */
+    public synchronized void unregister(ModbusPollerMetrics metrics) {
+        pollerMetrics.remove(metrics);
+        metrics.unbind();
+    }
+
+    /**
+     * @return metrics of all pollers
+     */
+    public synchronized List<ModbusPollerMetrics> getPollerMetrics() {
+        return new ArrayList<>(pollerMetrics);
+    }
+}
@@ -0,0 +1,349 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.exception.ModbusConnectionException;
+import org.openhab.core.io.transport.modbus.exception.ModbusSlaveErrorResponseException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Transaction statistics of a poller
+ *
+ * The statistics are always collected. When a {@link MeterRegistry} is bound, they are also published as meters,
+ * tagged with the endpoint and the poller.
+ *
+ * Only the responses are visible to the binding. The time a regular poll waits for the endpoint is therefore
+ * estimated from the interval between two responses: any time above the refresh interval has been spent waiting for
+ * the endpoint, or for retries. The bytes are those of the Modbus PDU, without address, checksum or TCP header.
+ *
+ * Responses and failures are recorded for each poll, the requests sent and their bytes for each transaction. When the
+ * polls of several pollers are merged into one request, see {@link ModbusReadCoalescer}, the transaction is recorded
+ * once, on the first poller of the merged request.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusPollerMetrics {
+    private static final String PREFIX = "openhab.binding.modbus.";
+    // function code, start address and quantity
+    private static final int READ_REQUEST_PDU_BYTES = 5;
+    // function code and byte count
+    private static final int READ_RESPONSE_PDU_HEADER_BYTES = 2;
+    // function code and exception code
+    private static final int EXCEPTION_RESPONSE_PDU_BYTES = 2;
+
+    private final String endpoint;
+    private final String poller;
+    private final long refreshMillis;
+    private final long createdNanos = System.nanoTime();
+
+    private long responses;
+    private long failures;
+    private long transactions;
+    private final Map<String, Long> errors = new TreeMap<>();
+    private long bytesSent;
+    private long bytesReceived;
+    private long lastResponseNanos;
+    private final Statistic interval = new Statistic();
+    private final Statistic delay = new Statistic();
+    private final Statistic oneTimeReads = new Statistic();
+
+    private @Nullable MeterRegistry meterRegistry;
+    private List<Meter> meters = new ArrayList<>();
+    private @Nullable Timer intervalTimer;
+    private @Nullable Timer delayTimer;
+    private @Nullable Timer oneTimeReadTimer;
+    private @Nullable Counter responseCounter;
+    private @Nullable Counter bytesSentCounter;
+    private @Nullable Counter bytesReceivedCounter;
+
+    /**
+     * Count, total and maximum of durations
+     */
+    public static class Statistic {
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+
+        private void record(long nanos) {
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getMeanMillis() {
+            return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalNanos / count);
+        }
+
+        public long getMaxMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(maxNanos);
+        }
+    }
+
+    /**
+     * @param endpoint UID of the endpoint thing
+     * @param poller UID of the poller thing
+     * @param refreshMillis poll interval of the poller, or 0 if it is not polling regularly
+     */
+    public ModbusPollerMetrics(String endpoint, String poller, long refreshMillis) {
+        this.endpoint = endpoint;
+        this.poller = poller;
+        this.refreshMillis = refreshMillis;
+    }
+
+    synchronized void bind(MeterRegistry meterRegistry) {
+        unbind();
+        Tags tags = Tags.of("endpoint", endpoint, "poller", poller);
+        Timer intervalTimer = Timer.builder(PREFIX + "poll.interval").tags(tags)
+                .description("Time between two responses of the regular poll").publishPercentileHistogram()
+                .register(meterRegistry);
+        Timer delayTimer = Timer.builder(PREFIX + "poll.delay").tags(tags)
+                .description("Time a regular poll waited for the endpoint, beyond the refresh interval")
+                .publishPercentileHistogram().register(meterRegistry);
+        Timer oneTimeReadTimer = Timer.builder(PREFIX + "read.duration").tags(tags)
+                .description("Time from submitting a one-time read, e.g. on REFRESH, until its response")
+                .publishPercentileHistogram().register(meterRegistry);
+        Counter responseCounter = Counter.builder(PREFIX + "responses").tags(tags).register(meterRegistry);
+        Counter bytesSentCounter = Counter.builder(PREFIX + "bytes.sent").tags(tags).baseUnit("bytes")
+                .register(meterRegistry);
+        Counter bytesReceivedCounter = Counter.builder(PREFIX + "bytes.received").tags(tags).baseUnit("bytes")
+                .register(meterRegistry);
+        this.intervalTimer = intervalTimer;
+        this.delayTimer = delayTimer;
+        this.oneTimeReadTimer = oneTimeReadTimer;
+        this.responseCounter = responseCounter;
+        this.bytesSentCounter = bytesSentCounter;
+        this.bytesReceivedCounter = bytesReceivedCounter;
+        meters = new ArrayList<>(List.of(intervalTimer, delayTimer, oneTimeReadTimer, responseCounter,
+                bytesSentCounter, bytesReceivedCounter));
+        this.meterRegistry = meterRegistry;
+    }
+
+    synchronized void unbind() {
+        MeterRegistry meterRegistry = this.meterRegistry;
+        if (meterRegistry != null) {
+            meters.forEach(meterRegistry::remove);
+        }
+        this.meterRegistry = null;
+        meters = new ArrayList<>();
+        intervalTimer = null;
+        delayTimer = null;
+        oneTimeReadTimer = null;
+        responseCounter = null;
+        bytesSentCounter = null;
+        bytesReceivedCounter = null;
+    }
+
+    /**
+     * Record the response to a regular poll. The transaction is recorded separately, see
+     * {@link #recordTransaction(ModbusReadRequestBlueprint, Exception)}.
+     *
+     * @param request the polled request
+     */
+    public synchronized void recordPollResponse(ModbusReadRequestBlueprint request) {
+        long now = System.nanoTime();
+        if (lastResponseNanos != 0) {
+            long intervalNanos = now - lastResponseNanos;
+            long delayNanos = Math.max(0, intervalNanos - TimeUnit.MILLISECONDS.toNanos(refreshMillis));
+            interval.record(intervalNanos);
+            delay.record(delayNanos);
+            record(intervalTimer, intervalNanos);
+            record(delayTimer, delayNanos);
+        }
+        lastResponseNanos = now;
+        recordResponse();
+    }
+
+    /**
+     * Record the response to a one-time read, including its transaction
+     *
+     * @param request the read request
+     * @param nanos time from submitting the request until the response, in nanoseconds
+     */
+    public synchronized void recordOneTimeResponse(ModbusReadRequestBlueprint request, long nanos) {
+        oneTimeReads.record(nanos);
+        record(oneTimeReadTimer, nanos);
+        recordResponse();
+        recordTransaction(request, null);
+    }
+
+    /**
+     * Record a failed read. The transaction is recorded separately, see
+     * {@link #recordTransaction(ModbusReadRequestBlueprint, Exception)}.
+     *
+     * @param error the cause of the failure
+     */
+    public synchronized void recordFailure(Exception error) {
+        failures++;
+        String type = errorType(error);
+        errors.merge(type, 1L, Long::sum);
+        MeterRegistry meterRegistry = this.meterRegistry;
+        if (meterRegistry != null) {
+            // registering an existing meter returns the registered one
+            Counter counter = Counter.builder(PREFIX + "failures")
+                    .tags("endpoint", endpoint, "poller", poller, "error", type).register(meterRegistry);
+            if (!meters.contains(counter)) {
+                meters.add(counter);
+            }
+            counter.increment();
+        }
+    }
+
+    private void recordResponse() {
+        responses++;
+        increment(responseCounter, 1);
+    }
+
+    /**
+     * Record a read transaction with the endpoint. The request is not counted if it failed before it was sent, i.e.
+     * if no connection could be established.
+     *
+     * @param request the request sent to the endpoint
+     * @param error the cause of the failure, or <code>null</code> if the response has been received
+     */
+    public synchronized void recordTransaction(ModbusReadRequestBlueprint request, @Nullable Exception error) {
+        long received;
+        if (error == null) {
+            received = READ_RESPONSE_PDU_HEADER_BYTES + dataBytes(request);
+        } else if (hasCause(error, ModbusConnectionException.class)) {
+            return;
+        } else if (hasCause(error, ModbusSlaveErrorResponseException.class)) {
+            received = EXCEPTION_RESPONSE_PDU_BYTES;
+        } else {
+            received = 0;
+        }
+        transactions++;
+        bytesSent += READ_REQUEST_PDU_BYTES;
+        bytesReceived += received;
+        increment(bytesSentCounter, READ_REQUEST_PDU_BYTES);
+        increment(bytesReceivedCounter, received);
+    }
+
+    private static int dataBytes(ModbusReadRequestBlueprint request) {
+        ModbusReadFunctionCode functionCode = request.getFunctionCode();
+        if (functionCode == ModbusReadFunctionCode.READ_COILS
+                || functionCode == ModbusReadFunctionCode.READ_INPUT_DISCRETES) {
+            return (request.getDataLength() + 7) / 8;
+        }
+        return request.getDataLength() * 2;
+    }
+
+    private static String errorType(Exception error) {
+        return hasCause(error, InterruptedIOException.class) ? "timeout" : error.getClass().getSimpleName();
+    }
+
+    private static boolean hasCause(Exception error, Class<? extends Exception> type) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (type.isInstance(cause)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void record(@Nullable Timer timer, long nanos) {
+        if (timer != null) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static void increment(@Nullable Counter counter, double amount) {
+        if (counter != null) {
+            counter.increment(amount);
+        }
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public String getPoller() {
+        return poller;
+    }
+
+    public long getRefreshMillis() {
+        return refreshMillis;
+    }
+
+    public synchronized long getResponses() {
+        return responses;
+    }
+
+    public synchronized long getFailures() {
+        return failures;
+    }
+
+    public synchronized Map<String, Long> getErrors() {
+        return new TreeMap<>(errors);
+    }
+
+    public synchronized long getTransactions() {
+        return transactions;
+    }
+
+    public synchronized long getBytesSent() {
+        return bytesSent;
+    }
+
+    public synchronized long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    /**
+     * @return transactions (requests sent to the endpoint) per second since the poller was initialized
+     */
+    public synchronized double getTransactionRate() {
+        double seconds = (System.nanoTime() - createdNanos) / 1e9;
+        return seconds <= 0 ? 0 : transactions / seconds;
+    }
+
+    public synchronized Statistic getInterval() {
+        return copy(interval);
+    }
+
+    public synchronized Statistic getDelay() {
+        return copy(delay);
+    }
+
+    public synchronized Statistic getOneTimeReads() {
+        return copy(oneTimeReads);
+    }
+
+    private static Statistic copy(Statistic statistic) {
+        Statistic copy = new Statistic();
+        copy.count = statistic.count;
+        copy.totalNanos = statistic.totalNanos;
+        copy.maxNanos = statistic.maxNanos;
+        return copy;
+    }
+}
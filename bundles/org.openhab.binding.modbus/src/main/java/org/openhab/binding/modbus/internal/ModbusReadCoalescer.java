@@ -0,0 +1,350 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.BitArray;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusConstants;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.PollTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Merges the regular polls of an endpoint into fewer Modbus transactions.
+ *
+ * Polls with the same unit id, function code and poll period are merged if their ranges overlap or are at most
+ * <code>maxGap</code> registers (or bits) apart, as long as the merged request does not exceed the protocol limit of
+ * {@link ModbusConstants#MAX_REGISTERS_READ_COUNT} registers or {@link ModbusConstants#MAX_BITS_READ_COUNT} bits.
+ * The response of a merged request is split up again, and each poll receives the data of its own request.
+ *
+ * The merged requests are recalculated whenever a poll is registered or unregistered. Only the merged requests whose
+ * polls changed are registered again, and they keep the phase of the other requests with the same poll period instead
+ * of being polled immediately. Each transaction is recorded once, to the metrics of the first poll of the merged
+ * request.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusReadCoalescer {
+
+    /**
+     * Regular poll registered with the {@link ModbusReadCoalescer}
+     */
+    public class CoalescedPoll {
+        private final ModbusReadRequestBlueprint request;
+        private final long pollPeriodMillis;
+        private final ModbusReadCallback resultCallback;
+        private final ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback;
+        private final @Nullable ModbusPollerMetrics metrics;
+
+        private CoalescedPoll(ModbusReadRequestBlueprint request, long pollPeriodMillis,
+                ModbusReadCallback resultCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback,
+                @Nullable ModbusPollerMetrics metrics) {
+            this.request = request;
+            this.pollPeriodMillis = pollPeriodMillis;
+            this.resultCallback = resultCallback;
+            this.failureCallback = failureCallback;
+            this.metrics = metrics;
+        }
+
+        public ModbusReadRequestBlueprint getRequest() {
+            return request;
+        }
+
+        /**
+         * Unregister this poll
+         */
+        public void unregister() {
+            unregisterRegularPoll(this);
+        }
+
+        private int getStart() {
+            return request.getReference();
+        }
+
+        private int getEnd() {
+            return request.getReference() + request.getDataLength();
+        }
+    }
+
+    /**
+     * Polls that are read with a single request
+     */
+    static class MergedRead implements ModbusReadCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> {
+        private final ModbusReadRequestBlueprint request;
+        private final List<CoalescedPoll> polls;
+
+        MergedRead(ModbusReadRequestBlueprint request, List<CoalescedPoll> polls) {
+            this.request = request;
+            this.polls = polls;
+        }
+
+        ModbusReadRequestBlueprint getRequest() {
+            return request;
+        }
+
+        List<CoalescedPoll> getPolls() {
+            return polls;
+        }
+
+        @Override
+        public void handle(AsyncModbusReadResult result) {
+            recordTransaction(null);
+            Optional<ModbusRegisterArray> registers = result.getRegisters();
+            Optional<BitArray> bits = result.getBits();
+            for (CoalescedPoll poll : polls) {
+                int offset = poll.getStart() - request.getReference();
+                int length = poll.request.getDataLength();
+                if (registers.isPresent() && registers.get().size() >= offset + length) {
+                    byte[] bytes = registers.get().getBytes();
+                    poll.resultCallback.handle(new AsyncModbusReadResult(poll.request,
+                            new ModbusRegisterArray(Arrays.copyOfRange(bytes, offset * 2, (offset + length) * 2))));
+                } else if (bits.isPresent() && bits.get().size() >= offset + length) {
+                    boolean[] pollBits = new boolean[length];
+                    for (int i = 0; i < length; i++) {
+                        pollBits[i] = bits.get().getBit(offset + i);
+                    }
+                    poll.resultCallback.handle(new AsyncModbusReadResult(poll.request, new BitArray(pollBits)));
+                } else {
+                    poll.failureCallback.handle(new AsyncModbusFailure<>(poll.request, new IllegalStateException(
+                            String.format("Response to merged request %s does not cover the request", request))));
+                }
+            }
+        }
+
+        @Override
+        public void handle(AsyncModbusFailure<ModbusReadRequestBlueprint> failure) {
+            recordTransaction(failure.getCause());
+            for (CoalescedPoll poll : polls) {
+                poll.failureCallback.handle(new AsyncModbusFailure<>(poll.request, failure.getCause()));
+            }
+        }
+
+        private void recordTransaction(@Nullable Exception error) {
+            for (CoalescedPoll poll : polls) {
+                ModbusPollerMetrics metrics = poll.metrics;
+                if (metrics != null) {
+                    metrics.recordTransaction(request, error);
+                    return;
+                }
+            }
+        }
+    }
+
+    private record GroupKey(int unitId, ModbusReadFunctionCode functionCode, long pollPeriodMillis) {
+    }
+
+    private record ScheduledRead(MergedRead read, PollTask task) {
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(ModbusReadCoalescer.class);
+
+    private final ModbusCommunicationInterface comms;
+    private final int maxGap;
+    private final Map<GroupKey, List<CoalescedPoll>> polls = new HashMap<>();
+    private final Map<GroupKey, List<ScheduledRead>> scheduledReads = new HashMap<>();
+    // System.nanoTime() of the first poll of each group, the polls of a group are aligned to it
+    private final Map<GroupKey, Long> firstPollNanos = new HashMap<>();
+    private boolean closed;
+
+    /**
+     * @param comms communication interface of the endpoint
+     * @param maxGap maximum number of registers (or bits) between two polls that are merged
+     */
+    public ModbusReadCoalescer(ModbusCommunicationInterface comms, int maxGap) {
+        this.comms = comms;
+        this.maxGap = maxGap;
+    }
+
+    /**
+     * Register regularly polled task, see {@link ModbusCommunicationInterface#registerRegularPoll}
+     *
+     * @param request request to poll
+     * @param pollPeriodMillis poll interval, in milliseconds
+     * @param resultCallback callback receiving the data of the request
+     * @param failureCallback callback receiving the failures
+     * @return poll that can be unregistered
+     */
+    public CoalescedPoll registerRegularPoll(ModbusReadRequestBlueprint request, long pollPeriodMillis,
+            ModbusReadCallback resultCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+        return registerRegularPoll(request, pollPeriodMillis, resultCallback, failureCallback, null);
+    }
+
+    /**
+     * Register regularly polled task, recording the transactions to the given metrics
+     *
+     * @param request request to poll
+     * @param pollPeriodMillis poll interval, in milliseconds
+     * @param resultCallback callback receiving the data of the request
+     * @param failureCallback callback receiving the failures
+     * @param metrics metrics to record the transactions to, or <code>null</code> to not record them
+     * @return poll that can be unregistered
+     */
+    public synchronized CoalescedPoll registerRegularPoll(ModbusReadRequestBlueprint request, long pollPeriodMillis,
+            ModbusReadCallback resultCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback,
+            @Nullable ModbusPollerMetrics metrics) {
+        CoalescedPoll poll = new CoalescedPoll(request, pollPeriodMillis, resultCallback, failureCallback, metrics);
+        if (!closed) {
+            GroupKey key = groupKey(poll);
+            polls.computeIfAbsent(key, k -> new ArrayList<>()).add(poll);
+            reschedule(key);
+        }
+        return poll;
+    }
+
+    private synchronized void unregisterRegularPoll(CoalescedPoll poll) {
+        GroupKey key = groupKey(poll);
+        List<CoalescedPoll> group = polls.get(key);
+        if (closed || group == null || !group.remove(poll)) {
+            return;
+        }
+        if (group.isEmpty()) {
+            polls.remove(key);
+        }
+        reschedule(key);
+    }
+
+    /**
+     * Unregister all polls. The communication interface is expected to be closed, so the polls are not unregistered
+     * from it.
+     */
+    public synchronized void close() {
+        closed = true;
+        polls.clear();
+        scheduledReads.clear();
+        firstPollNanos.clear();
+    }
+
+    private void reschedule(GroupKey key) {
+        List<CoalescedPoll> group = polls.get(key);
+        List<MergedRead> reads = group == null ? List.of() : merge(group, maxGap);
+        List<ScheduledRead> oldReads = scheduledReads.getOrDefault(key, List.of());
+        List<ScheduledRead> newReads = new ArrayList<>();
+        for (ScheduledRead scheduledRead : oldReads) {
+            if (reads.stream().anyMatch(read -> samePolls(read, scheduledRead.read()))) {
+                newReads.add(scheduledRead);
+            } else {
+                comms.unregisterRegularPoll(scheduledRead.task());
+            }
+        }
+        if (reads.isEmpty()) {
+            scheduledReads.remove(key);
+            firstPollNanos.remove(key);
+            return;
+        }
+        long initialDelay = initialDelay(key);
+        for (MergedRead read : reads) {
+            if (newReads.stream().noneMatch(scheduledRead -> samePolls(read, scheduledRead.read()))) {
+                logger.debug("Polling {} with a single request {}", read.getPolls().size(), read.getRequest());
+                PollTask task = comms.registerRegularPoll(read.getRequest(), key.pollPeriodMillis(), initialDelay,
+                        read, read);
+                newReads.add(new ScheduledRead(read, task));
+            }
+        }
+        scheduledReads.put(key, newReads);
+    }
+
+    /**
+     * Get the delay until the next poll of a group, the first poll of a new group is executed immediately
+     */
+    private long initialDelay(GroupKey key) {
+        Long first = firstPollNanos.get(key);
+        if (first == null) {
+            firstPollNanos.put(key, System.nanoTime());
+            return 0;
+        }
+        long periodNanos = TimeUnit.MILLISECONDS.toNanos(key.pollPeriodMillis());
+        if (periodNanos <= 0) {
+            return 0;
+        }
+        long elapsedNanos = System.nanoTime() - first;
+        return TimeUnit.NANOSECONDS.toMillis(periodNanos - elapsedNanos % periodNanos);
+    }
+
+    /**
+     * Merged reads of the same polls use the same request, so the request does not need to be compared
+     */
+    private static boolean samePolls(MergedRead read, MergedRead other) {
+        return read.getPolls().equals(other.getPolls());
+    }
+
+    private GroupKey groupKey(CoalescedPoll poll) {
+        return new GroupKey(poll.request.getUnitID(), poll.request.getFunctionCode(), poll.pollPeriodMillis);
+    }
+
+    /**
+     * Merge polls of the same unit id, function code and poll period
+     *
+     * @param group polls to merge
+     * @param maxGap maximum number of registers (or bits) between two polls that are merged
+     * @return merged reads, covering all polls
+     */
+    static List<MergedRead> merge(List<CoalescedPoll> group, int maxGap) {
+        List<CoalescedPoll> sorted = new ArrayList<>(group);
+        sorted.sort(Comparator.comparingInt(CoalescedPoll::getStart));
+        ModbusReadFunctionCode functionCode = sorted.get(0).request.getFunctionCode();
+        int maxLength = functionCode == ModbusReadFunctionCode.READ_COILS
+                || functionCode == ModbusReadFunctionCode.READ_INPUT_DISCRETES ? ModbusConstants.MAX_BITS_READ_COUNT
+                        : ModbusConstants.MAX_REGISTERS_READ_COUNT;
+
+        List<MergedRead> reads = new ArrayList<>();
+        List<CoalescedPoll> current = new ArrayList<>();
+        int start = 0;
+        int end = 0;
+        for (CoalescedPoll poll : sorted) {
+            if (!current.isEmpty() && poll.getStart() - end <= maxGap
+                    && Math.max(end, poll.getEnd()) - start <= maxLength) {
+                current.add(poll);
+                end = Math.max(end, poll.getEnd());
+            } else {
+                if (!current.isEmpty()) {
+                    reads.add(createRead(current, start, end));
+                }
+                current = new ArrayList<>();
+                current.add(poll);
+                start = poll.getStart();
+                end = poll.getEnd();
+            }
+        }
+        reads.add(createRead(current, start, end));
+        return reads;
+    }
+
+    private static MergedRead createRead(List<CoalescedPoll> polls, int start, int end) {
+        ModbusReadRequestBlueprint first = polls.get(0).request;
+        if (polls.size() == 1) {
+            return new MergedRead(first, polls);
+        }
+        int maxTries = polls.stream().mapToInt(poll -> poll.request.getMaxTries()).max().orElse(1);
+        return new MergedRead(new ModbusReadRequestBlueprint(first.getUnitID(), first.getFunctionCode(), start,
+                end - start, maxTries), polls);
+    }
+}
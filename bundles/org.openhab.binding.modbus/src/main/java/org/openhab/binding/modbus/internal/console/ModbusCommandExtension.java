@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal.console;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.modbus.internal.ModbusMetrics;
+import org.openhab.binding.modbus.internal.ModbusPollerMetrics;
+import org.openhab.binding.modbus.internal.ModbusPollerMetrics.Statistic;
+import org.openhab.core.io.console.Console;
+import org.openhab.core.io.console.extensions.AbstractConsoleCommandExtension;
+import org.openhab.core.io.console.extensions.ConsoleCommandExtension;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * The {@link ModbusCommandExtension} is responsible for handling console commands
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = ConsoleCommandExtension.class)
+public class ModbusCommandExtension extends AbstractConsoleCommandExtension {
+
+    private static final String METRICS = "metrics";
+
+    private final ModbusMetrics metrics;
+
+    @Activate
+    public ModbusCommandExtension(final @Reference ModbusMetrics metrics) {
+        super("modbus", "Interact with the Modbus binding");
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        if (args.length == 1 && METRICS.equals(args[0])) {
+            printMetrics(console);
+        } else {
+            printUsage(console);
+        }
+    }
+
+    private void printMetrics(Console console) {
+        Map<String, List<ModbusPollerMetrics>> endpoints = metrics.getPollerMetrics().stream()
+                .collect(Collectors.groupingBy(ModbusPollerMetrics::getEndpoint, TreeMap::new, Collectors.toList()));
+        if (endpoints.isEmpty()) {
+            console.println("No pollers initialized");
+            return;
+        }
+        endpoints.forEach((endpoint, pollers) -> {
+            console.printf("%s: %.2f transactions/s, %d responses, %d failures, %d bytes sent, %d bytes received%n",
+                    endpoint, pollers.stream().mapToDouble(ModbusPollerMetrics::getTransactionRate).sum(),
+                    pollers.stream().mapToLong(ModbusPollerMetrics::getResponses).sum(),
+                    pollers.stream().mapToLong(ModbusPollerMetrics::getFailures).sum(),
+                    pollers.stream().mapToLong(ModbusPollerMetrics::getBytesSent).sum(),
+                    pollers.stream().mapToLong(ModbusPollerMetrics::getBytesReceived).sum());
+            pollers.forEach(poller -> printPoller(console, poller));
+        });
+    }
+
+    private void printPoller(Console console, ModbusPollerMetrics poller) {
+        console.printf("  %s (refresh %d ms): %.2f transactions/s, %d responses, %d failures %s%n", poller.getPoller(),
+                poller.getRefreshMillis(), poller.getTransactionRate(), poller.getResponses(), poller.getFailures(),
+                poller.getErrors());
+        Statistic interval = poller.getInterval();
+        Statistic delay = poller.getDelay();
+        Statistic oneTimeReads = poller.getOneTimeReads();
+        console.printf("    poll interval: mean %d ms, max %d ms; waited beyond refresh: mean %d ms, max %d ms%n",
+                interval.getMeanMillis(), interval.getMaxMillis(), delay.getMeanMillis(), delay.getMaxMillis());
+        console.printf("    one-time reads: %d, mean %d ms, max %d ms%n", oneTimeReads.getCount(),
+                oneTimeReads.getMeanMillis(), oneTimeReads.getMaxMillis());
+        console.printf("    %d bytes sent, %d bytes received%n", poller.getBytesSent(), poller.getBytesReceived());
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return List.of(buildCommandUsage(METRICS, "show the transaction statistics of the endpoints and pollers"));
+    }
+}
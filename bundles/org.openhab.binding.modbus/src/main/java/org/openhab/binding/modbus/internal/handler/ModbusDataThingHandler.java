@@ -17,6 +17,7 @@ import static org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal
 import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -76,7 +77,6 @@ import org.openhab.core.thing.binding.ThingHandlerCallback;
 import org.openhab.core.types.Command;
 import org.openhab.core.types.RefreshType;
 import org.openhab.core.types.State;
-import org.openhab.core.types.UnDefType;
 import org.openhab.core.util.HexUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -95,6 +95,27 @@ import org.slf4j.LoggerFactory;
 @NonNullByDefault
 public class ModbusDataThingHandler extends BaseThingHandler {
 
+    /**
+     * Linked channel that is updated with the polled value
+     */
+    private static class ReadChannel {
+        private final String channelId;
+        private final ChannelUID uid;
+        private final List<Class<? extends State>> acceptedDataTypes;
+        // states for true and false with boolean like channels, otherwise null
+        private final @Nullable State trueState;
+        private final @Nullable State falseState;
+
+        private ReadChannel(String channelId, ChannelUID uid, List<Class<? extends State>> acceptedDataTypes,
+                @Nullable State trueState, @Nullable State falseState) {
+            this.channelId = channelId;
+            this.uid = uid;
+            this.acceptedDataTypes = acceptedDataTypes;
+            this.trueState = trueState;
+            this.falseState = falseState;
+        }
+    }
+
     private final Logger logger = LoggerFactory.getLogger(ModbusDataThingHandler.class);
 
     private static final Duration MIN_STATUS_INFO_UPDATE_INTERVAL = Duration.ofSeconds(1);
@@ -126,6 +147,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
     private volatile @Nullable ValueType readValueType;
     private volatile @Nullable ValueType writeValueType;
     private volatile @Nullable ModbusTransformation readTransformation;
+    private volatile @Nullable ReadValueExtractor readValueExtractor;
     private volatile @Nullable ModbusTransformation writeTransformation;
     private volatile Optional<Integer> readIndex = Optional.empty();
     private volatile Optional<Integer> readSubIndex = Optional.empty();
@@ -145,6 +167,10 @@ public class ModbusDataThingHandler extends BaseThingHandler {
     private volatile Map<String, ChannelUID> channelCache = new HashMap<>();
     private volatile Map<ChannelUID, Long> channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
     private volatile Map<ChannelUID, State> channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+    private volatile @Nullable List<ReadChannel> linkedReadChannels;
+    // polled value that was last processed, and the time until its states do not need to be updated
+    private volatile @Nullable State lastPolledState;
+    private volatile long lastPolledStateValidUntilMillis;
 
     private volatile LocalDateTime lastStatusInfoUpdate = LocalDateTime.MIN;
     private volatile ThingStatusInfo statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE,
@@ -462,6 +488,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         writeValueType = null;
         readTransformation = null;
         writeTransformation = null;
+        readValueExtractor = null;
         readIndex = Optional.empty();
         readSubIndex = Optional.empty();
         writeStart = Optional.empty();
@@ -481,6 +508,28 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE, null);
         channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
         channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+        linkedReadChannels = null;
+        lastPolledState = null;
+        lastPolledStateValidUntilMillis = 0;
+    }
+
+    @Override
+    public synchronized void channelLinked(ChannelUID channelUID) {
+        super.channelLinked(channelUID);
+        resetLinkedReadChannels(channelUID);
+    }
+
+    @Override
+    public synchronized void channelUnlinked(ChannelUID channelUID) {
+        super.channelUnlinked(channelUID);
+        resetLinkedReadChannels(channelUID);
+    }
+
+    private void resetLinkedReadChannels(ChannelUID channelUID) {
+        linkedReadChannels = null;
+        lastPolledState = null;
+        channelLastState.remove(channelUID);
+        channelLastUpdated.remove(channelUID);
     }
 
     @Override
@@ -573,6 +622,14 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         }
         readTransformation = new ModbusTransformation(config.getReadTransform());
         validateReadIndex();
+
+        ValueType readValueType = this.readValueType;
+        if (isReadEnabled && readValueType != null && readIndex.isPresent()) {
+            readValueExtractor = new ReadValueExtractor(readValueType, readIndex.get(), readSubIndex.orElse(0),
+                    pollStart);
+        } else {
+            readValueExtractor = null;
+        }
     }
 
     private void validateAndParseWriteParameters(ModbusDataConfiguration config) throws ModbusConfigurationException {
@@ -811,39 +868,19 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         } else if (!isReadEnabled) {
             return;
         }
-        ValueType readValueType = this.readValueType;
-        if (readValueType == null) {
+        ReadValueExtractor readValueExtractor = this.readValueExtractor;
+        if (readValueExtractor == null) {
             return;
         }
-        State numericState;
-
-        // extractIndex:
-        // e.g. with bit, extractIndex=4 means 5th bit (from right) ("10.4" -> 5th bit of register 10, "10.4" -> 5th bit
-        // of register 10)
-        // bit of second register)
-        // e.g. with 8bit integer, extractIndex=3 means high byte of second register
-        //
-        // with <16 bit types, this is the index of the N'th 1-bit/8-bit item. Each register has 16/2 items,
-        // respectively.
-        // with >=16 bit types, this is index of first register
-        int extractIndex;
-        if (readValueType.getBits() >= 16) {
-            // Invariant, checked in initialize
-            assert readSubIndex.orElse(0) == 0;
-            extractIndex = readIndex.get() - pollStart;
-        } else {
-            int subIndex = readSubIndex.orElse(0);
-            int itemsPerRegister = 16 / readValueType.getBits();
-            extractIndex = (readIndex.get() - pollStart) * itemsPerRegister + subIndex;
-        }
-        numericState = ModbusBitUtilities.extractStateFromRegisters(registers, extractIndex, readValueType)
-                .map(state -> (State) state).orElse(UnDefType.UNDEF);
+        State numericState = readValueExtractor.extractState(registers);
         boolean boolValue = !numericState.equals(DecimalType.ZERO);
         Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
-        logger.debug(
-                "Thing {} channels updated: {}. readValueType={}, readIndex={}, readSubIndex(or 0)={}, extractIndex={} -> numeric value {} and boolValue={}. Registers {} for request {}",
-                thing.getUID(), values, readValueType, readIndex, readSubIndex.orElse(0), extractIndex, numericState,
-                boolValue, registers, request);
+        if (logger.isDebugEnabled()) {
+            logger.debug(
+                    "Thing {} channels updated: {}. readValueType={}, readIndex={}, readSubIndex(or 0)={}, extractIndex={} -> numeric value {} and boolValue={}. Registers {} for request {}",
+                    thing.getUID(), values, readValueType, readIndex, readSubIndex.orElse(0),
+                    readValueExtractor.getExtractIndex(), numericState, boolValue, registers, request);
+        }
     }
 
     private synchronized void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
@@ -852,12 +889,18 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         } else if (!isReadEnabled) {
             return;
         }
-        boolean boolValue = bits.getBit(readIndex.get() - pollStart);
+        ReadValueExtractor readValueExtractor = this.readValueExtractor;
+        if (readValueExtractor == null) {
+            return;
+        }
+        boolean boolValue = readValueExtractor.extractBit(bits);
         DecimalType numericState = boolValue ? new DecimalType(BigDecimal.ONE) : DecimalType.ZERO;
         Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
-        logger.debug(
-                "Thing {} channels updated: {}. readValueType={}, readIndex={} -> numeric value {} and boolValue={}. Bits {} for request {}",
-                thing.getUID(), values, readValueType, readIndex, numericState, boolValue, bits, request);
+        if (logger.isDebugEnabled()) {
+            logger.debug(
+                    "Thing {} channels updated: {}. readValueType={}, readIndex={} -> numeric value {} and boolValue={}. Bits {} for request {}",
+                    thing.getUID(), values, readValueType, readIndex, numericState, boolValue, bits, request);
+        }
     }
 
     private synchronized void onError(ModbusReadRequestBlueprint request, Exception error) {
@@ -949,6 +992,9 @@ public class ModbusDataThingHandler extends BaseThingHandler {
     /**
      * Update linked channels
      *
+     * The transformation is skipped if the polled value is the same as previously, and all channels have been
+     * updated within updateUnchangedValuesEveryMillis. In this case, the channels would not be updated anyway.
+     *
      * @param numericState numeric state corresponding to polled data (or UNDEF with floating point NaN or infinity)
      * @param boolValue boolean value corresponding to polled data
      * @return updated channel data
@@ -960,75 +1006,104 @@ public class ModbusDataThingHandler extends BaseThingHandler {
             logger.trace("No transformation available, aborting processUpdatedValue");
             return Collections.emptyMap();
         }
+        long now = System.currentTimeMillis();
         Map<ChannelUID, State> states = new HashMap<>();
-        CHANNEL_ID_TO_ACCEPTED_TYPES.keySet().stream().forEach(channelId -> {
-            ChannelUID channelUID = getChannelUID(channelId);
-            if (!isLinked(channelUID)) {
-                return;
-            }
-            List<Class<? extends State>> acceptedDataTypes = CHANNEL_ID_TO_ACCEPTED_TYPES.get(channelId);
-            if (acceptedDataTypes.isEmpty()) {
-                return;
+        if (updateUnchangedValuesEveryMillis > 0L && numericState.equals(lastPolledState)
+                && now <= lastPolledStateValidUntilMillis) {
+            logger.trace("Polled value {} has not changed, channels are up to date", numericState);
+        } else {
+            for (ReadChannel channel : getLinkedReadChannels()) {
+                State transformedState = transformReadState(localReadTransformation, channel, numericState,
+                        boolValue);
+                if (transformedState != null) {
+                    states.put(channel.uid, transformedState);
+                }
             }
+        }
 
-            State boolLikeState;
-            if (containsOnOff(acceptedDataTypes)) {
-                boolLikeState = OnOffType.from(boolValue);
-            } else if (containsOpenClosed(acceptedDataTypes)) {
-                boolLikeState = boolValue ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
-            } else {
-                boolLikeState = null;
-            }
+        ChannelUID lastReadSuccessUID = getChannelUID(ModbusBindingConstantsInternal.CHANNEL_LAST_READ_SUCCESS);
+        if (isLinked(lastReadSuccessUID)) {
+            states.put(lastReadSuccessUID, new DateTimeType());
+        }
+        updateExpiredChannels(now, states);
 
-            State transformedState;
-            if (localReadTransformation.isIdentityTransform()) {
-                if (boolLikeState != null) {
-                    // A bit of smartness for ON/OFF and OPEN/CLOSED with boolean like items
-                    transformedState = boolLikeState;
-                } else {
-                    // Numeric states always go through transformation. This allows value of 17.5 to be
-                    // converted to
-                    // 17.5% with percent types (instead of raising error)
-                    transformedState = localReadTransformation.transformState(acceptedDataTypes, numericState);
-                }
-            } else {
-                transformedState = localReadTransformation.transformState(acceptedDataTypes, numericState);
+        if (!numericState.equals(lastPolledState) || now > lastPolledStateValidUntilMillis) {
+            // channels that are not updated within this period need to be updated, even if the value does not change
+            long oldestUpdateMillis = now;
+            for (ReadChannel channel : getLinkedReadChannels()) {
+                oldestUpdateMillis = Math.min(oldestUpdateMillis, channelLastUpdated.getOrDefault(channel.uid, 0L));
             }
+            lastPolledState = numericState;
+            lastPolledStateValidUntilMillis = oldestUpdateMillis + updateUnchangedValuesEveryMillis;
+        }
+        return states;
+    }
 
-            if (transformedState != null) {
-                if (logger.isTraceEnabled()) {
-                    logger.trace(
-                            "Channel {} will be updated to '{}' (type {}). Input data: number value {} (value type '{}' taken into account) and bool value {}. Transformation: {}",
-                            channelId, transformedState, transformedState.getClass().getSimpleName(), numericState,
-                            readValueType, boolValue,
-                            localReadTransformation.isIdentityTransform() ? "<identity>" : localReadTransformation);
-                }
-                states.put(channelUID, transformedState);
-            } else {
-                String types = String.join(", ",
-                        acceptedDataTypes.stream().map(cls -> cls.getSimpleName()).toArray(String[]::new));
-                logger.warn(
-                        "Channel {} will not be updated since transformation was unsuccessful. Channel is expecting the following data types [{}]. Input data: number value {} (value type '{}' taken into account) and bool value {}. Transformation: {}",
-                        channelId, types, numericState, readValueType, boolValue,
+    private @Nullable State transformReadState(ModbusTransformation localReadTransformation, ReadChannel channel,
+            State numericState, boolean boolValue) {
+        State transformedState;
+        if (localReadTransformation.isIdentityTransform() && channel.trueState != null) {
+            // A bit of smartness for ON/OFF and OPEN/CLOSED with boolean like items
+            transformedState = boolValue ? channel.trueState : channel.falseState;
+        } else {
+            // Numeric states always go through transformation. This allows value of 17.5 to be
+            // converted to 17.5% with percent types (instead of raising error)
+            transformedState = localReadTransformation.transformState(channel.acceptedDataTypes, numericState);
+        }
+
+        if (transformedState != null) {
+            if (logger.isTraceEnabled()) {
+                logger.trace(
+                        "Channel {} will be updated to '{}' (type {}). Input data: number value {} (value type '{}' taken into account) and bool value {}. Transformation: {}",
+                        channel.channelId, transformedState, transformedState.getClass().getSimpleName(),
+                        numericState, readValueType, boolValue,
                         localReadTransformation.isIdentityTransform() ? "<identity>" : localReadTransformation);
             }
-        });
+        } else {
+            String types = String.join(", ",
+                    channel.acceptedDataTypes.stream().map(cls -> cls.getSimpleName()).toArray(String[]::new));
+            logger.warn(
+                    "Channel {} will not be updated since transformation was unsuccessful. Channel is expecting the following data types [{}]. Input data: number value {} (value type '{}' taken into account) and bool value {}. Transformation: {}",
+                    channel.channelId, types, numericState, readValueType, boolValue,
+                    localReadTransformation.isIdentityTransform() ? "<identity>" : localReadTransformation);
+        }
+        return transformedState;
+    }
 
-        ChannelUID lastReadSuccessUID = getChannelUID(ModbusBindingConstantsInternal.CHANNEL_LAST_READ_SUCCESS);
-        if (isLinked(lastReadSuccessUID)) {
-            states.put(lastReadSuccessUID, new DateTimeType());
+    /**
+     * Get the linked data channels, determined once after the links have changed
+     */
+    private List<ReadChannel> getLinkedReadChannels() {
+        List<ReadChannel> channels = linkedReadChannels;
+        if (channels == null) {
+            channels = new ArrayList<>();
+            for (Map.Entry<String, List<Class<? extends State>>> entry : CHANNEL_ID_TO_ACCEPTED_TYPES.entrySet()) {
+                ChannelUID channelUID = getChannelUID(entry.getKey());
+                List<Class<? extends State>> acceptedDataTypes = entry.getValue();
+                if (!isLinked(channelUID) || acceptedDataTypes.isEmpty()) {
+                    continue;
+                }
+                if (containsOnOff(acceptedDataTypes)) {
+                    channels.add(new ReadChannel(entry.getKey(), channelUID, acceptedDataTypes, OnOffType.ON,
+                            OnOffType.OFF));
+                } else if (containsOpenClosed(acceptedDataTypes)) {
+                    channels.add(new ReadChannel(entry.getKey(), channelUID, acceptedDataTypes, OpenClosedType.OPEN,
+                            OpenClosedType.CLOSED));
+                } else {
+                    channels.add(new ReadChannel(entry.getKey(), channelUID, acceptedDataTypes, null, null));
+                }
+            }
+            linkedReadChannels = channels;
         }
-        updateExpiredChannels(states);
-        return states;
+        return channels;
     }
 
-    private void updateExpiredChannels(Map<ChannelUID, State> states) {
+    private void updateExpiredChannels(long now, Map<ChannelUID, State> states) {
         synchronized (this) {
             updateStatusIfChanged(ThingStatus.ONLINE);
-            long now = System.currentTimeMillis();
             // Update channels that have not been updated in a while, or when their values has changed
             states.forEach((uid, state) -> updateExpiredChannel(now, uid, state));
-            channelLastState = states;
+            channelLastState.putAll(states);
         }
     }
 
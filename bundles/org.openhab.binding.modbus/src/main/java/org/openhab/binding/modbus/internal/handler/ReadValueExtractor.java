@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal.handler;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.io.transport.modbus.BitArray;
+import org.openhab.core.io.transport.modbus.ModbusBitUtilities;
+import org.openhab.core.io.transport.modbus.ModbusConstants.ValueType;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.types.State;
+import org.openhab.core.types.UnDefType;
+
+/**
+ * Extracts the value read by a data thing from the polled data.
+ *
+ * The position of the value within the polled data is calculated once, when the data thing is initialized. Integer
+ * value types of up to 32 bits are decoded directly from the registers, other value types are decoded using
+ * {@link ModbusBitUtilities}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class ReadValueExtractor {
+
+    private final ValueType valueType;
+    private final int extractIndex;
+    private final int bitIndex;
+
+    /**
+     * @param valueType value type to read
+     * @param readIndex index of the first register (or bit) of the value
+     * @param readSubIndex index of the value within the register, with value types smaller than 16 bits
+     * @param pollStart index of the first polled register (or bit)
+     */
+    ReadValueExtractor(ValueType valueType, int readIndex, int readSubIndex, int pollStart) {
+        this.valueType = valueType;
+        // extractIndex:
+        // with <16 bit types, this is the index of the N'th 1-bit/8-bit item. Each register has 16/8 items,
+        // respectively. E.g. with 8bit integer, extractIndex=3 means high byte of second register
+        // with >=16 bit types, this is index of first register
+        if (valueType.getBits() >= 16) {
+            extractIndex = readIndex - pollStart;
+        } else {
+            extractIndex = (readIndex - pollStart) * (16 / valueType.getBits()) + readSubIndex;
+        }
+        bitIndex = readIndex - pollStart;
+    }
+
+    int getExtractIndex() {
+        return extractIndex;
+    }
+
+    /**
+     * Extract the value from polled registers
+     *
+     * @param registers polled registers
+     * @return the value, or {@link UnDefType#UNDEF} with floating point NaN or infinity
+     */
+    State extractState(ModbusRegisterArray registers) {
+        switch (valueType) {
+            case BIT:
+                return decimal((registers.getRegister(extractIndex / 16) >>> (extractIndex % 16)) & 1);
+            case INT8:
+                return decimal((byte) extractByte(registers));
+            case UINT8:
+                return decimal(extractByte(registers));
+            case INT16:
+                return decimal((short) registers.getRegister(extractIndex));
+            case UINT16:
+                return decimal(registers.getRegister(extractIndex));
+            case INT32:
+                return decimal(extractInt32(registers, extractIndex, extractIndex + 1));
+            case UINT32:
+                return decimal(Integer.toUnsignedLong(extractInt32(registers, extractIndex, extractIndex + 1)));
+            case INT32_SWAP:
+                return decimal(extractInt32(registers, extractIndex + 1, extractIndex));
+            case UINT32_SWAP:
+                return decimal(Integer.toUnsignedLong(extractInt32(registers, extractIndex + 1, extractIndex)));
+            default:
+                return ModbusBitUtilities.extractStateFromRegisters(registers, extractIndex, valueType)
+                        .map(state -> (State) state).orElse(UnDefType.UNDEF);
+        }
+    }
+
+    /**
+     * Extract the value from polled coils or discrete inputs
+     *
+     * @param bits polled bits
+     * @return the value
+     */
+    boolean extractBit(BitArray bits) {
+        return bits.getBit(bitIndex);
+    }
+
+    private int extractByte(ModbusRegisterArray registers) {
+        int register = registers.getRegister(extractIndex / 2);
+        // index Y=0 refers to low byte, Y=1 to high byte
+        return extractIndex % 2 == 0 ? register & 0xff : register >>> 8;
+    }
+
+    private static int extractInt32(ModbusRegisterArray registers, int hiIndex, int loIndex) {
+        return (registers.getRegister(hiIndex) << 16) | registers.getRegister(loIndex);
+    }
+
+    private static State decimal(long value) {
+        return value == 0 ? DecimalType.ZERO : new DecimalType(value);
+    }
+}
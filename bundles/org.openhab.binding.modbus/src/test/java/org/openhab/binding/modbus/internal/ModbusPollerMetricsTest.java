@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.openhab.core.io.transport.modbus.exception.ModbusConnectionException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusPollerMetricsTest {
+
+    private static final ModbusReadRequestBlueprint REGISTERS = new ModbusReadRequestBlueprint(1,
+            ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 10, 3);
+    private static final ModbusReadRequestBlueprint COILS = new ModbusReadRequestBlueprint(1,
+            ModbusReadFunctionCode.READ_COILS, 0, 10, 3);
+
+    @Test
+    public void testBytes() {
+        ModbusPollerMetrics metrics = new ModbusPollerMetrics("modbus:tcp:e", "modbus:poller:e:p", 1000);
+        metrics.recordPollResponse(REGISTERS);
+        metrics.recordTransaction(REGISTERS, null);
+        metrics.recordOneTimeResponse(COILS, TimeUnit.MILLISECONDS.toNanos(20));
+        metrics.recordFailure(new IOException());
+        metrics.recordTransaction(REGISTERS, new IOException());
+
+        assertEquals(2, metrics.getResponses());
+        assertEquals(1, metrics.getFailures());
+        assertEquals(3, metrics.getTransactions());
+        assertEquals(15, metrics.getBytesSent());
+        // 2 + 20 bytes of registers, 2 + 2 bytes of coils
+        assertEquals(26, metrics.getBytesReceived());
+        assertEquals(1, metrics.getOneTimeReads().getCount());
+        assertEquals(20, metrics.getOneTimeReads().getMaxMillis());
+    }
+
+    @Test
+    public void testRequestIsNotCountedWithoutConnection() {
+        ModbusPollerMetrics metrics = new ModbusPollerMetrics("modbus:tcp:e", "modbus:poller:e:p", 1000);
+        Exception error = new ModbusConnectionException(mock(ModbusSlaveEndpoint.class));
+        metrics.recordFailure(error);
+        metrics.recordTransaction(REGISTERS, error);
+
+        assertEquals(1, metrics.getFailures());
+        assertEquals(0, metrics.getTransactions());
+        assertEquals(0, metrics.getBytesSent());
+    }
+
+    @Test
+    public void testErrorTypes() {
+        ModbusPollerMetrics metrics = new ModbusPollerMetrics("modbus:tcp:e", "modbus:poller:e:p", 1000);
+        metrics.recordFailure(new IOException(new SocketTimeoutException()));
+        metrics.recordFailure(new SocketTimeoutException());
+        metrics.recordFailure(new IllegalStateException());
+
+        assertEquals(Map.of("timeout", 2L, "IllegalStateException", 1L), metrics.getErrors());
+    }
+
+    @Test
+    public void testPollInterval() {
+        ModbusPollerMetrics metrics = new ModbusPollerMetrics("modbus:tcp:e", "modbus:poller:e:p", 0);
+        metrics.recordPollResponse(REGISTERS);
+        assertEquals(0, metrics.getInterval().getCount());
+        metrics.recordPollResponse(REGISTERS);
+        assertEquals(1, metrics.getInterval().getCount());
+        assertEquals(1, metrics.getDelay().getCount());
+    }
+
+    @Test
+    public void testMeters() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        ModbusPollerMetrics metrics = new ModbusPollerMetrics("modbus:tcp:e", "modbus:poller:e:p", 1000);
+        metrics.recordPollResponse(REGISTERS);
+        metrics.bind(registry);
+        metrics.recordPollResponse(REGISTERS);
+        metrics.recordTransaction(REGISTERS, null);
+        metrics.recordFailure(new IllegalStateException());
+
+        assertEquals(1, registry.get("openhab.binding.modbus.responses").tag("poller", "modbus:poller:e:p").counter()
+                .count());
+        assertEquals(1, registry.get("openhab.binding.modbus.poll.interval").timer().count());
+        assertEquals(1, registry.get("openhab.binding.modbus.failures").tag("error", "IllegalStateException")
+                .counter().count());
+        assertEquals(5, registry.get("openhab.binding.modbus.bytes.sent").counter().count());
+
+        metrics.unbind();
+        assertTrue(registry.getMeters().isEmpty());
+    }
+}
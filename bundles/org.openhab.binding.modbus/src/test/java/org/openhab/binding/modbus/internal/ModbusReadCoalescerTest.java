@@ -0,0 +1,258 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.modbus.internal.ModbusReadCoalescer.CoalescedPoll;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.BitArray;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.PollTask;
+
+/**
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusReadCoalescerTest {
+
+    private static class RecordingCallback
+            implements ModbusReadCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> {
+        private final List<AsyncModbusReadResult> results = new ArrayList<>();
+        private final List<AsyncModbusFailure<ModbusReadRequestBlueprint>> failures = new ArrayList<>();
+
+        @Override
+        public void handle(AsyncModbusReadResult result) {
+            results.add(result);
+        }
+
+        @Override
+        public void handle(AsyncModbusFailure<ModbusReadRequestBlueprint> failure) {
+            failures.add(failure);
+        }
+    }
+
+    private @NonNullByDefault({}) ModbusCommunicationInterface comms;
+    private final List<PollTask> registeredTasks = new ArrayList<>();
+    private final List<ModbusReadRequestBlueprint> registeredRequests = new ArrayList<>();
+    private final List<ModbusReadCallback> registeredCallbacks = new ArrayList<>();
+    private final List<ModbusFailureCallback<ModbusReadRequestBlueprint>> failureCallbacks = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        comms = mock(ModbusCommunicationInterface.class);
+        when(comms.registerRegularPoll(any(), anyLong(), anyLong(), any(), any())).thenAnswer(invocation -> {
+            PollTask task = mock(PollTask.class);
+            registeredTasks.add(task);
+            registeredRequests.add(invocation.getArgument(0));
+            registeredCallbacks.add(invocation.getArgument(3));
+            failureCallbacks.add(invocation.getArgument(4));
+            return task;
+        });
+        when(comms.unregisterRegularPoll(any())).thenAnswer(invocation -> {
+            int index = registeredTasks.indexOf(invocation.getArgument(0));
+            registeredTasks.remove(index);
+            registeredRequests.remove(index);
+            registeredCallbacks.remove(index);
+            failureCallbacks.remove(index);
+            return true;
+        });
+    }
+
+    private static ModbusReadRequestBlueprint request(ModbusReadFunctionCode functionCode, int start, int length) {
+        return new ModbusReadRequestBlueprint(1, functionCode, start, length, 3);
+    }
+
+    private CoalescedPoll register(ModbusReadCoalescer coalescer, ModbusReadRequestBlueprint request,
+            RecordingCallback callback) {
+        return coalescer.registerRegularPoll(request, 1000, callback, callback);
+    }
+
+    @Test
+    public void testAdjacentAndNearbyRegistersAreMerged() {
+        ModbusReadCoalescer coalescer = new ModbusReadCoalescer(comms, 6);
+        RecordingCallback first = new RecordingCallback();
+        RecordingCallback second = new RecordingCallback();
+        RecordingCallback third = new RecordingCallback();
+        register(coalescer, request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 2, 2), second);
+        register(coalescer, request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 2), first);
+        register(coalescer, request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 10, 2), third);
+
+        assertEquals(1, registeredRequests.size());
+        ModbusReadRequestBlueprint merged = registeredRequests.get(0);
+        assertEquals(0, merged.getReference());
+        assertEquals(12, merged.getDataLength());
+        assertEquals(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, merged.getFunctionCode());
+
+        registeredCallbacks.get(0).handle(new AsyncModbusReadResult(merged,
+                new ModbusRegisterArray(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11)));
+
+        assertEquals(new ModbusRegisterArray(0, 1), first.results.get(0).getRegisters().get());
+        assertEquals(new ModbusRegisterArray(2, 3), second.results.get(0).getRegisters().get());
+        assertEquals(new ModbusRegisterArray(10, 11), third.results.get(0).getRegisters().get());
+        assertEquals(10, third.results.get(0).getRequest().getReference());
+    }
+
+    @Test
+    public void testGapIsRespected() {
+        ModbusReadCoalescer coalescer = new ModbusReadCoalescer(comms, 0);
+        register(coalescer, request(ModbusReadFunctionCode.READ_INPUT_REGISTERS, 0, 2), new RecordingCallback());
+        register(coalescer, request(ModbusReadFunctionCode.READ_INPUT_REGISTERS, 2, 2), new RecordingCallback());
+        register(coalescer, request(ModbusReadFunctionCode.READ_INPUT_REGISTERS, 5, 2), new RecordingCallback());
+
+        assertEquals(2, registeredRequests.size());
+        assertEquals(4, registeredRequests.get(0).getDataLength());
+        assertEquals(5, registeredRequests.get(1).getReference());
+    }
+
+    @Test
+    public void testProtocolLimitIsRespected() {
+        ModbusReadCoalescer coalescer = new ModbusReadCoalescer(comms, 10);
+        register(coalescer, request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 100), new RecordingCallback());
+        register(coalescer, request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 100, 30), new RecordingCallback());
+
+        assertEquals(2, registeredRequests.size());
+    }
+
+    @Test
+    public void testDifferentFunctionCodesAreNotMerged() {
+        ModbusReadCoalescer coalescer = new ModbusReadCoalescer(comms, 10);
+        register(coalescer, request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 2), new RecordingCallback());
+        register(coalescer, request(ModbusReadFunctionCode.READ_INPUT_REGISTERS, 2, 2), new RecordingCallback());
+
+        assertEquals(2, registeredRequests.size());
+    }
+
+    @Test
+    public void testBitsAreSplit() {
+        ModbusReadCoalescer coalescer = new ModbusReadCoalescer(comms, 0);
+        RecordingCallback first = new RecordingCallback();
+        RecordingCallback second = new RecordingCallback();
+        register(coalescer, request(ModbusReadFunctionCode.READ_COILS, 0, 2), first);
+        register(coalescer, request(ModbusReadFunctionCode.READ_COILS, 2, 3), second);
+
+        assertEquals(1, registeredRequests.size());
+        registeredCallbacks.get(0).handle(
+                new AsyncModbusReadResult(registeredRequests.get(0), new BitArray(true, false, false, true, true)));
+
+        BitArray firstBits = first.results.get(0).getBits().get();
+        assertEquals(2, firstBits.size());
+        assertTrue(firstBits.getBit(0));
+        assertFalse(firstBits.getBit(1));
+        BitArray secondBits = second.results.get(0).getBits().get();
+        assertEquals(3, secondBits.size());
+        assertFalse(secondBits.getBit(0));
+        assertTrue(secondBits.getBit(1));
+        assertTrue(secondBits.getBit(2));
+    }
+
+    @Test
+    public void testFailureIsDeliveredToAllPolls() {
+        ModbusReadCoalescer coalescer = new ModbusReadCoalescer(comms, 0);
+        RecordingCallback first = new RecordingCallback();
+        RecordingCallback second = new RecordingCallback();
+        ModbusReadRequestBlueprint firstRequest = request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 2);
+        register(coalescer, firstRequest, first);
+        register(coalescer, request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 2, 2), second);
+
+        Exception error = new Exception("timeout");
+        failureCallbacks.get(0).handle(new AsyncModbusFailure<>(registeredRequests.get(0), error));
+
+        assertSame(firstRequest, first.failures.get(0).getRequest());
+        assertSame(error, first.failures.get(0).getCause());
+        assertSame(error, second.failures.get(0).getCause());
+        assertTrue(first.results.isEmpty());
+    }
+
+    @Test
+    public void testMergedTransactionIsRecordedOnce() {
+        ModbusReadCoalescer coalescer = new ModbusReadCoalescer(comms, 0);
+        ModbusPollerMetrics firstMetrics = new ModbusPollerMetrics("modbus:tcp:e", "modbus:poller:e:a", 1000);
+        ModbusPollerMetrics secondMetrics = new ModbusPollerMetrics("modbus:tcp:e", "modbus:poller:e:b", 1000);
+        RecordingCallback callback = new RecordingCallback();
+        coalescer.registerRegularPoll(request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 2, 2), 1000, callback,
+                callback, secondMetrics);
+        coalescer.registerRegularPoll(request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 2), 1000, callback,
+                callback, firstMetrics);
+
+        registeredCallbacks.get(0)
+                .handle(new AsyncModbusReadResult(registeredRequests.get(0), new ModbusRegisterArray(0, 1, 2, 3)));
+
+        assertEquals(1, firstMetrics.getTransactions() + secondMetrics.getTransactions());
+        assertEquals(5, firstMetrics.getBytesSent() + secondMetrics.getBytesSent());
+        // function code, byte count and 4 registers
+        assertEquals(10, firstMetrics.getBytesReceived() + secondMetrics.getBytesReceived());
+        assertEquals(2, callback.results.size());
+    }
+
+    @Test
+    public void testUnregisterReschedules() {
+        ModbusReadCoalescer coalescer = new ModbusReadCoalescer(comms, 0);
+        ModbusReadRequestBlueprint firstRequest = request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 2);
+        CoalescedPoll first = register(coalescer, firstRequest, new RecordingCallback());
+        CoalescedPoll second = register(coalescer, request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 2, 2),
+                new RecordingCallback());
+        assertEquals(1, registeredRequests.size());
+
+        second.unregister();
+        assertEquals(List.of(firstRequest), registeredRequests);
+
+        first.unregister();
+        first.unregister();
+        assertTrue(registeredTasks.isEmpty());
+    }
+
+    @Test
+    public void testOnlyChangedReadsAreRescheduledInPhase() {
+        ModbusReadCoalescer coalescer = new ModbusReadCoalescer(comms, 0);
+        ModbusReadRequestBlueprint firstRequest = request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 2);
+        ModbusReadRequestBlueprint secondRequest = request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 10, 2);
+        register(coalescer, firstRequest, new RecordingCallback());
+        PollTask firstTask = registeredTasks.get(0);
+        verify(comms).registerRegularPoll(same(firstRequest), eq(1000L), eq(0L), any(), any());
+
+        CoalescedPoll second = register(coalescer, secondRequest, new RecordingCallback());
+
+        // the first read is not changed, the new read is aligned to it instead of being polled immediately
+        verify(comms, never()).unregisterRegularPoll(any());
+        assertEquals(List.of(firstRequest, secondRequest), registeredRequests);
+        verify(comms).registerRegularPoll(same(secondRequest), eq(1000L), longThat(delay -> delay > 0 && delay <= 1000),
+                any(), any());
+
+        register(coalescer, request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 2, 2), new RecordingCallback());
+
+        // only the read merged with the new poll is registered again
+        verify(comms).unregisterRegularPoll(firstTask);
+        assertEquals(2, registeredRequests.size());
+        assertSame(secondRequest, registeredRequests.get(0));
+        assertEquals(4, registeredRequests.get(1).getDataLength());
+
+        second.unregister();
+        verify(comms, times(2)).unregisterRegularPoll(any());
+        assertEquals(1, registeredRequests.size());
+    }
+}
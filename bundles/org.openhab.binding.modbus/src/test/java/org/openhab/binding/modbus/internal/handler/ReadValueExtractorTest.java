@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal.handler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.io.transport.modbus.BitArray;
+import org.openhab.core.io.transport.modbus.ModbusConstants.ValueType;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.library.types.DecimalType;
+
+/**
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ReadValueExtractorTest {
+
+    // registers 10, 11 and 12 polled
+    private static final ModbusRegisterArray REGISTERS = new ModbusRegisterArray(0x8001, 0xfffe, 0x1234);
+
+    private static DecimalType extract(ValueType valueType, int readIndex, int readSubIndex) {
+        return (DecimalType) new ReadValueExtractor(valueType, readIndex, readSubIndex, 10).extractState(REGISTERS);
+    }
+
+    @Test
+    public void testBit() {
+        assertEquals(new DecimalType(1), extract(ValueType.BIT, 10, 0));
+        assertEquals(new DecimalType(0), extract(ValueType.BIT, 10, 1));
+        assertEquals(new DecimalType(1), extract(ValueType.BIT, 10, 15));
+        assertEquals(new DecimalType(0), extract(ValueType.BIT, 11, 0));
+        assertEquals(new DecimalType(1), extract(ValueType.BIT, 12, 2));
+    }
+
+    @Test
+    public void testEightBitValues() {
+        assertEquals(new DecimalType(1), extract(ValueType.INT8, 10, 0));
+        assertEquals(new DecimalType(-128), extract(ValueType.INT8, 10, 1));
+        assertEquals(new DecimalType(128), extract(ValueType.UINT8, 10, 1));
+        assertEquals(new DecimalType(0x34), extract(ValueType.UINT8, 12, 0));
+        assertEquals(new DecimalType(0x12), extract(ValueType.UINT8, 12, 1));
+    }
+
+    @Test
+    public void testSixteenBitValues() {
+        assertEquals(new DecimalType(-32767), extract(ValueType.INT16, 10, 0));
+        assertEquals(new DecimalType(0x8001), extract(ValueType.UINT16, 10, 0));
+        assertEquals(new DecimalType(-2), extract(ValueType.INT16, 11, 0));
+        assertEquals(new DecimalType(0xfffe), extract(ValueType.UINT16, 11, 0));
+    }
+
+    @Test
+    public void testThirtyTwoBitValues() {
+        assertEquals(new DecimalType(0x8001fffeL - 0x100000000L), extract(ValueType.INT32, 10, 0));
+        assertEquals(new DecimalType(0x8001fffeL), extract(ValueType.UINT32, 10, 0));
+        assertEquals(new DecimalType(0xfffe8001L - 0x100000000L), extract(ValueType.INT32_SWAP, 10, 0));
+        assertEquals(new DecimalType(0xfffe8001L), extract(ValueType.UINT32_SWAP, 10, 0));
+        assertEquals(new DecimalType(0x1234fffeL), extract(ValueType.INT32_SWAP, 11, 0));
+    }
+
+    @Test
+    public void testBits() {
+        BitArray bits = new BitArray(false, true, false);
+        assertTrue(new ReadValueExtractor(ValueType.BIT, 6, 0, 5).extractBit(bits));
+        assertFalse(new ReadValueExtractor(ValueType.BIT, 7, 0, 5).extractBit(bits));
+    }
+}
@@ -22,6 +22,7 @@ import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.mqtt.generic.internal.ChannelStateMetrics;
 import org.openhab.binding.mqtt.generic.values.TextValue;
 import org.openhab.binding.mqtt.generic.values.Value;
 import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
@@ -140,6 +141,12 @@ public class ChannelState implements MqttMessageSubscriber {
      */
     @Override
     public void processMessage(String topic, byte[] payload) {
+        long start = System.nanoTime();
+        processPayload(topic, payload);
+        ChannelStateMetrics.record(channelUID.getThingUID(), System.nanoTime() - start);
+    }
+
+    private void processPayload(String topic, byte[] payload) {
         final ChannelStateUpdateListener channelStateUpdateListener = this.channelStateUpdateListener;
         if (channelStateUpdateListener == null) {
             logger.warn("MQTT message received for topic {}, but MessageSubscriber object hasn't been started!", topic);
@@ -153,6 +160,15 @@ public class ChannelState implements MqttMessageSubscriber {
             return;
         }
 
+        // Plain value without transformation: Try to parse the payload directly
+        if (!incomingTransformation.isPresent() && !config.trigger) {
+            Type parsedType = parsePayload(payload);
+            if (parsedType != null) {
+                updateChannel(channelStateUpdateListener, parsedType);
+                return;
+            }
+        }
+
         // String value: Apply transformations
         String strValue = new String(payload, StandardCharsets.UTF_8);
         if (incomingTransformation.isPresent()) {
@@ -192,6 +208,19 @@ public class ChannelState implements MqttMessageSubscriber {
             return;
         }
 
+        updateChannel(channelStateUpdateListener, parsedType);
+    }
+
+    private @Nullable Type parsePayload(byte[] payload) {
+        try {
+            return cachedValue.parsePayload(payload);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            // the payload is parsed again from the string, which reports the error
+            return null;
+        }
+    }
+
+    private void updateChannel(ChannelStateUpdateListener channelStateUpdateListener, Type parsedType) {
         if (parsedType instanceof State parsedState) {
             cachedValue.update(parsedState);
         } else {
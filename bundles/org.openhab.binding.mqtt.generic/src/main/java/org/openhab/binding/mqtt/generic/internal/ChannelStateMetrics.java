@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.internal;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.mqtt.generic.ChannelState;
+import org.openhab.core.thing.ThingUID;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records the processing of incoming messages by {@link ChannelState}s, per thing.
+ *
+ * The timers count the messages processed by the channels of a thing, and their processing time, so that things with
+ * a high message rate or expensive transformations can be identified. They are tagged with the thing and not with the
+ * topic, as the topics are not bounded, e.g. a topic per device. Messages are only recorded while the openHAB meter
+ * registry is available.
+ *
+ * The channel states are created by the MQTT thing handlers of several bindings, hence the meter registry is held
+ * statically. It is bound by the {@link MqttThingHandlerFactory}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public final class ChannelStateMetrics {
+    private static final String METRIC_NAME = "openhab.binding.mqtt.message.processing";
+
+    private static final Map<String, Timer> TIMERS = new ConcurrentHashMap<>();
+    private static volatile @Nullable MeterRegistry meterRegistry;
+
+    private ChannelStateMetrics() {
+        // static class
+    }
+
+    public static synchronized void bind(MeterRegistry registry) {
+        unbind();
+        meterRegistry = registry;
+    }
+
+    public static synchronized void unbind() {
+        MeterRegistry registry = meterRegistry;
+        meterRegistry = null;
+        if (registry != null) {
+            TIMERS.values().forEach(registry::remove);
+        }
+        TIMERS.clear();
+    }
+
+    /**
+     * Record the processing of a message by a channel
+     *
+     * @param thingUID the thing of the channel
+     * @param nanos processing time, in nanoseconds
+     */
+    public static void record(ThingUID thingUID, long nanos) {
+        MeterRegistry registry = meterRegistry;
+        if (registry == null) {
+            return;
+        }
+        TIMERS.computeIfAbsent(thingUID.getAsString(),
+                thing -> Timer.builder(METRIC_NAME).description("Processing of incoming messages by the channels")
+                        .tag("thing", thing).register(registry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
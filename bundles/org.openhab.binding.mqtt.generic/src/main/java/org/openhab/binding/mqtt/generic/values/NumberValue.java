@@ -47,6 +47,7 @@ import org.slf4j.LoggerFactory;
 public class NumberValue extends Value {
     private static final String NAN = "NaN";
     private static final String NEGATIVE_NAN = "-NaN";
+    private static final int MAX_PLAIN_NUMBER_LENGTH = 32;
 
     private final Logger logger = LoggerFactory.getLogger(NumberValue.class);
     private final @Nullable BigDecimal min;
@@ -135,6 +136,35 @@ public class NumberValue extends Value {
         return parseCommand(command);
     }
 
+    /**
+     * Parses plain decimal numbers like <code>-12.5</code> directly from the payload.
+     */
+    @Override
+    public @Nullable Type parsePayload(byte[] payload) throws IllegalArgumentException {
+        int length = payload.length;
+        if (length == 0 || length > MAX_PLAIN_NUMBER_LENGTH) {
+            return null;
+        }
+        char[] chars = new char[length];
+        int digits = 0;
+        boolean point = false;
+        for (int i = 0; i < length; i++) {
+            byte b = payload[i];
+            if (b >= '0' && b <= '9') {
+                digits++;
+            } else if (b == '.' && !point && digits > 0 && i < length - 1) {
+                point = true;
+            } else if (b != '-' || i != 0) {
+                return null;
+            }
+            chars[i] = (char) b;
+        }
+        if (digits == 0) {
+            return null;
+        }
+        return parseCommand(new DecimalType(new BigDecimal(chars)));
+    }
+
     private BigDecimal getOldValue() {
         BigDecimal val = BigDecimal.ZERO;
         if (state instanceof DecimalType decimalCommand) {
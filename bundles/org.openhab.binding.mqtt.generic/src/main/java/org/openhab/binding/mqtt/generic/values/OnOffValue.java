@@ -27,6 +27,7 @@ import org.openhab.core.library.types.StringType;
 import org.openhab.core.types.Command;
 import org.openhab.core.types.CommandDescriptionBuilder;
 import org.openhab.core.types.CommandOption;
+import org.openhab.core.types.Type;
 
 /**
  * Implements an on/off boolean value.
@@ -111,6 +112,26 @@ public class OnOffValue extends Value {
         }
     }
 
+    @Override
+    public @Nullable Type parsePayload(byte[] payload) throws IllegalArgumentException {
+        if (payloadEquals(payload, OnOffType.ON.name())) {
+            return OnOffType.ON;
+        } else if (payloadEquals(payload, OnOffType.OFF.name())) {
+            return OnOffType.OFF;
+        }
+        for (String onState : onStates) {
+            if (payloadEquals(payload, onState)) {
+                return OnOffType.ON;
+            }
+        }
+        for (String offState : offStates) {
+            if (payloadEquals(payload, offState)) {
+                return OnOffType.OFF;
+            }
+        }
+        return null;
+    }
+
     @Override
     public String getMQTTpublishValue(Command command, @Nullable String pattern) {
         String formatPattern = pattern;
@@ -20,6 +20,7 @@ import org.openhab.core.library.CoreItemFactory;
 import org.openhab.core.library.types.OpenClosedType;
 import org.openhab.core.library.types.StringType;
 import org.openhab.core.types.Command;
+import org.openhab.core.types.Type;
 
 /**
  * Implements an open/close boolean value.
@@ -68,6 +69,20 @@ public class OpenCloseValue extends Value {
         }
     }
 
+    @Override
+    public @Nullable Type parsePayload(byte[] payload) throws IllegalArgumentException {
+        if (payloadEquals(payload, OpenClosedType.OPEN.name())) {
+            return OpenClosedType.OPEN;
+        } else if (payloadEquals(payload, OpenClosedType.CLOSED.name())) {
+            return OpenClosedType.CLOSED;
+        } else if (payloadEquals(payload, openString)) {
+            return OpenClosedType.OPEN;
+        } else if (payloadEquals(payload, closeString)) {
+            return OpenClosedType.CLOSED;
+        }
+        return null;
+    }
+
     @Override
     public String getMQTTpublishValue(Command command, @Nullable String pattern) {
         String formatPattern = pattern;
@@ -154,6 +154,42 @@ public abstract class Value {
         return parseCommand(command);
     }
 
+    /**
+     * Parses a message from MQTT directly from its UTF-8 encoded payload, without creating a String first.
+     *
+     * This is an optional fast path for values that are commonly received as short, plain text messages. It must
+     * return the same result as {@link #parseMessage(Command)} would for the decoded payload, or <code>null</code> if
+     * the payload is not handled by the fast path. The default implementation handles no payloads.
+     *
+     * @param payload The UTF-8 encoded payload.
+     * @return The parsed type, or <code>null</code> if the payload needs to be parsed by
+     *         {@link #parseMessage(Command)}.
+     * @exception IllegalArgumentException Thrown if for example a number is out of range.
+     */
+    public @Nullable Type parsePayload(byte[] payload) throws IllegalArgumentException {
+        return null;
+    }
+
+    /**
+     * Compares a UTF-8 encoded payload with an ASCII string, without decoding the payload.
+     *
+     * @param payload The UTF-8 encoded payload.
+     * @param value The string to compare with. Strings with non-ASCII characters never match.
+     * @return true if the payload is the given string.
+     */
+    protected static boolean payloadEquals(byte[] payload, String value) {
+        if (payload.length != value.length()) {
+            return false;
+        }
+        for (int i = 0; i < payload.length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80 || payload[i] != c) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Updates the internal value state with the given binary payload.
      *
@@ -17,6 +17,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -430,4 +431,59 @@ public class ValueTests {
         assertThat(v.parseMessage(new StringType("NULL")), is(UnDefType.NULL));
         assertThat(v.parseMessage(new StringType("")), is(new StringType("")));
     }
+
+    private static byte[] b(String str) {
+        return str.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void numberPayload() {
+        NumberValue v = new NumberValue(null, new BigDecimal(100), null, null);
+        assertThat(v.parsePayload(b("21")), is(new DecimalType(21)));
+        assertThat(v.parsePayload(b("-12.50")), is(new DecimalType(new BigDecimal("-12.50"))));
+        assertThrows(IllegalArgumentException.class, () -> v.parsePayload(b("101")));
+
+        // handled by parseMessage
+        assertNull(v.parsePayload(b("")));
+        assertNull(v.parsePayload(b("-")));
+        assertNull(v.parsePayload(b("1.")));
+        assertNull(v.parsePayload(b(".5")));
+        assertNull(v.parsePayload(b("1e3")));
+        assertNull(v.parsePayload(b("1.2.3")));
+        assertNull(v.parsePayload(b("NaN")));
+        assertNull(v.parsePayload(b("21 °C")));
+
+        NumberValue withUnit = new NumberValue(null, null, null, Units.WATT);
+        assertThat(withUnit.parsePayload(b("21.5")), is(withUnit.parseMessage(p(withUnit, "21.5"))));
+    }
+
+    @Test
+    public void onOffPayload() {
+        OnOffValue v = new OnOffValue("fancyON", "fancyOff");
+        assertThat(v.parsePayload(b("ON")), is(OnOffType.ON));
+        assertThat(v.parsePayload(b("OFF")), is(OnOffType.OFF));
+        assertThat(v.parsePayload(b("fancyON")), is(OnOffType.ON));
+        assertThat(v.parsePayload(b("fancyOff")), is(OnOffType.OFF));
+        assertNull(v.parsePayload(b("fancyOFF")));
+        assertNull(v.parsePayload(b("")));
+
+        OnOffValue nonAscii = new OnOffValue("an", "äus");
+        assertNull(nonAscii.parsePayload(b("äus")));
+    }
+
+    @Test
+    public void openClosePayload() {
+        OpenCloseValue v = new OpenCloseValue("fancyOpen", "fancyClosed");
+        assertThat(v.parsePayload(b("OPEN")), is(OpenClosedType.OPEN));
+        assertThat(v.parsePayload(b("CLOSED")), is(OpenClosedType.CLOSED));
+        assertThat(v.parsePayload(b("fancyOpen")), is(OpenClosedType.OPEN));
+        assertThat(v.parsePayload(b("fancyClosed")), is(OpenClosedType.CLOSED));
+        assertNull(v.parsePayload(b("CLOSE")));
+    }
+
+    @Test
+    public void otherValuesHaveNoPayloadFastPath() {
+        assertNull(new TextValue().parsePayload(b("ON")));
+        assertNull(new PercentageValue(null, null, null, null, null).parsePayload(b("50")));
+    }
 }
@@ -12,13 +12,8 @@
  */
 package org.openhab.binding.mqtt.homeassistant.internal;
 
-import java.io.IOException;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
-import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Optional;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -28,26 +23,30 @@ import org.openhab.core.thing.binding.generic.ChannelTransformation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hubspot.jinjava.Jinjava;
 import com.hubspot.jinjava.interpret.FatalTemplateErrorsException;
+import com.hubspot.jinjava.interpret.LazyExpression;
 
 /**
  * Provides a channel transformation for a Home Assistant channel with a
  * Jinja2 template, providing the additional context and extensions required by Home Assistant
  * Based in part on the JinjaTransformationService
  *
+ * The JSON value is only parsed if the template uses value_json. The parsed JSON value is shared with the other
+ * components receiving the same payload, see {@link ParsedJsonCache}.
+ *
  * @author Cody Cutrer - Initial contribution
  */
 @NonNullByDefault
 public class HomeAssistantChannelTransformation extends ChannelTransformation {
+    // shared by all components, as the components subscribed to a state topic receive the same payloads
+    private static final ParsedJsonCache JSON_CACHE = new ParsedJsonCache(64);
+
     private final Logger logger = LoggerFactory.getLogger(HomeAssistantChannelTransformation.class);
 
     private final Jinjava jinjava;
     private final AbstractComponent component;
     private final String template;
-    private final ObjectMapper objectMapper = new ObjectMapper();
 
     public HomeAssistantChannelTransformation(Jinjava jinjava, AbstractComponent component, String template) {
         super((String) null);
@@ -72,13 +71,7 @@ public class HomeAssistantChannelTransformation extends ChannelTransformation {
         logger.debug("about to transform '{}' by the function '{}'", value, template);
 
         bindings.put("value", value);
-
-        try {
-            JsonNode tree = objectMapper.readTree(value);
-            bindings.put("value_json", toObject(tree));
-        } catch (IOException e) {
-            // ok, then value_json is null...
-        }
+        bindings.put("value_json", LazyExpression.of(() -> JSON_CACHE.get(value), "value_json"));
 
         return apply(template, bindings);
     }
@@ -98,34 +91,4 @@ public class HomeAssistantChannelTransformation extends ChannelTransformation {
 
         return Optional.of(transformationResult);
     }
-
-    private static @Nullable Object toObject(JsonNode node) {
-        switch (node.getNodeType()) {
-            case ARRAY: {
-                List<@Nullable Object> result = new ArrayList<>();
-                for (JsonNode el : node) {
-                    result.add(toObject(el));
-                }
-                return result;
-            }
-            case NUMBER:
-                return node.decimalValue();
-            case OBJECT: {
-                Map<String, @Nullable Object> result = new HashMap<>();
-                Iterator<Entry<String, JsonNode>> it = node.fields();
-                while (it.hasNext()) {
-                    Entry<String, JsonNode> field = it.next();
-                    result.put(field.getKey(), toObject(field.getValue()));
-                }
-                return result;
-            }
-            case STRING:
-                return node.asText();
-            case BOOLEAN:
-                return node.asBoolean();
-            case NULL:
-            default:
-                return null;
-        }
-    }
 }
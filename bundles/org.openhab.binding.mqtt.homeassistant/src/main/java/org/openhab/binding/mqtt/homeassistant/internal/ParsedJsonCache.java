@@ -0,0 +1,121 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.homeassistant.internal;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Cache of the most recently parsed JSON payloads, as seen by templates through <code>value_json</code>.
+ *
+ * Devices like Zigbee2MQTT publish a single JSON state topic that many components subscribe to. Every subscriber
+ * receives the same payload, so the payload is only parsed by the first template that uses it.
+ *
+ * The parsed values are shared, hence they are unmodifiable.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ParsedJsonCache {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final Map<String, Optional<Object>> cache;
+
+    /**
+     * @param size number of payloads to keep
+     */
+    public ParsedJsonCache(int size) {
+        cache = new LinkedHashMap<>(size * 2, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.@Nullable Entry<String, Optional<Object>> eldest) {
+                return size() > size;
+            }
+        };
+    }
+
+    /**
+     * Get the parsed payload
+     *
+     * @param value the payload
+     * @return the parsed payload, or null if it is not valid JSON
+     */
+    public @Nullable Object get(String value) {
+        Optional<Object> parsed;
+        synchronized (cache) {
+            parsed = cache.get(value);
+        }
+        if (parsed == null) {
+            parsed = Optional.ofNullable(parseJson(value));
+            synchronized (cache) {
+                cache.put(value, parsed);
+            }
+        }
+        return parsed.orElse(null);
+    }
+
+    private static @Nullable Object parseJson(String value) {
+        try {
+            JsonNode tree = OBJECT_MAPPER.readTree(value);
+            return toObject(tree);
+        } catch (IOException e) {
+            // ok, then value_json is null...
+            return null;
+        }
+    }
+
+    private static @Nullable Object toObject(JsonNode node) {
+        switch (node.getNodeType()) {
+            case ARRAY: {
+                List<@Nullable Object> result = new ArrayList<>();
+                for (JsonNode el : node) {
+                    result.add(toObject(el));
+                }
+                return Collections.unmodifiableList(result);
+            }
+            case NUMBER:
+                return node.decimalValue();
+            case OBJECT: {
+                Map<String, @Nullable Object> result = new HashMap<>();
+                Iterator<Entry<String, JsonNode>> it = node.fields();
+                while (it.hasNext()) {
+                    Entry<String, JsonNode> field = it.next();
+                    result.put(field.getKey(), toObject(field.getValue()));
+                }
+                return Collections.unmodifiableMap(result);
+            }
+            case STRING:
+                return node.asText();
+            case BOOLEAN:
+                return node.asBoolean();
+            case NULL:
+            default:
+                return null;
+        }
+    }
+}
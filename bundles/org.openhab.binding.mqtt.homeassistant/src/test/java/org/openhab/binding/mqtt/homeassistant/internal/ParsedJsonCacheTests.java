@@ -0,0 +1,67 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.homeassistant.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ParsedJsonCacheTests {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testParse() {
+        ParsedJsonCache cache = new ParsedJsonCache(2);
+        Map<String, Object> value = (Map<String, Object>) cache
+                .get("{\"temperature\": 21.5, \"state\": \"ON\", \"list\": [true, null]}");
+
+        assertThat(value.get("temperature"), is(new BigDecimal("21.5")));
+        assertThat(value.get("state"), is("ON"));
+        assertThat(value.get("list"), is(Arrays.asList(true, null)));
+        assertThrows(UnsupportedOperationException.class, () -> value.put("state", "OFF"));
+        assertThrows(UnsupportedOperationException.class, () -> ((List<Object>) value.get("list")).clear());
+    }
+
+    @Test
+    public void testSamePayloadIsParsedOnce() {
+        ParsedJsonCache cache = new ParsedJsonCache(2);
+        String payload = "{\"state\": \"ON\"}";
+
+        Object first = cache.get(new String(payload));
+        assertThat(cache.get(new String(payload)), is(sameInstance(first)));
+
+        cache.get("{\"state\": \"OFF\"}");
+        cache.get("{\"state\": \"UNKNOWN\"}");
+        assertThat(cache.get(payload), is(not(sameInstance(first))));
+    }
+
+    @Test
+    public void testInvalidJson() {
+        ParsedJsonCache cache = new ParsedJsonCache(2);
+
+        assertThat(cache.get("{invalid"), is(nullValue()));
+        assertThat(cache.get("{invalid"), is(nullValue()));
+    }
+}
@@ -14,6 +14,9 @@ package org.openhab.persistence.influxdb;
 
 import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.*;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
@@ -25,17 +28,18 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.OpenHAB;
 import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.config.core.ConfigurableService;
+import org.openhab.core.io.monitor.MeterRegistryProvider;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemFactory;
 import org.openhab.core.items.ItemRegistry;
@@ -53,10 +57,15 @@ import org.openhab.persistence.influxdb.internal.FilterCriteriaQueryCreator;
 import org.openhab.persistence.influxdb.internal.InfluxDBConfiguration;
 import org.openhab.persistence.influxdb.internal.InfluxDBHistoricItem;
 import org.openhab.persistence.influxdb.internal.InfluxDBMetadataService;
+import org.openhab.persistence.influxdb.internal.InfluxDBMetrics;
+import org.openhab.persistence.influxdb.internal.InfluxDBOverflowPolicy;
 import org.openhab.persistence.influxdb.internal.InfluxDBPersistentItemInfo;
 import org.openhab.persistence.influxdb.internal.InfluxDBRepository;
 import org.openhab.persistence.influxdb.internal.InfluxDBStateConvertUtils;
+import org.openhab.persistence.influxdb.internal.InfluxDBVersion;
+import org.openhab.persistence.influxdb.internal.InfluxDBWriteAheadBuffer;
 import org.openhab.persistence.influxdb.internal.InfluxPoint;
+import org.openhab.persistence.influxdb.internal.InfluxPointQueue;
 import org.openhab.persistence.influxdb.internal.influx1.InfluxDB1RepositoryImpl;
 import org.openhab.persistence.influxdb.internal.influx2.InfluxDB2RepositoryImpl;
 import org.osgi.framework.Constants;
@@ -99,6 +108,10 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
     private final Logger logger = LoggerFactory.getLogger(InfluxDBPersistenceService.class);
 
     private static final int COMMIT_INTERVAL = 3; // in s
+    private static final int MAX_SEGMENT_SIZE = 8 * 1024 * 1024; // in bytes
+    private static final int MAX_REPLAY_BATCHES = 20; // per commit
+    private static final Path BUFFER_DIR = new File(OpenHAB.getUserDataFolder(), "persistence").toPath()
+            .resolve("influxdb");
     protected static final String CONFIG_URI = "persistence:influxdb";
 
     // External dependencies
@@ -111,7 +124,10 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
 
     // storage
     private final ScheduledFuture<?> storeJob;
-    private final BlockingQueue<InfluxPoint> pointsQueue = new LinkedBlockingQueue<>();
+    private final InfluxPointQueue pointsQueue;
+    private final @Nullable InfluxDBWriteAheadBuffer writeAheadBuffer;
+    private final InfluxDBMetrics metrics;
+    private final ExecutorService writeExecutor = ThreadPoolManager.getPool("org.openhab.influxdb");
 
     // conversion
     private final Set<ItemFactory> itemFactories = new HashSet<>();
@@ -123,7 +139,12 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         this.itemRegistry = itemRegistry;
         this.influxDBMetadataService = influxDBMetadataService;
         this.configuration = new InfluxDBConfiguration(config);
+        this.pointsQueue = new InfluxPointQueue(configuration.getQueueSize(), configuration.getOverflowPolicy());
         if (configuration.isValid()) {
+            this.writeAheadBuffer = configuration.getOverflowPolicy() == InfluxDBOverflowPolicy.SPILL
+                    ? createWriteAheadBuffer()
+                    : null;
+            this.metrics = new InfluxDBMetrics(pointsQueue, writeAheadBuffer);
             this.influxDBRepository = createInfluxDBRepository();
             this.influxDBRepository.connect();
             this.storeJob = ThreadPoolManager.getScheduledPool("org.openhab.influxdb")
@@ -145,6 +166,18 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         };
     }
 
+    // Visible for testing
+    protected @Nullable InfluxDBWriteAheadBuffer createWriteAheadBuffer() {
+        long maxSize = configuration.getSpillMaxSize() * 1024L * 1024L;
+        try {
+            return new InfluxDBWriteAheadBuffer(BUFFER_DIR, (int) Math.min(MAX_SEGMENT_SIZE, maxSize), maxSize);
+        } catch (IOException e) {
+            logger.warn("Failed to open the write-ahead buffer in '{}', points exceeding the queue are discarded: {}",
+                    BUFFER_DIR, e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Disconnect from database when service is deactivated
      */
@@ -155,9 +188,22 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         storeJob.cancel(false);
         commit(); // ensure we at least tried to store the data;
 
+        InfluxDBWriteAheadBuffer writeAheadBuffer = this.writeAheadBuffer;
+        if (writeAheadBuffer != null) {
+            // keep the remaining points for the next start
+            spill(pointsQueue.poll(pointsQueue.size()));
+            if (!writeAheadBuffer.isEmpty()) {
+                logger.info("InfluxDB keeps {} points in the write-ahead buffer.", writeAheadBuffer.size());
+            }
+            writeAheadBuffer.close();
+        }
         if (!pointsQueue.isEmpty()) {
             logger.warn("InfluxDB failed to finally store {} points.", pointsQueue.size());
         }
+        if (pointsQueue.getDroppedCount() > 0) {
+            logger.warn("InfluxDB discarded {} points because the queue was full.", pointsQueue.getDroppedCount());
+        }
+        metrics.unbind();
 
         influxDBRepository.disconnect();
         logger.info("InfluxDB persistence service stopped.");
@@ -212,8 +258,15 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
             }
             if (pointsQueue.offer(point)) {
                 logger.trace("Queued {} for item {}", point, item);
+            } else if (configuration.getOverflowPolicy() == InfluxDBOverflowPolicy.SPILL) {
+                if (writeAheadBuffer != null) {
+                    // the queued points are older, so they have to be buffered first
+                    spill(pointsQueue.poll(pointsQueue.size()));
+                }
+                spill(List.of(point));
             } else {
-                logger.warn("Failed to queue {} for item {}", point, item);
+                logger.debug("Queue is full, discarded a point ({}) while queuing {} for item {}",
+                        configuration.getOverflowPolicy(), point, item);
             }
         });
     }
@@ -279,20 +332,117 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         return false;
     }
 
+    /**
+     * Write the queued points in batches of at most the configured batch size. For InfluxDB 2 several batches are
+     * written in parallel if more than one write worker is configured. Only the points queued when the commit starts
+     * are written, points queued in the meantime are written by the next commit.
+     * <p />
+     * Points in the write-ahead buffer are always older than the queued points. As long as the buffer is not empty,
+     * the queued points are moved to the buffer and the oldest points of the buffer are written instead, so that all
+     * points are written in order.
+     */
     private void commit() {
-        if (!pointsQueue.isEmpty() && checkConnection()) {
-            List<InfluxPoint> points = new ArrayList<>();
-            pointsQueue.drainTo(points);
-            if (!influxDBRepository.write(points)) {
-                logger.warn("Re-queuing {} elements, failed to write batch.", points.size());
-                pointsQueue.addAll(points);
+        InfluxDBWriteAheadBuffer writeAheadBuffer = this.writeAheadBuffer;
+        boolean hasBufferedPoints = writeAheadBuffer != null && !writeAheadBuffer.isEmpty();
+        if ((pointsQueue.isEmpty() && !hasBufferedPoints) || !checkConnection()) {
+            return;
+        }
+        if (writeAheadBuffer != null && hasBufferedPoints) {
+            spill(pointsQueue.poll(pointsQueue.size()));
+            replay(writeAheadBuffer);
+            return;
+        }
+        int workers = configuration.getVersion() == InfluxDBVersion.V2 ? configuration.getWriteWorkers() : 1;
+        int remaining = pointsQueue.size();
+        while (remaining > 0) {
+            List<List<InfluxPoint>> batches = new ArrayList<>();
+            while (batches.size() < workers && remaining > 0) {
+                List<InfluxPoint> batch = pointsQueue.poll(Math.min(remaining, configuration.getBatchSize()));
+                if (batch.isEmpty()) {
+                    remaining = 0;
+                } else {
+                    remaining -= batch.size();
+                    batches.add(batch);
+                }
+            }
+
+            List<Boolean> results;
+            if (batches.size() == 1) {
+                results = List.of(write(batches.get(0)));
+            } else {
+                List<CompletableFuture<Boolean>> futures = batches.stream()
+                        .map(batch -> CompletableFuture.supplyAsync(() -> write(batch), writeExecutor)).toList();
+                results = futures.stream().map(CompletableFuture::join).toList();
+            }
+
+            List<InfluxPoint> failedPoints = new ArrayList<>();
+            for (int i = 0; i < batches.size(); i++) {
+                if (!results.get(i)) {
+                    failedPoints.addAll(batches.get(i));
+                }
+            }
+            if (!failedPoints.isEmpty()) {
+                if (writeAheadBuffer != null) {
+                    logger.warn("Moving {} elements to the write-ahead buffer, failed to write batch.",
+                            failedPoints.size());
+                    spill(failedPoints);
+                } else {
+                    logger.warn("Re-queuing {} elements, failed to write batch.", failedPoints.size());
+                    pointsQueue.requeue(failedPoints);
+                }
                 influxDBRepository.disconnect();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Write the oldest points of the write-ahead buffer in batches of the configured batch size. Points are removed
+     * from the buffer when they have been written.
+     */
+    private void replay(InfluxDBWriteAheadBuffer writeAheadBuffer) {
+        for (int i = 0; i < MAX_REPLAY_BATCHES && !writeAheadBuffer.isEmpty(); i++) {
+            List<InfluxPoint> points = writeAheadBuffer.read(configuration.getBatchSize());
+            if (points.isEmpty() || write(points)) {
+                writeAheadBuffer.acknowledge();
             } else {
-                logger.trace("Wrote {} elements to database", points.size());
+                logger.warn("Failed to write {} elements from the write-ahead buffer.", points.size());
+                writeAheadBuffer.rollback();
+                influxDBRepository.disconnect();
+                return;
+            }
+        }
+        if (!writeAheadBuffer.isEmpty()) {
+            logger.debug("{} elements left in the write-ahead buffer", writeAheadBuffer.size());
+        }
+    }
+
+    private void spill(List<InfluxPoint> points) {
+        InfluxDBWriteAheadBuffer writeAheadBuffer = this.writeAheadBuffer;
+        if (writeAheadBuffer == null) {
+            if (!points.isEmpty()) {
+                logger.debug("Discarded {} points, no write-ahead buffer available", points.size());
+                metrics.recordDropped(points.size());
+            }
+            return;
+        }
+        for (InfluxPoint point : points) {
+            if (!writeAheadBuffer.append(point)) {
+                logger.debug("Write-ahead buffer is full, discarded {}", point);
             }
         }
     }
 
+    private boolean write(List<InfluxPoint> points) {
+        long start = System.nanoTime();
+        boolean success = influxDBRepository.write(points);
+        metrics.recordWrite(points.size(), System.nanoTime() - start, success);
+        if (success) {
+            logger.trace("Wrote {} elements to database", points.size());
+        }
+        return success;
+    }
+
     /**
      * Convert incoming data to an {@link InfluxPoint} for further processing. This is needed because storage is
      * asynchronous and the item data may have changed.
@@ -351,6 +501,15 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         });
     }
 
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
+    public void setMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        metrics.bind(meterRegistryProvider.getOHMeterRegistry());
+    }
+
+    public void unsetMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        metrics.unbind();
+    }
+
     @Reference(cardinality = ReferenceCardinality.AT_LEAST_ONE, policy = ReferencePolicy.DYNAMIC)
     public void setItemFactory(ItemFactory itemFactory) {
         itemFactories.add(itemFactory);
@@ -39,6 +39,11 @@ public class InfluxDBConfiguration {
     public static final String ADD_CATEGORY_TAG_PARAM = "addCategoryTag";
     public static final String ADD_LABEL_TAG_PARAM = "addLabelTag";
     public static final String ADD_TYPE_TAG_PARAM = "addTypeTag";
+    public static final String QUEUE_SIZE_PARAM = "queueSize";
+    public static final String OVERFLOW_POLICY_PARAM = "overflowPolicy";
+    public static final String BATCH_SIZE_PARAM = "batchSize";
+    public static final String WRITE_WORKERS_PARAM = "writeWorkers";
+    public static final String SPILL_MAX_SIZE_PARAM = "spillMaxSize";
     private final Logger logger = LoggerFactory.getLogger(InfluxDBConfiguration.class);
     private final String url;
     private final String user;
@@ -51,6 +56,11 @@ public class InfluxDBConfiguration {
     private final boolean addCategoryTag;
     private final boolean addTypeTag;
     private final boolean addLabelTag;
+    private final int queueSize;
+    private final InfluxDBOverflowPolicy overflowPolicy;
+    private final int batchSize;
+    private final int writeWorkers;
+    private final int spillMaxSize;
 
     public InfluxDBConfiguration(Map<String, Object> config) {
         url = ConfigParser.valueAsOrElse(config.get(URL_PARAM), String.class, "http://127.0.0.1:8086");
@@ -64,6 +74,21 @@ public class InfluxDBConfiguration {
         addCategoryTag = ConfigParser.valueAsOrElse(config.get(ADD_CATEGORY_TAG_PARAM), Boolean.class, false);
         addLabelTag = ConfigParser.valueAsOrElse(config.get(ADD_LABEL_TAG_PARAM), Boolean.class, false);
         addTypeTag = ConfigParser.valueAsOrElse(config.get(ADD_TYPE_TAG_PARAM), Boolean.class, false);
+        queueSize = ConfigParser.valueAsOrElse(config.get(QUEUE_SIZE_PARAM), Integer.class, 100000);
+        overflowPolicy = parseOverflowPolicy(ConfigParser.valueAsOrElse(config.get(OVERFLOW_POLICY_PARAM),
+                String.class, InfluxDBOverflowPolicy.DROP_OLDEST.name()));
+        batchSize = ConfigParser.valueAsOrElse(config.get(BATCH_SIZE_PARAM), Integer.class, 5000);
+        writeWorkers = ConfigParser.valueAsOrElse(config.get(WRITE_WORKERS_PARAM), Integer.class, 1);
+        spillMaxSize = ConfigParser.valueAsOrElse(config.get(SPILL_MAX_SIZE_PARAM), Integer.class, 100);
+    }
+
+    private InfluxDBOverflowPolicy parseOverflowPolicy(String value) {
+        try {
+            return InfluxDBOverflowPolicy.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid overflow policy {}, using {}", value, InfluxDBOverflowPolicy.DROP_OLDEST);
+            return InfluxDBOverflowPolicy.DROP_OLDEST;
+        }
     }
 
     private InfluxDBVersion parseInfluxVersion(@Nullable String value) {
@@ -85,8 +110,9 @@ public class InfluxDBConfiguration {
         }
         boolean hasDatabase = !databaseName.isBlank();
         boolean hasRetentionPolicy = !retentionPolicy.isBlank();
+        boolean hasWriteLimits = queueSize > 0 && batchSize > 0 && writeWorkers > 0 && spillMaxSize > 0;
 
-        boolean valid = hasVersion && hasCredentials && hasDatabase && hasRetentionPolicy;
+        boolean valid = hasVersion && hasCredentials && hasDatabase && hasRetentionPolicy && hasWriteLimits;
         if (valid) {
             return true;
         } else {
@@ -104,6 +130,9 @@ public class InfluxDBConfiguration {
                 if (!hasRetentionPolicy) {
                     reason.add("No retention policy / bucket defined");
                 }
+                if (!hasWriteLimits) {
+                    reason.add("Queue size, batch size, write workers and spill size must be positive");
+                }
             }
             logger.warn("{} {}", msg, reason);
             return false;
@@ -154,12 +183,37 @@ public class InfluxDBConfiguration {
         return version;
     }
 
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public InfluxDBOverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getWriteWorkers() {
+        return writeWorkers;
+    }
+
+    /**
+     * @return maximum size of the write-ahead buffer in MB
+     */
+    public int getSpillMaxSize() {
+        return spillMaxSize;
+    }
+
     @Override
     public String toString() {
         return "InfluxDBConfiguration{url='" + url + "', user='" + user + "', password='" + password.length()
                 + " chars', token='" + token.length() + " chars', databaseName='" + databaseName
                 + "', retentionPolicy='" + retentionPolicy + "', version=" + version + ", replaceUnderscore="
                 + replaceUnderscore + ", addCategoryTag=" + addCategoryTag + ", addTypeTag=" + addTypeTag
-                + ", addLabelTag=" + addLabelTag + '}';
+                + ", addLabelTag=" + addLabelTag + ", queueSize=" + queueSize + ", overflowPolicy=" + overflowPolicy
+                + ", batchSize=" + batchSize + ", writeWorkers=" + writeWorkers + ", spillMaxSize=" + spillMaxSize
+                + '}';
     }
 }
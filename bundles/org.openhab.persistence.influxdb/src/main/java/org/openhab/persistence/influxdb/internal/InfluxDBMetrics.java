@@ -0,0 +1,162 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Write statistics of the persistence service
+ *
+ * The statistics are always collected. When a {@link MeterRegistry} is bound, they are also published as meters.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDBMetrics {
+    private static final String PREFIX = "openhab.persistence.influxdb.";
+
+    private final InfluxPointQueue queue;
+    private final @Nullable InfluxDBWriteAheadBuffer writeAheadBuffer;
+
+    private long writtenPoints = 0;
+    private long failedWrites = 0;
+    private long lastWriteNanos = 0;
+    private long droppedPoints = 0;
+
+    private @Nullable MeterRegistry meterRegistry;
+    private List<Meter> meters = List.of();
+    private @Nullable Timer writeTimer;
+    private @Nullable Counter writtenCounter;
+    private @Nullable Counter failedCounter;
+
+    public InfluxDBMetrics(InfluxPointQueue queue, @Nullable InfluxDBWriteAheadBuffer writeAheadBuffer) {
+        this.queue = queue;
+        this.writeAheadBuffer = writeAheadBuffer;
+    }
+
+    /**
+     * Publish the statistics in the given registry
+     *
+     * @param meterRegistry the registry
+     */
+    public synchronized void bind(MeterRegistry meterRegistry) {
+        unbind();
+        Timer writeTimer = Timer.builder(PREFIX + "write").description("Duration of a batch write")
+                .register(meterRegistry);
+        Counter writtenCounter = Counter.builder(PREFIX + "points.written").register(meterRegistry);
+        Counter failedCounter = Counter.builder(PREFIX + "writes.failed").register(meterRegistry);
+        Gauge queueGauge = Gauge.builder(PREFIX + "queue.size", queue, InfluxPointQueue::size)
+                .description("Number of points waiting to be written").register(meterRegistry);
+        Gauge droppedGauge = Gauge.builder(PREFIX + "points.dropped", this, InfluxDBMetrics::getDroppedPoints)
+                .description("Number of points discarded because the queue was full or they could not be buffered")
+                .register(meterRegistry);
+        this.writeTimer = writeTimer;
+        this.writtenCounter = writtenCounter;
+        this.failedCounter = failedCounter;
+        List<Meter> meters = new ArrayList<>(
+                List.of(writeTimer, writtenCounter, failedCounter, queueGauge, droppedGauge));
+        InfluxDBWriteAheadBuffer writeAheadBuffer = this.writeAheadBuffer;
+        if (writeAheadBuffer != null) {
+            meters.add(Gauge.builder(PREFIX + "buffer.size", writeAheadBuffer, InfluxDBWriteAheadBuffer::size)
+                    .description("Number of points in the write-ahead buffer").register(meterRegistry));
+            meters.add(Gauge
+                    .builder(PREFIX + "buffer.dropped", writeAheadBuffer, InfluxDBWriteAheadBuffer::getDroppedCount)
+                    .description("Number of points discarded because the write-ahead buffer was full")
+                    .register(meterRegistry));
+        }
+        this.meters = meters;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Remove the published meters from the registry
+     */
+    public synchronized void unbind() {
+        MeterRegistry meterRegistry = this.meterRegistry;
+        if (meterRegistry != null) {
+            meters.forEach(meterRegistry::remove);
+        }
+        this.meterRegistry = null;
+        meters = List.of();
+        writeTimer = null;
+        writtenCounter = null;
+        failedCounter = null;
+    }
+
+    /**
+     * Record a batch write
+     *
+     * @param points number of points of the batch
+     * @param nanos duration of the write in nanoseconds
+     * @param success <code>true</code> if the points have been written
+     */
+    public synchronized void recordWrite(int points, long nanos, boolean success) {
+        lastWriteNanos = nanos;
+        Timer writeTimer = this.writeTimer;
+        if (writeTimer != null) {
+            writeTimer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+        if (success) {
+            writtenPoints += points;
+            Counter writtenCounter = this.writtenCounter;
+            if (writtenCounter != null) {
+                writtenCounter.increment(points);
+            }
+        } else {
+            failedWrites++;
+            Counter failedCounter = this.failedCounter;
+            if (failedCounter != null) {
+                failedCounter.increment();
+            }
+        }
+    }
+
+    /**
+     * Record points that are discarded outside of the queue
+     *
+     * @param points number of discarded points
+     */
+    public synchronized void recordDropped(int points) {
+        droppedPoints += points;
+    }
+
+    /**
+     * @return number of points discarded by the queue or recorded by {@link #recordDropped(int)}
+     */
+    public synchronized long getDroppedPoints() {
+        return queue.getDroppedCount() + droppedPoints;
+    }
+
+    public synchronized long getWrittenPoints() {
+        return writtenPoints;
+    }
+
+    public synchronized long getFailedWrites() {
+        return failedWrites;
+    }
+
+    public synchronized long getLastWriteNanos() {
+        return lastWriteNanos;
+    }
+}
@@ -0,0 +1,30 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Behaviour of the point queue when it is full
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public enum InfluxDBOverflowPolicy {
+    /** discard the oldest queued point to make room for the new one */
+    DROP_OLDEST,
+    /** discard the new point */
+    DROP_NEWEST,
+    /** write the new point to the write-ahead buffer on disk */
+    SPILL
+}
@@ -0,0 +1,453 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Disk buffer for points which cannot be kept in memory while the database is not reachable
+ *
+ * Points are appended to memory-mapped segment files of a fixed size. Each segment starts with a header containing
+ * its sequence number, the position up to which it is written and the position up to which its points have been
+ * acknowledged. Points are read in the order they have been appended and are only removed from the buffer when they
+ * are acknowledged after a successful write. Fully acknowledged segments are truncated and reused, so the files are
+ * never deleted while they are mapped. The buffer survives a restart, acknowledged points are not replayed again.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDBWriteAheadBuffer {
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final int MAGIC = 0x4f48574c;
+    private static final int SEQUENCE_OFFSET = 4;
+    private static final int WRITE_POSITION_OFFSET = 12;
+    private static final int READ_POSITION_OFFSET = 16;
+    private static final int HEADER_SIZE = 32;
+
+    private static final byte VALUE_NULL = 0;
+    private static final byte VALUE_STRING = 1;
+    private static final byte VALUE_DECIMAL = 2;
+    private static final byte VALUE_INTEGER = 3;
+    private static final byte VALUE_LONG = 4;
+    private static final byte VALUE_BOOLEAN = 5;
+    private static final byte VALUE_DOUBLE = 6;
+
+    private final Logger logger = LoggerFactory.getLogger(InfluxDBWriteAheadBuffer.class);
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private final Deque<Segment> freeSegments = new ArrayDeque<>();
+    private final List<ReadMark> pendingAcknowledge = new ArrayList<>();
+    private int segmentCount = 0;
+    private long nextSequence = 0;
+    private long size = 0;
+    private int pendingCount = 0;
+    private long droppedCount = 0;
+
+    /**
+     * Open the buffer and load the unacknowledged points of an earlier run
+     *
+     * @param directory directory of the segment files, created if necessary
+     * @param segmentSize size of a segment file in bytes
+     * @param maxSize maximum size of all segment files in bytes
+     * @throws IOException if the directory or the segment files cannot be accessed
+     */
+    public InfluxDBWriteAheadBuffer(Path directory, int segmentSize, long maxSize) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSegments = (int) Math.max(1, Math.min(Integer.MAX_VALUE, maxSize / segmentSize));
+
+        Files.createDirectories(directory);
+        List<Segment> existing = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory,
+                SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path path : stream) {
+                try {
+                    existing.add(new Segment(path));
+                } catch (IOException e) {
+                    logger.warn("Ignoring buffer segment '{}': {}", path, e.getMessage());
+                }
+            }
+        }
+        existing.sort(Comparator.comparingLong(Segment::sequence));
+        for (Segment segment : existing) {
+            segmentCount++;
+            nextSequence = Math.max(nextSequence, segment.sequence() + 1);
+            int count = segment.count();
+            if (count > 0) {
+                segments.addLast(segment);
+                size += count;
+            } else {
+                segment.reset(segment.sequence());
+                freeSegments.addLast(segment);
+            }
+        }
+        if (size > 0) {
+            logger.info("Found {} points in the write-ahead buffer '{}'", size, directory);
+        }
+    }
+
+    /**
+     * Append a point to the buffer
+     *
+     * @param point the point to append
+     * @return <code>true</code> if the point has been appended, <code>false</code> if the buffer is full
+     */
+    public synchronized boolean append(InfluxPoint point) {
+        byte[] record;
+        try {
+            record = encode(point);
+        } catch (IOException e) {
+            logger.warn("Failed to encode {}: {}", point, e.getMessage());
+            droppedCount++;
+            return false;
+        }
+        if (record.length + Integer.BYTES > segmentSize - HEADER_SIZE) {
+            logger.warn("Discarding {}, it does not fit into a buffer segment", point);
+            droppedCount++;
+            return false;
+        }
+        Segment tail = segments.peekLast();
+        if (tail == null || !tail.hasRoom(record.length)) {
+            try {
+                tail = nextSegment();
+            } catch (IOException e) {
+                logger.warn("Failed to create a buffer segment in '{}': {}", directory, e.getMessage());
+                tail = null;
+            }
+            if (tail == null) {
+                droppedCount++;
+                return false;
+            }
+            segments.addLast(tail);
+        }
+        tail.append(record);
+        size++;
+        return true;
+    }
+
+    /**
+     * Read the oldest points which have not been read since the last {@link #acknowledge()}
+     *
+     * @param maxPoints maximum number of points to read
+     * @return the points, empty if there are no more points
+     */
+    public synchronized List<InfluxPoint> read(int maxPoints) {
+        List<InfluxPoint> points = new ArrayList<>();
+        for (Segment segment : segments) {
+            if (points.size() >= maxPoints) {
+                break;
+            }
+            int position = pendingPosition(segment);
+            while (points.size() < maxPoints && position < segment.writePosition()) {
+                byte[] record = segment.recordAt(position);
+                position += Integer.BYTES + record.length;
+                try {
+                    points.add(decode(record));
+                } catch (IOException | RuntimeException e) {
+                    logger.warn("Skipping unreadable point in the write-ahead buffer: {}", e.getMessage());
+                }
+                pendingCount++;
+            }
+            setPendingPosition(segment, position);
+        }
+        return points;
+    }
+
+    /**
+     * Remove all points returned by {@link #read(int)} since the last acknowledge from the buffer
+     */
+    public synchronized void acknowledge() {
+        for (ReadMark mark : pendingAcknowledge) {
+            mark.segment().setReadPosition(mark.position());
+        }
+        pendingAcknowledge.clear();
+        size -= pendingCount;
+        pendingCount = 0;
+
+        while (!segments.isEmpty()) {
+            Segment head = segments.peekFirst();
+            if (head.readPosition() < head.writePosition()) {
+                break;
+            }
+            segments.pollFirst();
+            head.reset(nextSequence++);
+            freeSegments.addLast(head);
+        }
+    }
+
+    /**
+     * Forget the points returned by {@link #read(int)} since the last acknowledge, they are read again
+     */
+    public synchronized void rollback() {
+        pendingAcknowledge.clear();
+        pendingCount = 0;
+    }
+
+    /**
+     * @return number of points in the buffer
+     */
+    public synchronized long size() {
+        return size;
+    }
+
+    public synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return number of points discarded because the buffer was full
+     */
+    public synchronized long getDroppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * Flush all segments to disk and close the files
+     */
+    public synchronized void close() {
+        for (Segment segment : segments) {
+            segment.close();
+        }
+        for (Segment segment : freeSegments) {
+            segment.close();
+        }
+        segments.clear();
+        freeSegments.clear();
+    }
+
+    private @Nullable Segment nextSegment() throws IOException {
+        Segment segment = freeSegments.pollFirst();
+        if (segment != null) {
+            segment.reset(nextSequence++);
+            return segment;
+        }
+        if (segmentCount >= maxSegments) {
+            return null;
+        }
+        Path path = directory.resolve(String.format("%s%010d%s", SEGMENT_PREFIX, nextSequence, SEGMENT_SUFFIX));
+        segment = new Segment(path, segmentSize, nextSequence++);
+        segmentCount++;
+        return segment;
+    }
+
+    private int pendingPosition(Segment segment) {
+        for (ReadMark mark : pendingAcknowledge) {
+            if (mark.segment() == segment) {
+                return mark.position();
+            }
+        }
+        return segment.readPosition();
+    }
+
+    private void setPendingPosition(Segment segment, int position) {
+        pendingAcknowledge.removeIf(mark -> mark.segment() == segment);
+        pendingAcknowledge.add(new ReadMark(segment, position));
+    }
+
+    private byte[] encode(InfluxPoint point) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(point.getMeasurementName());
+            out.writeLong(point.getTime().getEpochSecond());
+            out.writeInt(point.getTime().getNano());
+            Object value = point.getValue();
+            if (value == null) {
+                out.writeByte(VALUE_NULL);
+            } else if (value instanceof BigDecimal decimal) {
+                out.writeByte(VALUE_DECIMAL);
+                out.writeUTF(decimal.toString());
+            } else if (value instanceof Integer integer) {
+                out.writeByte(VALUE_INTEGER);
+                out.writeInt(integer);
+            } else if (value instanceof Long longValue) {
+                out.writeByte(VALUE_LONG);
+                out.writeLong(longValue);
+            } else if (value instanceof Boolean booleanValue) {
+                out.writeByte(VALUE_BOOLEAN);
+                out.writeBoolean(booleanValue);
+            } else if (value instanceof Number number) {
+                out.writeByte(VALUE_DOUBLE);
+                out.writeDouble(number.doubleValue());
+            } else {
+                out.writeByte(VALUE_STRING);
+                writeString(out, value.toString());
+            }
+            Map<String, String> tags = point.getTags();
+            out.writeInt(tags.size());
+            for (Map.Entry<String, String> tag : tags.entrySet()) {
+                out.writeUTF(tag.getKey());
+                writeString(out, tag.getValue());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private InfluxPoint decode(byte[] record) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(record))) {
+            InfluxPoint.Builder builder = InfluxPoint.newBuilder(in.readUTF())
+                    .withTime(Instant.ofEpochSecond(in.readLong(), in.readInt()));
+            byte valueType = in.readByte();
+            switch (valueType) {
+                case VALUE_NULL -> {
+                }
+                case VALUE_STRING -> builder.withValue(readString(in));
+                case VALUE_DECIMAL -> builder.withValue(new BigDecimal(in.readUTF()));
+                case VALUE_INTEGER -> builder.withValue(in.readInt());
+                case VALUE_LONG -> builder.withValue(in.readLong());
+                case VALUE_BOOLEAN -> builder.withValue(in.readBoolean());
+                case VALUE_DOUBLE -> builder.withValue(in.readDouble());
+                default -> throw new IOException("Unknown value type " + valueType);
+            }
+            int tagCount = in.readInt();
+            for (int i = 0; i < tagCount; i++) {
+                builder.withTag(in.readUTF(), readString(in));
+            }
+            return builder.build();
+        }
+    }
+
+    private void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private record ReadMark(Segment segment, int position) {
+    }
+
+    /**
+     * A memory-mapped segment file
+     */
+    private class Segment {
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+
+        /**
+         * Open an existing segment file
+         */
+        Segment(Path path) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC
+                    || writePosition() > buffer.capacity()) {
+                channel.close();
+                throw new IOException("'" + path + "' is not a valid buffer segment");
+            }
+        }
+
+        /**
+         * Create a new segment file
+         */
+        Segment(Path path, int size, long sequence) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(0, MAGIC);
+            reset(sequence);
+        }
+
+        long sequence() {
+            return buffer.getLong(SEQUENCE_OFFSET);
+        }
+
+        int writePosition() {
+            return buffer.getInt(WRITE_POSITION_OFFSET);
+        }
+
+        int readPosition() {
+            return buffer.getInt(READ_POSITION_OFFSET);
+        }
+
+        void setReadPosition(int position) {
+            buffer.putInt(READ_POSITION_OFFSET, position);
+        }
+
+        boolean hasRoom(int recordLength) {
+            return writePosition() + Integer.BYTES + recordLength <= buffer.capacity();
+        }
+
+        void append(byte[] record) {
+            int position = writePosition();
+            buffer.putInt(position, record.length);
+            buffer.put(position + Integer.BYTES, record);
+            // the header is updated last, so a partially written record is never visible
+            buffer.putInt(WRITE_POSITION_OFFSET, position + Integer.BYTES + record.length);
+        }
+
+        byte[] recordAt(int position) {
+            byte[] record = new byte[buffer.getInt(position)];
+            buffer.get(position + Integer.BYTES, record);
+            return record;
+        }
+
+        int count() {
+            int count = 0;
+            int position = readPosition();
+            while (position < writePosition()) {
+                position += Integer.BYTES + buffer.getInt(position);
+                count++;
+            }
+            return count;
+        }
+
+        void reset(long sequence) {
+            buffer.putLong(SEQUENCE_OFFSET, sequence);
+            buffer.putInt(WRITE_POSITION_OFFSET, HEADER_SIZE);
+            buffer.putInt(READ_POSITION_OFFSET, HEADER_SIZE);
+        }
+
+        void close() {
+            try {
+                buffer.force();
+                channel.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close buffer segment: {}", e.getMessage());
+            }
+        }
+    }
+}
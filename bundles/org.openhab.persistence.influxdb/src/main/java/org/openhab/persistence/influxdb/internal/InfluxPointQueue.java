@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.ListIterator;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Bounded queue of points waiting to be written to the database
+ *
+ * When the queue is full, the configured {@link InfluxDBOverflowPolicy} decides which point is discarded. With
+ * {@link InfluxDBOverflowPolicy#SPILL} no point is discarded, the new point is rejected and has to be stored by the
+ * caller. Points of a failed write can be put back to the head of the queue, so they are written before newer points.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxPointQueue {
+    private final Deque<InfluxPoint> points = new ArrayDeque<>();
+    private final int capacity;
+    private final InfluxDBOverflowPolicy overflowPolicy;
+
+    private long droppedCount = 0;
+
+    public InfluxPointQueue(int capacity, InfluxDBOverflowPolicy overflowPolicy) {
+        this.capacity = Math.max(1, capacity);
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * Add a point to the tail of the queue
+     *
+     * @param point the point to add
+     * @return <code>true</code> if the point was queued without discarding a point, otherwise <code>false</code>
+     */
+    public synchronized boolean offer(InfluxPoint point) {
+        if (points.size() < capacity) {
+            points.addLast(point);
+            return true;
+        }
+        if (overflowPolicy == InfluxDBOverflowPolicy.SPILL) {
+            return false;
+        }
+        droppedCount++;
+        if (overflowPolicy == InfluxDBOverflowPolicy.DROP_OLDEST) {
+            points.pollFirst();
+            points.addLast(point);
+        }
+        return false;
+    }
+
+    /**
+     * Remove points from the head of the queue
+     *
+     * @param maxPoints maximum number of points to remove
+     * @return the removed points, empty if the queue is empty
+     */
+    public synchronized List<InfluxPoint> poll(int maxPoints) {
+        int count = Math.min(maxPoints, points.size());
+        List<InfluxPoint> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(points.pollFirst());
+        }
+        return result;
+    }
+
+    /**
+     * Put points back to the head of the queue, keeping their order
+     *
+     * If the queue is full, the oldest of the given points are discarded.
+     *
+     * @param failedPoints the points to put back
+     */
+    public synchronized void requeue(List<InfluxPoint> failedPoints) {
+        ListIterator<InfluxPoint> iterator = failedPoints.listIterator(failedPoints.size());
+        while (iterator.hasPrevious()) {
+            InfluxPoint point = iterator.previous();
+            if (points.size() < capacity) {
+                points.addFirst(point);
+            } else {
+                droppedCount++;
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return points.size();
+    }
+
+    public synchronized boolean isEmpty() {
+        return points.isEmpty();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return number of points discarded because the queue was full
+     */
+    public synchronized long getDroppedCount() {
+        return droppedCount;
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDBWriteAheadBufferTest {
+    private static final int SEGMENT_SIZE = 1024;
+
+    private @TempDir @NonNullByDefault({}) Path directory;
+
+    private InfluxPoint point(int value) {
+        return InfluxPoint.newBuilder("measurement").withTime(Instant.ofEpochSecond(value, 123))
+                .withValue(BigDecimal.valueOf(value)).withTag("item", "item" + value).build();
+    }
+
+    private List<Object> values(List<InfluxPoint> points) {
+        return points.stream().map(InfluxPoint::getValue).toList();
+    }
+
+    @Test
+    public void readReturnsPointsInOrderAndAcknowledgeRemovesThem() throws IOException {
+        InfluxDBWriteAheadBuffer buffer = new InfluxDBWriteAheadBuffer(directory, SEGMENT_SIZE, 10 * SEGMENT_SIZE);
+        for (int i = 0; i < 50; i++) {
+            assertThat(buffer.append(point(i)), is(true));
+        }
+
+        List<InfluxPoint> points = buffer.read(30);
+        assertThat(points, hasSize(30));
+        assertThat(points.get(0).getTime(), is(Instant.ofEpochSecond(0, 123)));
+        assertThat(points.get(29).getTags().get("item"), is("item29"));
+        buffer.acknowledge();
+
+        assertThat(buffer.size(), is(20L));
+        assertThat(values(buffer.read(100)).get(0), is(BigDecimal.valueOf(30)));
+        buffer.acknowledge();
+        assertThat(buffer.isEmpty(), is(true));
+        buffer.close();
+    }
+
+    @Test
+    public void rollbackReadsPointsAgain() throws IOException {
+        InfluxDBWriteAheadBuffer buffer = new InfluxDBWriteAheadBuffer(directory, SEGMENT_SIZE, 10 * SEGMENT_SIZE);
+        buffer.append(point(1));
+        buffer.append(point(2));
+
+        buffer.read(1);
+        buffer.rollback();
+
+        assertThat(values(buffer.read(10)), contains(BigDecimal.valueOf(1), BigDecimal.valueOf(2)));
+        buffer.close();
+    }
+
+    @Test
+    public void unacknowledgedPointsSurviveReopening() throws IOException {
+        InfluxDBWriteAheadBuffer buffer = new InfluxDBWriteAheadBuffer(directory, SEGMENT_SIZE, 10 * SEGMENT_SIZE);
+        for (int i = 0; i < 50; i++) {
+            buffer.append(point(i));
+        }
+        buffer.read(10);
+        buffer.acknowledge();
+        buffer.read(10);
+        buffer.close();
+
+        buffer = new InfluxDBWriteAheadBuffer(directory, SEGMENT_SIZE, 10 * SEGMENT_SIZE);
+        assertThat(buffer.size(), is(40L));
+        assertThat(values(buffer.read(1)), contains(BigDecimal.valueOf(10)));
+        buffer.close();
+    }
+
+    @Test
+    public void appendFailsWhenBufferIsFull() throws IOException {
+        InfluxDBWriteAheadBuffer buffer = new InfluxDBWriteAheadBuffer(directory, SEGMENT_SIZE, SEGMENT_SIZE);
+        int appended = 0;
+        while (buffer.append(point(appended))) {
+            appended++;
+        }
+
+        assertThat(buffer.getDroppedCount(), is(1L));
+        buffer.read(appended);
+        buffer.acknowledge();
+        assertThat(buffer.append(point(0)), is(true));
+        buffer.close();
+    }
+}
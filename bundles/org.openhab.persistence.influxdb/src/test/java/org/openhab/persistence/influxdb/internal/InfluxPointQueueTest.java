@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxPointQueueTest {
+
+    private InfluxPoint point(int value) {
+        return InfluxPoint.newBuilder("measurement").withTime(Instant.ofEpochSecond(value)).withValue(value).build();
+    }
+
+    private List<Object> values(List<InfluxPoint> points) {
+        return points.stream().map(InfluxPoint::getValue).toList();
+    }
+
+    @Test
+    public void pollReturnsPointsInOrderLimitedToBatchSize() {
+        InfluxPointQueue queue = new InfluxPointQueue(10, InfluxDBOverflowPolicy.DROP_OLDEST);
+        for (int i = 0; i < 5; i++) {
+            queue.offer(point(i));
+        }
+
+        assertThat(values(queue.poll(3)), contains(0, 1, 2));
+        assertThat(values(queue.poll(3)), contains(3, 4));
+        assertThat(queue.poll(3), is(empty()));
+    }
+
+    @Test
+    public void dropOldestDiscardsHeadWhenFull() {
+        InfluxPointQueue queue = new InfluxPointQueue(2, InfluxDBOverflowPolicy.DROP_OLDEST);
+
+        assertThat(queue.offer(point(1)), is(true));
+        assertThat(queue.offer(point(2)), is(true));
+        assertThat(queue.offer(point(3)), is(false));
+
+        assertThat(values(queue.poll(10)), contains(2, 3));
+        assertThat(queue.getDroppedCount(), is(1L));
+    }
+
+    @Test
+    public void dropNewestDiscardsNewPointWhenFull() {
+        InfluxPointQueue queue = new InfluxPointQueue(2, InfluxDBOverflowPolicy.DROP_NEWEST);
+
+        queue.offer(point(1));
+        queue.offer(point(2));
+        queue.offer(point(3));
+
+        assertThat(values(queue.poll(10)), contains(1, 2));
+        assertThat(queue.getDroppedCount(), is(1L));
+    }
+
+    @Test
+    public void requeuedPointsAreWrittenFirst() {
+        InfluxPointQueue queue = new InfluxPointQueue(3, InfluxDBOverflowPolicy.DROP_OLDEST);
+        queue.offer(point(1));
+        queue.offer(point(2));
+        List<InfluxPoint> failed = queue.poll(2);
+        queue.offer(point(3));
+        queue.offer(point(4));
+
+        queue.requeue(failed);
+
+        assertThat(values(queue.poll(10)), contains(2, 3, 4));
+        assertThat(queue.getDroppedCount(), is(1L));
+    }
+}
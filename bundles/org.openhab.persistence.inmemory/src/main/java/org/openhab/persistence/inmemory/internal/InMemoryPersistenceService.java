@@ -12,16 +12,13 @@
  */
 package org.openhab.persistence.inmemory.internal;
 
-import java.time.Instant;
 import java.time.ZonedDateTime;
-import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -66,11 +63,13 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
     protected static final String CONFIG_URI = "persistence:inmemory";
     private final String MAX_ENTRIES_CONFIG = "maxEntries";
     private final long MAX_ENTRIES_DEFAULT = 512;
+    private final String COMPACT_NUMBERS_CONFIG = "compactNumbers";
 
     private final Logger logger = LoggerFactory.getLogger(InMemoryPersistenceService.class);
 
     private final Map<String, PersistItem> persistMap = new ConcurrentHashMap<>();
     private long maxEntries = MAX_ENTRIES_DEFAULT;
+    private boolean compactNumbers = false;
 
     @Activate
     public void activate(Map<String, Object> config) {
@@ -81,14 +80,13 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
     @Modified
     public void modified(Map<String, Object> config) {
         maxEntries = ConfigParser.valueAsOrElse(config.get(MAX_ENTRIES_CONFIG), Long.class, MAX_ENTRIES_DEFAULT);
+        compactNumbers = ConfigParser.valueAsOrElse(config.get(COMPACT_NUMBERS_CONFIG), Boolean.class, false);
 
         persistMap.values().forEach(persistItem -> {
-            Lock lock = persistItem.lock();
+            Lock lock = persistItem.lock;
             lock.lock();
             try {
-                while (persistItem.database().size() > maxEntries) {
-                    persistItem.database().pollFirst();
-                }
+                persistItem.storage.trim(maxEntries);
             } finally {
                 lock.unlock();
             }
@@ -148,11 +146,10 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
             return false;
         }
 
-        Lock lock = persistItem.lock();
+        Lock lock = persistItem.lock;
         lock.lock();
         try {
-            List<PersistEntry> toRemove = persistItem.database().stream().filter(e -> applies(e, filter)).toList();
-            toRemove.forEach(persistItem.database()::remove);
+            persistItem.storage.remove(filter.getBeginDate(), filter.getEndDate(), e -> appliesToState(e, filter));
         } finally {
             lock.unlock();
         }
@@ -171,15 +168,15 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
             return List.of();
         }
 
-        Lock lock = persistItem.lock();
+        Lock lock = persistItem.lock;
         lock.lock();
-
-        Comparator<PersistEntry> comparator = filter.getOrdering() == FilterCriteria.Ordering.ASCENDING
-                ? Comparator.comparing(PersistEntry::timestamp)
-                : Comparator.comparing(PersistEntry::timestamp).reversed();
-
         try {
-            return persistItem.database().stream().filter(e -> applies(e, filter)).sorted(comparator)
+            // the storage returns the requested range already ordered, so paging can be applied directly
+            return persistItem.storage
+                    .range(filter.getBeginDate(), filter.getEndDate(),
+                            filter.getOrdering() == FilterCriteria.Ordering.ASCENDING)
+                    .filter(e -> appliesToState(e, filter))
+                    .skip((long) filter.getPageNumber() * filter.getPageSize()).limit(filter.getPageSize())
                     .map(e -> toHistoricItem(itemName, e)).toList();
         } finally {
             lock.unlock();
@@ -193,13 +190,16 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
     }
 
     private PersistenceItemInfo toItemInfo(Map.Entry<String, PersistItem> itemEntry) {
-        Lock lock = itemEntry.getValue().lock();
+        Lock lock = itemEntry.getValue().lock;
         lock.lock();
         try {
             String name = itemEntry.getKey();
-            Integer count = itemEntry.getValue().database().size();
-            Instant earliest = itemEntry.getValue().database().first().timestamp().toInstant();
-            Instant latest = itemEntry.getValue().database.last().timestamp.toInstant();
+            ItemStorage storage = itemEntry.getValue().storage;
+            Integer count = storage.size();
+            ZonedDateTime first = storage.first();
+            ZonedDateTime last = storage.last();
+            Date earliest = first == null ? null : Date.from(first.toInstant());
+            Date latest = last == null ? null : Date.from(last.toInstant());
             return new PersistenceItemInfo() {
 
                 @Override
@@ -214,12 +214,12 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
 
                 @Override
                 public @Nullable Date getEarliest() {
-                    return Date.from(earliest);
+                    return earliest;
                 }
 
                 @Override
                 public @Nullable Date getLatest() {
-                    return Date.from(latest);
+                    return latest;
                 }
             };
         } finally {
@@ -252,33 +252,30 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
         }
 
         PersistItem persistItem = Objects.requireNonNull(persistMap.computeIfAbsent(itemName,
-                k -> new PersistItem(new TreeSet<>(Comparator.comparing(PersistEntry::timestamp)),
-                        new ReentrantLock())));
+                k -> new PersistItem(compactNumbers && NumericRingItemStorage.supports(state)
+                        ? new NumericRingItemStorage(state, timestamp.getZone())
+                        : new TreeItemStorage())));
 
-        Lock lock = persistItem.lock();
+        Lock lock = persistItem.lock;
         lock.lock();
         try {
-            persistItem.database().add(new PersistEntry(timestamp, state));
-
-            while (persistItem.database.size() > maxEntries) {
-                persistItem.database().pollFirst();
+            PersistEntry entry = new PersistEntry(timestamp, state);
+            if (!persistItem.storage.add(entry)) {
+                // the state does not fit into the compact storage, keep all values of this item in a tree from now on
+                logger.debug("Converting storage of item '{}' because state '{}' is not supported", itemName, state);
+                ItemStorage storage = new TreeItemStorage();
+                persistItem.storage.range(null, null, true).forEach(storage::add);
+                storage.add(entry);
+                persistItem.storage = storage;
             }
+            persistItem.storage.trim(maxEntries);
         } finally {
             lock.unlock();
         }
     }
 
     @SuppressWarnings("unchecked")
-    private boolean applies(PersistEntry entry, FilterCriteria filter) {
-        ZonedDateTime beginDate = filter.getBeginDate();
-        if (beginDate != null && beginDate.isAfter(entry.timestamp())) {
-            return false;
-        }
-        ZonedDateTime endDate = filter.getEndDate();
-        if (endDate != null && endDate.isBefore(entry.timestamp())) {
-            return false;
-        }
-
+    private boolean appliesToState(PersistEntry entry, FilterCriteria filter) {
         State refState = filter.getState();
         FilterCriteria.Operator operator = filter.getOperator();
         if (refState == null) {
@@ -294,7 +291,8 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
             return !entry.state().equals(refState);
         }
 
-        if (entry.state() instanceof Comparable comparableState && entry.state.getClass().equals(refState.getClass())) {
+        if (entry.state() instanceof Comparable comparableState
+                && entry.state().getClass().equals(refState.getClass())) {
             if (operator == FilterCriteria.Operator.GT) {
                 return comparableState.compareTo(refState) > 0;
             }
@@ -313,9 +311,12 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
         return true;
     }
 
-    private record PersistEntry(ZonedDateTime timestamp, State state) {
-    }
+    private static class PersistItem {
+        private final Lock lock = new ReentrantLock();
+        private ItemStorage storage;
 
-    private record PersistItem(TreeSet<PersistEntry> database, Lock lock) {
+        private PersistItem(ItemStorage storage) {
+            this.storage = storage;
+        }
     }
 }
@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.inmemory.internal;
+
+import java.time.ZonedDateTime;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The {@link ItemStorage} holds the values of a single item, ordered by timestamp.
+ *
+ * Implementations are not thread-safe, access is guarded by the lock of the item.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+interface ItemStorage {
+
+    /**
+     * Adds a value. A value with the same timestamp as an existing one is ignored.
+     *
+     * @param entry the value to add
+     * @return false if the value cannot be held by this storage
+     */
+    boolean add(PersistEntry entry);
+
+    /**
+     * Removes the oldest values until at most maxEntries values are left.
+     *
+     * @param maxEntries the maximum number of values, 0 for no limit
+     */
+    void trim(long maxEntries);
+
+    int size();
+
+    @Nullable
+    ZonedDateTime first();
+
+    @Nullable
+    ZonedDateTime last();
+
+    /**
+     * Returns the values between the given dates (inclusive), without copying or sorting them.
+     *
+     * @param begin the earliest timestamp, null for no limit
+     * @param end the latest timestamp, null for no limit
+     * @param ascending the order of the returned values
+     * @return the values, must be consumed while holding the lock of the item
+     */
+    Stream<PersistEntry> range(@Nullable ZonedDateTime begin, @Nullable ZonedDateTime end, boolean ascending);
+
+    /**
+     * Removes the values between the given dates (inclusive) that match the filter.
+     */
+    void remove(@Nullable ZonedDateTime begin, @Nullable ZonedDateTime end, Predicate<PersistEntry> filter);
+}
@@ -0,0 +1,231 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.inmemory.internal;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import javax.measure.Unit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.types.State;
+
+/**
+ * The {@link NumericRingItemStorage} keeps the values of a numeric item in primitive arrays.
+ *
+ * Timestamps are stored as epoch milliseconds and values as doubles in a ring buffer ordered by timestamp, so no
+ * object is kept per value. Values are appended in constant time and the oldest value is dropped in constant time.
+ * Values older than the newest one are inserted at their position. All values must be {@link DecimalType}s or
+ * {@link QuantityType}s with the same unit, any other state is rejected by {@link #add(PersistEntry)}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class NumericRingItemStorage implements ItemStorage {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final @Nullable Unit<?> unit;
+    private final ZoneId zone;
+
+    private long[] times = new long[INITIAL_CAPACITY];
+    private double[] values = new double[INITIAL_CAPACITY];
+    private int head = 0;
+    private int size = 0;
+
+    /**
+     * Creates a storage for values of the same kind as the given state.
+     *
+     * @param state the first value, must be supported (see {@link #supports(State)})
+     * @param zone the time zone of the returned timestamps
+     */
+    NumericRingItemStorage(State state, ZoneId zone) {
+        this.unit = state instanceof QuantityType<?> quantity ? quantity.getUnit() : null;
+        this.zone = zone;
+    }
+
+    /**
+     * @return true if a storage can be created for the given state
+     */
+    static boolean supports(State state) {
+        return state.getClass() == DecimalType.class || state instanceof QuantityType<?>;
+    }
+
+    @Override
+    public boolean add(PersistEntry entry) {
+        double value;
+        State state = entry.state();
+        Unit<?> unit = this.unit;
+        if (unit == null && state.getClass() == DecimalType.class) {
+            value = ((DecimalType) state).doubleValue();
+        } else if (unit != null && state instanceof QuantityType<?> quantity && unit.equals(quantity.getUnit())) {
+            value = quantity.doubleValue();
+        } else {
+            return false;
+        }
+        long time = entry.timestamp().toInstant().toEpochMilli();
+
+        int index;
+        if (size == 0 || time > timeAt(size - 1)) {
+            index = size;
+        } else {
+            index = lowerIndex(time);
+            if (index < size && timeAt(index) == time) {
+                // same behaviour as the tree storage: keep the existing value
+                return true;
+            }
+        }
+        if (size == times.length) {
+            grow();
+        }
+        // move the newer values one position up
+        for (int i = size; i > index; i--) {
+            int to = physical(i);
+            int from = physical(i - 1);
+            times[to] = times[from];
+            values[to] = values[from];
+        }
+        int position = physical(index);
+        times[position] = time;
+        values[position] = value;
+        size++;
+        return true;
+    }
+
+    @Override
+    public void trim(long maxEntries) {
+        if (maxEntries > 0 && size > maxEntries) {
+            int dropped = (int) (size - maxEntries);
+            head = physical(dropped);
+            size -= dropped;
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public @Nullable ZonedDateTime first() {
+        return size == 0 ? null : toTimestamp(timeAt(0));
+    }
+
+    @Override
+    public @Nullable ZonedDateTime last() {
+        return size == 0 ? null : toTimestamp(timeAt(size - 1));
+    }
+
+    @Override
+    public Stream<PersistEntry> range(@Nullable ZonedDateTime begin, @Nullable ZonedDateTime end, boolean ascending) {
+        int from = begin == null ? 0 : lowerIndex(begin.toInstant().toEpochMilli());
+        int to = end == null ? size : upperIndex(end.toInstant().toEpochMilli());
+        if (from >= to) {
+            return Stream.empty();
+        }
+        IntStream indexes = ascending ? IntStream.range(from, to)
+                : IntStream.range(from, to).map(i -> to - 1 - i + from);
+        return indexes.mapToObj(this::entryAt);
+    }
+
+    @Override
+    public void remove(@Nullable ZonedDateTime begin, @Nullable ZonedDateTime end, Predicate<PersistEntry> filter) {
+        int from = begin == null ? 0 : lowerIndex(begin.toInstant().toEpochMilli());
+        int to = end == null ? size : upperIndex(end.toInstant().toEpochMilli());
+        int kept = from;
+        for (int i = from; i < size; i++) {
+            if (i < to && filter.test(entryAt(i))) {
+                continue;
+            }
+            if (kept != i) {
+                times[physical(kept)] = timeAt(i);
+                values[physical(kept)] = values[physical(i)];
+            }
+            kept++;
+        }
+        size = kept;
+    }
+
+    private PersistEntry entryAt(int index) {
+        double value = values[physical(index)];
+        Unit<?> unit = this.unit;
+        State state = unit == null ? new DecimalType(value) : QuantityType.valueOf(value, unit);
+        return new PersistEntry(toTimestamp(timeAt(index)), state);
+    }
+
+    private ZonedDateTime toTimestamp(long time) {
+        return ZonedDateTime.ofInstant(Instant.ofEpochMilli(time), zone);
+    }
+
+    private long timeAt(int index) {
+        return times[physical(index)];
+    }
+
+    private int physical(int index) {
+        int position = head + index;
+        return position < times.length ? position : position - times.length;
+    }
+
+    /**
+     * @return the index of the first value at or after the given time
+     */
+    private int lowerIndex(long time) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timeAt(mid) < time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return the index of the first value after the given time
+     */
+    private int upperIndex(long time) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timeAt(mid) <= time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void grow() {
+        int capacity = times.length * 2;
+        long[] newTimes = new long[capacity];
+        double[] newValues = new double[capacity];
+        for (int i = 0; i < size; i++) {
+            newTimes[i] = timeAt(i);
+            newValues[i] = values[physical(i)];
+        }
+        times = newTimes;
+        values = newValues;
+        head = 0;
+    }
+}
@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.inmemory.internal;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.types.UnDefType;
+
+/**
+ * The {@link TreeItemStorage} keeps the values of an item in a {@link TreeSet} and can hold any state.
+ *
+ * Range queries use views of the set, so only the requested values are visited.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class TreeItemStorage implements ItemStorage {
+    private final TreeSet<PersistEntry> database = new TreeSet<>(Comparator.comparing(PersistEntry::timestamp));
+
+    @Override
+    public boolean add(PersistEntry entry) {
+        database.add(entry);
+        return true;
+    }
+
+    @Override
+    public void trim(long maxEntries) {
+        if (maxEntries > 0) {
+            while (database.size() > maxEntries) {
+                database.pollFirst();
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return database.size();
+    }
+
+    @Override
+    public @Nullable ZonedDateTime first() {
+        return database.isEmpty() ? null : database.first().timestamp();
+    }
+
+    @Override
+    public @Nullable ZonedDateTime last() {
+        return database.isEmpty() ? null : database.last().timestamp();
+    }
+
+    @Override
+    public Stream<PersistEntry> range(@Nullable ZonedDateTime begin, @Nullable ZonedDateTime end, boolean ascending) {
+        NavigableSet<PersistEntry> view = view(begin, end);
+        return (ascending ? view : view.descendingSet()).stream();
+    }
+
+    @Override
+    public void remove(@Nullable ZonedDateTime begin, @Nullable ZonedDateTime end, Predicate<PersistEntry> filter) {
+        view(begin, end).removeIf(filter);
+    }
+
+    private NavigableSet<PersistEntry> view(@Nullable ZonedDateTime begin, @Nullable ZonedDateTime end) {
+        if (begin != null && end != null) {
+            if (begin.isAfter(end)) {
+                return Collections.emptyNavigableSet();
+            }
+            return database.subSet(lowerBound(begin), true, upperBound(end), true);
+        } else if (begin != null) {
+            return database.tailSet(lowerBound(begin), true);
+        } else if (end != null) {
+            return database.headSet(upperBound(end), true);
+        }
+        return database;
+    }
+
+    /*
+     * Timestamps with the same instant are ordered by their local time, so the bounds are moved to the zones with the
+     * earliest and latest local time to include all of them.
+     */
+    private static PersistEntry lowerBound(ZonedDateTime begin) {
+        return new PersistEntry(begin.withZoneSameInstant(ZoneOffset.MIN), UnDefType.NULL);
+    }
+
+    private static PersistEntry upperBound(ZonedDateTime end) {
+        return new PersistEntry(end.withZoneSameInstant(ZoneOffset.MAX), UnDefType.NULL);
+    }
+}
@@ -21,6 +21,7 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.TreeSet;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -35,6 +36,7 @@ import org.openhab.core.items.GenericItem;
 import org.openhab.core.library.types.DecimalType;
 import org.openhab.core.library.types.HSBType;
 import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.QuantityType;
 import org.openhab.core.library.types.StringType;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
@@ -275,4 +277,76 @@ public class InMemoryPersistenceTests {
 
         // begin date is before first date is already covered by case #1
     }
+
+    @Test
+    public void querySupportsPaging() {
+        ZonedDateTime start = ZonedDateTime.of(2020, 12, 1, 12, 0, 0, 0, ZoneId.systemDefault());
+        for (int i = 0; i < 10; i++) {
+            service.store(item, start.plusHours(i), new DecimalType(i));
+        }
+
+        filterCriteria.setOrdering(FilterCriteria.Ordering.DESCENDING);
+        filterCriteria.setPageSize(3);
+        filterCriteria.setPageNumber(1);
+
+        List<Integer> resultSet = new ArrayList<>();
+        service.query(filterCriteria).forEach(h -> resultSet.add(((DecimalType) h.getState()).intValue()));
+
+        assertThat(resultSet, contains(6, 5, 4));
+    }
+
+    @Test
+    public void maxEntriesZeroKeepsAllValues() {
+        service.activate(Map.of("maxEntries", 0L));
+
+        ZonedDateTime start = ZonedDateTime.of(2020, 12, 1, 12, 0, 0, 0, ZoneId.systemDefault());
+        for (int i = 0; i < 600; i++) {
+            service.store(item, start.plusMinutes(i), new DecimalType(i));
+        }
+
+        List<HistoricItem> resultSet = new ArrayList<>();
+        service.query(filterCriteria).forEach(resultSet::add);
+
+        assertThat(resultSet, hasSize(600));
+    }
+
+    @Test
+    public void compactNumbersKeepsOrderAndLimit() {
+        service.activate(Map.of("maxEntries", 3L, "compactNumbers", true));
+
+        ZonedDateTime start = ZonedDateTime.of(2020, 12, 1, 12, 0, 0, 0, ZoneId.systemDefault());
+        service.store(item, start.plusHours(3), new QuantityType<>("3 W"));
+        service.store(item, start.plusHours(1), new QuantityType<>("1 W"));
+        service.store(item, start.plusHours(4), new QuantityType<>("4 W"));
+        service.store(item, start.plusHours(2), new QuantityType<>("2 W"));
+        service.store(item, start.plusHours(1), new QuantityType<>("5 W"));
+
+        filterCriteria.setOrdering(FilterCriteria.Ordering.ASCENDING);
+        filterCriteria.setBeginDate(start.plusHours(2));
+
+        List<HistoricItem> resultSet = new ArrayList<>();
+        service.query(filterCriteria).forEach(resultSet::add);
+
+        assertThat(resultSet, hasSize(3));
+        assertThat(resultSet.get(0).getState(), is(new QuantityType<>("2 W")));
+        assertThat(resultSet.get(0).getTimestamp(), is(start.plusHours(2)));
+        assertThat(resultSet.get(2).getState(), is(new QuantityType<>("4 W")));
+    }
+
+    @Test
+    public void compactNumbersFallsBackForOtherStates() {
+        service.activate(Map.of("compactNumbers", true));
+
+        ZonedDateTime start = ZonedDateTime.of(2020, 12, 1, 12, 0, 0, 0, ZoneId.systemDefault());
+        service.store(item, start, new DecimalType(1));
+        service.store(item, start.plusHours(1), new DecimalType(2));
+        service.store(item, start.plusHours(2), new StringType("value3"));
+
+        filterCriteria.setOrdering(FilterCriteria.Ordering.ASCENDING);
+
+        List<State> resultSet = new ArrayList<>();
+        service.query(filterCriteria).forEach(h -> resultSet.add(h.getState()));
+
+        assertThat(resultSet, contains(new DecimalType(1), new DecimalType(2), new StringType("value3")));
+    }
 }
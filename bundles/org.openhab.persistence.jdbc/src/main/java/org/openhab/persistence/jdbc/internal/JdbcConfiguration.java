@@ -66,6 +66,13 @@ public class JdbcConfiguration {
 
     private int errReconnectThreshold = 0;
 
+    private boolean batchWrite = false;
+    private int batchSize = 100;
+    private int batchInterval = 1000;
+    private int batchQueueSize = 10000;
+
+    private int queryPageSize = 0;
+
     public int timerCount = 0;
     public int time1000Statements = 0;
     public long timer1000 = 0;
@@ -191,6 +198,36 @@ public class JdbcConfiguration {
             logger.debug("JDBC::updateConfig: rebuildTableNames={}", rebuildTableNames);
         }
 
+        String bw = (String) configuration.get("batchWrite");
+        if (bw != null && !bw.isBlank()) {
+            batchWrite = Boolean.parseBoolean(bw);
+            logger.debug("JDBC::updateConfig: batchWrite={}", batchWrite);
+        }
+
+        String bs = (String) configuration.get("batchSize");
+        if (bs != null && !bs.isBlank() && isNumericPattern.matcher(bs).matches()) {
+            batchSize = Math.max(1, Integer.parseInt(bs));
+            logger.debug("JDBC::updateConfig: batchSize={}", batchSize);
+        }
+
+        String bi = (String) configuration.get("batchInterval");
+        if (bi != null && !bi.isBlank() && isNumericPattern.matcher(bi).matches()) {
+            batchInterval = Math.max(1, Integer.parseInt(bi));
+            logger.debug("JDBC::updateConfig: batchInterval={}", batchInterval);
+        }
+
+        String bq = (String) configuration.get("batchQueueSize");
+        if (bq != null && !bq.isBlank() && isNumericPattern.matcher(bq).matches()) {
+            batchQueueSize = Math.max(batchSize, Integer.parseInt(bq));
+            logger.debug("JDBC::updateConfig: batchQueueSize={}", batchQueueSize);
+        }
+
+        String qp = (String) configuration.get("queryPageSize");
+        if (qp != null && !qp.isBlank() && isNumericPattern.matcher(qp).matches()) {
+            queryPageSize = Math.max(0, Integer.parseInt(qp));
+            logger.debug("JDBC::updateConfig: queryPageSize={}", queryPageSize);
+        }
+
         // undocumented
         String ac = (String) configuration.get("maximumPoolSize");
         if (ac != null && !ac.isBlank()) {
@@ -375,6 +412,26 @@ public class JdbcConfiguration {
         return errReconnectThreshold;
     }
 
+    public boolean getBatchWrite() {
+        return batchWrite;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getBatchInterval() {
+        return batchInterval;
+    }
+
+    public int getBatchQueueSize() {
+        return batchQueueSize;
+    }
+
+    public int getQueryPageSize() {
+        return queryPageSize;
+    }
+
     public boolean getRebuildTableNames() {
         return rebuildTableNames;
     }
@@ -427,6 +484,7 @@ public class JdbcConfiguration {
         dBDAO.initAfterFirstDbConnection();
         // Running once again to prior external configured SqlTypes!
         setSqlTypes();
+        dBDAO.clearStatementCache();
         this.dbConnected = dbConnected;
     }
 
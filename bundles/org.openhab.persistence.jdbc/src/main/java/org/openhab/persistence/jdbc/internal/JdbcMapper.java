@@ -13,6 +13,7 @@
 package org.openhab.persistence.jdbc.internal;
 
 import java.sql.SQLInvalidAuthorizationSpecException;
+import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -20,6 +21,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -32,10 +35,13 @@ import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.persistence.PersistenceItemInfo;
 import org.openhab.core.types.State;
+import org.openhab.persistence.jdbc.internal.db.JdbcBaseDAO;
+import org.openhab.persistence.jdbc.internal.dto.AggregationFunction;
 import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
 import org.openhab.persistence.jdbc.internal.dto.JdbcPersistenceItemInfo;
+import org.openhab.persistence.jdbc.internal.dto.PendingItemValue;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcException;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.slf4j.Logger;
@@ -59,7 +65,11 @@ public class JdbcMapper {
     protected int errCnt;
     protected boolean initialized = false;
     protected @NonNullByDefault({}) JdbcConfiguration conf;
-    protected final Map<String, String> itemNameToTableNameMap = new HashMap<>();
+    protected final Map<String, String> itemNameToTableNameMap = new ConcurrentHashMap<>();
+    // guards the creation of item tables, lookups in itemNameToTableNameMap do not need it
+    private final Object tableCreationLock = new Object();
+    private final AtomicLong tableLookupHits = new AtomicLong();
+    private final AtomicLong tablesCreated = new AtomicLong();
     protected @NonNullByDefault({}) NamingStrategy namingStrategy;
     private long afterAccessMin = 10000;
     private long afterAccessMax = 0;
@@ -225,23 +235,49 @@ public class JdbcMapper {
         errCnt = 0;
     }
 
+    protected void storeItemValues(Item item, List<PendingItemValue> values) throws JdbcException {
+        logger.debug("JDBC::storeItemValues: item={} count={}", item, values.size());
+        String tableName = getTable(item);
+        long timerStart = System.currentTimeMillis();
+        conf.getDBDAO().doStoreItemValues(item, new ItemVO(tableName, null), values);
+        logTime("storeItemValues", timerStart, System.currentTimeMillis());
+        errCnt = 0;
+    }
+
     public long getRowCount(String tableName) throws JdbcSQLException {
         return conf.getDBDAO().doGetRowCount(tableName);
     }
 
     protected List<HistoricItem> getHistItemFilterQuery(FilterCriteria filter, int numberDecimalcount, String table,
             Item item) throws JdbcSQLException {
+        return getHistItemFilterQuery(filter, null, numberDecimalcount, table, item);
+    }
+
+    protected List<HistoricItem> getHistItemFilterQuery(FilterCriteria filter, @Nullable ZonedDateTime pageStart,
+            int numberDecimalcount, String table, Item item) throws JdbcSQLException {
         logger.debug(
                 "JDBC::getHistItemFilterQuery filter='{}' numberDecimalcount='{}' table='{}' item='{}' itemName='{}'",
                 true, numberDecimalcount, table, item, item.getName());
         long timerStart = System.currentTimeMillis();
-        List<HistoricItem> result = conf.getDBDAO().doGetHistItemFilterQuery(item, filter, numberDecimalcount, table,
-                item.getName(), timeZoneProvider.getTimeZone());
+        List<HistoricItem> result = conf.getDBDAO().doGetHistItemFilterQuery(item, filter, pageStart,
+                numberDecimalcount, table, item.getName(), timeZoneProvider.getTimeZone());
         logTime("getHistItemFilterQuery", timerStart, System.currentTimeMillis());
         errCnt = 0;
         return result;
     }
 
+    protected List<HistoricItem> getAggregatedItemValues(FilterCriteria filter, AggregationFunction function,
+            Duration bucket, String table, Item item) throws JdbcSQLException {
+        logger.debug("JDBC::getAggregatedItemValues function='{}' bucket='{}' table='{}' itemName='{}'", function,
+                bucket, table, item.getName());
+        long timerStart = System.currentTimeMillis();
+        List<HistoricItem> result = conf.getDBDAO().doGetAggregatedItemValues(item, filter, function, bucket, table,
+                timeZoneProvider.getTimeZone());
+        logTime("getAggregatedItemValues", timerStart, System.currentTimeMillis());
+        errCnt = 0;
+        return result;
+    }
+
     protected void deleteItemValues(FilterCriteria filter, String table) throws JdbcSQLException {
         logger.debug("JDBC::deleteItemValues filter='{}' table='{}' itemName='{}'", true, table, filter.getItemName());
         long timerStart = System.currentTimeMillis();
@@ -335,10 +371,10 @@ public class JdbcMapper {
     }
 
     public void populateItemNameToTableNameMap() throws JdbcSQLException {
-        itemNameToTableNameMap.clear();
+        Map<String, String> tableNames = new HashMap<>();
         if (conf.getTableUseRealCaseSensitiveItemNames()) {
             for (String itemName : getItemTables().stream().map(t -> t.getTableName()).collect(Collectors.toList())) {
-                itemNameToTableNameMap.put(itemName, itemName);
+                tableNames.put(itemName, itemName);
             }
         } else {
             for (ItemsVO vo : getItemIDTableNames()) {
@@ -347,10 +383,13 @@ public class JdbcMapper {
                     logger.warn("Skipping invalid item name {}", itemName);
                     continue;
                 }
-                itemNameToTableNameMap.put(vo.getItemName(),
-                        namingStrategy.getTableName(vo.getItemId(), vo.getItemName()));
+                tableNames.put(vo.getItemName(), namingStrategy.getTableName(vo.getItemId(), vo.getItemName()));
             }
         }
+        synchronized (tableCreationLock) {
+            itemNameToTableNameMap.clear();
+            itemNameToTableNameMap.putAll(tableNames);
+        }
     }
 
     protected String getTable(Item item) throws JdbcException {
@@ -362,9 +401,23 @@ public class JdbcMapper {
         // Table already exists - return the name
         String tableName = itemNameToTableNameMap.get(itemName);
         if (!Objects.isNull(tableName)) {
+            tableLookupHits.incrementAndGet();
             return tableName;
         }
 
+        synchronized (tableCreationLock) {
+            // another thread may have created the table in the meantime
+            tableName = itemNameToTableNameMap.get(itemName);
+            if (!Objects.isNull(tableName)) {
+                tableLookupHits.incrementAndGet();
+                return tableName;
+            }
+            return createTable(item);
+        }
+    }
+
+    private String createTable(Item item) throws JdbcException {
+        String itemName = item.getName();
         logger.debug("JDBC::getTable: no table found for item '{}' in itemNameToTableNameMap", itemName);
 
         int itemId = 0;
@@ -383,7 +436,7 @@ public class JdbcMapper {
 
         // Create the table name
         logger.debug("JDBC::getTable: getTableName with rowId={} itemName={}", itemId, itemName);
-        tableName = namingStrategy.getTableName(itemId, itemName);
+        String tableName = namingStrategy.getTableName(itemId, itemName);
 
         // Create table for item
         String dataType = conf.getDBDAO().getDataType(item);
@@ -394,10 +447,23 @@ public class JdbcMapper {
                 dataType);
 
         itemNameToTableNameMap.put(itemName, tableName);
+        tablesCreated.incrementAndGet();
 
         return tableName;
     }
 
+    public JdbcBaseDAO getDBDAO() {
+        return conf.getDBDAO();
+    }
+
+    public long getTableLookupHits() {
+        return tableLookupHits.get();
+    }
+
+    public long getTablesCreated() {
+        return tablesCreated.get();
+    }
+
     private void formatTableNames() throws JdbcSQLException {
         boolean tmpinit = initialized;
         if (tmpinit) {
@@ -12,10 +12,12 @@
  */
 package org.openhab.persistence.jdbc.internal;
 
+import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -34,6 +36,10 @@ import org.openhab.core.items.GroupItem;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
+import org.openhab.core.library.items.ColorItem;
+import org.openhab.core.library.items.DimmerItem;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.items.RollershutterItem;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.persistence.ModifiablePersistenceService;
@@ -44,10 +50,13 @@ import org.openhab.core.persistence.strategy.PersistenceStrategy;
 import org.openhab.core.types.State;
 import org.openhab.core.types.UnDefType;
 import org.openhab.persistence.jdbc.internal.db.JdbcBaseDAO;
+import org.openhab.persistence.jdbc.internal.dto.AggregationFunction;
 import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
+import org.openhab.persistence.jdbc.internal.dto.PendingItemValue;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcException;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
+import org.openhab.persistence.jdbc.internal.utils.StringUtilsExt;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Activate;
@@ -77,6 +86,8 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
     private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1,
             new NamedThreadFactory(JdbcPersistenceServiceConstants.SERVICE_ID));
 
+    private @Nullable JdbcWriteQueue writeQueue;
+
     @Activate
     public JdbcPersistenceService(final @Reference ItemRegistry itemRegistry,
             final @Reference TimeZoneProvider timeZoneProvider) {
@@ -120,6 +131,7 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
     @Deactivate
     public void deactivate(final int reason) {
         logger.debug("JDBC::deactivate:  persistence bundle stopping. Disconnecting from database. reason={}", reason);
+        stopWriteQueue();
         // closeConnection();
         initialized = false;
     }
@@ -137,24 +149,39 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
 
     @Override
     public void store(Item item) {
-        scheduler.execute(() -> internalStore(item, null, item.getState()));
+        enqueueStore(item, null, item.getState());
     }
 
     @Override
     public void store(Item item, @Nullable String alias) {
         // alias is not supported
-        scheduler.execute(() -> internalStore(item, null, item.getState()));
+        enqueueStore(item, null, item.getState());
     }
 
     @Override
     public void store(Item item, ZonedDateTime date, State state) {
-        scheduler.execute(() -> internalStore(item, date, state));
+        enqueueStore(item, date, state);
     }
 
     @Override
     public void store(Item item, ZonedDateTime date, State state, @Nullable String alias) {
         // alias is not supported
-        scheduler.execute(() -> internalStore(item, date, state));
+        enqueueStore(item, date, state);
+    }
+
+    private void enqueueStore(Item item, @Nullable ZonedDateTime date, State state) {
+        JdbcWriteQueue writeQueue = this.writeQueue;
+        if (writeQueue == null) {
+            scheduler.execute(() -> internalStore(item, date, state));
+            return;
+        }
+        // Do not store undefined/uninitialized data
+        if (state instanceof UnDefType) {
+            logger.debug("JDBC::store: ignore Item '{}' because it is UnDefType", item.getName());
+            return;
+        }
+        // the timestamp is taken now, as the value may be written considerably later
+        writeQueue.offer(new PendingItemValue(item, state, date != null ? date : ZonedDateTime.now()));
     }
 
     private synchronized void internalStore(Item item, @Nullable ZonedDateTime date, State state) {
@@ -181,6 +208,74 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
         }
     }
 
+    private synchronized boolean internalStoreBatch(JdbcWriteQueue writeQueue, List<PendingItemValue> values) {
+        if (!checkDBAccessability()) {
+            logger.warn(
+                    "JDBC::store: No connection to database. Keeping {} queued values! Will retry connecting to database when error count:{} equals errReconnectThreshold:{}",
+                    values.size(), errCnt, conf.getErrReconnectThreshold());
+            return false;
+        }
+        // group by item, which also groups by item table
+        Map<String, List<PendingItemValue>> valuesByItem = new LinkedHashMap<>();
+        for (PendingItemValue value : values) {
+            valuesByItem.computeIfAbsent(value.item().getName(), k -> new ArrayList<>()).add(value);
+        }
+        long timerStart = System.currentTimeMillis();
+        for (List<PendingItemValue> itemValues : valuesByItem.values()) {
+            Item item = itemValues.get(0).item();
+            try {
+                storeItemValues(item, itemValues);
+                writeQueue.recordWritten(itemValues.size());
+            } catch (JdbcException e) {
+                // fall back to single inserts, so that one offending value does not discard the whole batch
+                logger.debug("JDBC::store: Batch insert for item '{}' failed, retrying values one by one",
+                        item.getName(), e);
+                writeQueue.recordRetried(itemValues.size());
+                for (PendingItemValue value : itemValues) {
+                    try {
+                        storeItemValue(item, value.state(), value.date());
+                        writeQueue.recordWritten(1);
+                    } catch (JdbcException e2) {
+                        logger.warn("JDBC::store: Unable to store item", e2);
+                        writeQueue.recordDropped(1);
+                    }
+                }
+            }
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("JDBC: Stored {} values of {} items in SQL database at {} in {} ms.", values.size(),
+                    valuesByItem.size(), new Date(), System.currentTimeMillis() - timerStart);
+        }
+        return true;
+    }
+
+    private void startWriteQueue() {
+        stopWriteQueue();
+        if (conf.getBatchWrite()) {
+            JdbcWriteQueue writeQueue = new JdbcWriteQueue(scheduler, conf.getBatchQueueSize(), conf.getBatchSize(),
+                    conf.getBatchInterval(), this::internalStoreBatch);
+            writeQueue.start();
+            this.writeQueue = writeQueue;
+        }
+    }
+
+    private void stopWriteQueue() {
+        JdbcWriteQueue writeQueue = this.writeQueue;
+        if (writeQueue != null) {
+            this.writeQueue = null;
+            writeQueue.stop();
+        }
+    }
+
+    /**
+     * Get the queue used for batched writes.
+     *
+     * @return the write queue or null if batched writes are disabled
+     */
+    public @Nullable JdbcWriteQueue getWriteQueue() {
+        return writeQueue;
+    }
+
     @Override
     public Set<PersistenceItemInfo> getItemInfo() {
         return getItems();
@@ -203,40 +298,27 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
 
         // Get the item name from the filter
         // Also get the Item object so we can determine the type
-        Item item = null;
         String itemName = filter.getItemName();
         if (itemName == null) {
             logger.warn("Item name is missing in filter {}", filter);
             return List.of();
         }
-        logger.debug("JDBC::query: item is {}", itemName);
-        try {
-            item = itemRegistry.getItem(itemName);
-        } catch (ItemNotFoundException e1) {
-            logger.error("JDBC::query: unable to get item for itemName: '{}'. Ignore and give up!", itemName);
+        Item item = getQueryItem(itemName);
+        if (item == null) {
             return List.of();
         }
 
-        if (item instanceof GroupItem) {
-            // For Group Item is BaseItem needed to get correct Type of Value.
-            item = GroupItem.class.cast(item).getBaseItem();
-            logger.debug("JDBC::query: item is instanceof GroupItem '{}'", itemName);
-            if (item == null) {
-                logger.debug("JDBC::query: BaseItem of GroupItem is null. Ignore and give up!");
-                return List.of();
-            }
-            if (item instanceof GroupItem) {
-                logger.debug("JDBC::query: BaseItem of GroupItem is a GroupItem too. Ignore and give up!");
-                return List.of();
-            }
-        }
-
         String table = itemNameToTableNameMap.get(itemName);
         if (table == null) {
             logger.debug("JDBC::query: unable to find table for item with name: '{}', no data in database.", itemName);
             return List.of();
         }
 
+        int queryPageSize = conf.getQueryPageSize();
+        if (queryPageSize > 0 && filter.getPageSize() == Integer.MAX_VALUE) {
+            return pagedQuery(filter, queryPageSize, itemName, table, item);
+        }
+
         try {
             long timerStart = System.currentTimeMillis();
             List<HistoricItem> items = getHistItemFilterQuery(filter, conf.getNumberDecimalcount(), table, item);
@@ -253,9 +335,99 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
         }
     }
 
+    /**
+     * Queries the values of a numeric item combined into time buckets, e.g. for charts over long time ranges.
+     *
+     * @param filter the item, time range, state condition and ordering; paging is ignored
+     * @param function the function combining the values of a bucket
+     * @param bucket the length of a bucket
+     * @return one value per non-empty bucket, timestamped with the start of the bucket
+     * @throws JdbcSQLException if the query failed
+     */
+    public List<HistoricItem> queryAggregated(FilterCriteria filter, AggregationFunction function, Duration bucket)
+            throws JdbcSQLException {
+        if (!checkDBAccessability()) {
+            logger.warn("JDBC::queryAggregated: database not connected, query aborted for item '{}'",
+                    filter.getItemName());
+            return List.of();
+        }
+        String itemName = filter.getItemName();
+        if (itemName == null) {
+            logger.warn("Item name is missing in filter {}", filter);
+            return List.of();
+        }
+        Item item = getQueryItem(itemName);
+        if (item == null) {
+            return List.of();
+        }
+        if (!(item instanceof NumberItem || item instanceof DimmerItem || item instanceof RollershutterItem)
+                || item instanceof ColorItem) {
+            logger.warn("JDBC::queryAggregated: item '{}' is not numeric, values cannot be aggregated", itemName);
+            return List.of();
+        }
+        String table = itemNameToTableNameMap.get(itemName);
+        if (table == null) {
+            logger.debug("JDBC::queryAggregated: unable to find table for item with name: '{}', no data in database.",
+                    itemName);
+            return List.of();
+        }
+        return getAggregatedItemValues(filter, function, bucket, table, item);
+    }
+
+    /**
+     * Looks up the item to query, resolving group items to their base item.
+     *
+     * @return the item determining the type of the stored values, or null if there is none
+     */
+    private @Nullable Item getQueryItem(String itemName) {
+        logger.debug("JDBC::query: item is {}", itemName);
+        Item item;
+        try {
+            item = itemRegistry.getItem(itemName);
+        } catch (ItemNotFoundException e1) {
+            logger.error("JDBC::query: unable to get item for itemName: '{}'. Ignore and give up!", itemName);
+            return null;
+        }
+
+        if (item instanceof GroupItem groupItem) {
+            // For Group Item is BaseItem needed to get correct Type of Value.
+            Item baseItem = groupItem.getBaseItem();
+            logger.debug("JDBC::query: item is instanceof GroupItem '{}'", itemName);
+            if (baseItem == null) {
+                logger.debug("JDBC::query: BaseItem of GroupItem is null. Ignore and give up!");
+                return null;
+            }
+            if (baseItem instanceof GroupItem) {
+                logger.debug("JDBC::query: BaseItem of GroupItem is a GroupItem too. Ignore and give up!");
+                return null;
+            }
+            return baseItem;
+        }
+        return item;
+    }
+
+    /**
+     * Returns the result of an unpaged query, which is loaded from the database page by page while it is iterated.
+     * Each page starts after the time of the last row of the previous page, so the database does not need to skip the
+     * rows of all previous pages. The end date of the filter is pinned, so that values stored in the meantime are not
+     * returned.
+     */
+    private Iterable<HistoricItem> pagedQuery(FilterCriteria filter, int queryPageSize, String itemName, String table,
+            Item item) {
+        FilterCriteria pagedFilter = StringUtilsExt.copyFilter(filter, true);
+        if (pagedFilter.getEndDate() == null) {
+            pagedFilter.setEndDate(ZonedDateTime.now());
+        }
+        pagedFilter.setPageNumber(0);
+        pagedFilter.setPageSize(queryPageSize);
+        return new PagedHistoricItems(itemName, queryPageSize,
+                pageStart -> getHistItemFilterQuery(pagedFilter, pageStart, conf.getNumberDecimalcount(), table, item));
+    }
+
     public void updateConfig(Map<Object, Object> configuration) {
         logger.debug("JDBC::updateConfig");
 
+        stopWriteQueue();
         conf = new JdbcConfiguration(configuration);
         if (conf.valid && checkDBAccessability()) {
             namingStrategy = new NamingStrategy(conf);
@@ -263,6 +435,7 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
                 checkDBSchema();
                 // connection has been established ... initialization completed!
                 initialized = true;
+                startWriteQueue();
             } catch (JdbcSQLException e) {
                 logger.error("Failed to check database schema", e);
                 initialized = false;
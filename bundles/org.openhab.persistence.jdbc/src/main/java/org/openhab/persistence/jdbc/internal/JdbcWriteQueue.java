@@ -0,0 +1,230 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.persistence.jdbc.internal.dto.PendingItemValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded queue collecting item values to be written in batches.
+ *
+ * Values are flushed when {@link JdbcConfiguration#getBatchSize()} values are pending or when
+ * {@link JdbcConfiguration#getBatchInterval()} has elapsed, whichever comes first. When the queue is full,
+ * producers wait up to one flush interval for free capacity before the value is dropped. A batch which could not be
+ * written because the database is not accessible is written first with the next flush, so the order of the values is
+ * kept.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcWriteQueue {
+    private final Logger logger = LoggerFactory.getLogger(JdbcWriteQueue.class);
+
+    private final BlockingQueue<PendingItemValue> queue;
+    private final ScheduledExecutorService scheduler;
+    private final BatchWriter batchWriter;
+    private final int batchSize;
+    private final long batchInterval;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private final AtomicLong queuedCount = new AtomicLong();
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong retriedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong batchCount = new AtomicLong();
+
+    private @Nullable ScheduledFuture<?> flushJob;
+    private volatile List<PendingItemValue> retryBatch = List.of();
+
+    /**
+     * @param scheduler executor used for flushing
+     * @param capacity maximum number of pending values
+     * @param batchSize maximum number of values handed to the batch writer at once
+     * @param batchInterval maximum age in milliseconds before pending values are flushed
+     * @param batchWriter callback writing one batch to the database
+     */
+    public JdbcWriteQueue(ScheduledExecutorService scheduler, int capacity, int batchSize, long batchInterval,
+            BatchWriter batchWriter) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.scheduler = scheduler;
+        this.batchSize = batchSize;
+        this.batchInterval = batchInterval;
+        this.batchWriter = batchWriter;
+    }
+
+    public void start() {
+        flushJob = scheduler.scheduleWithFixedDelay(this::flush, batchInterval, batchInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the periodic flush and writes all remaining values. Values which cannot be written are discarded.
+     */
+    public void stop() {
+        ScheduledFuture<?> flushJob = this.flushJob;
+        if (flushJob != null) {
+            flushJob.cancel(false);
+            this.flushJob = null;
+        }
+        flush();
+        synchronized (this) {
+            int discarded = getPendingCount();
+            if (discarded > 0) {
+                logger.warn("JDBC::stop: Database is not accessible, discarding {} values", discarded);
+                droppedCount.addAndGet(discarded);
+                retryBatch = List.of();
+                queue.clear();
+            }
+        }
+    }
+
+    /**
+     * Adds a value to the queue.
+     *
+     * @param value the value to be stored
+     * @return true if the value was queued, false if it was dropped because the queue stayed full
+     */
+    public boolean offer(PendingItemValue value) {
+        if (!queue.offer(value)) {
+            // apply back-pressure: make sure a flush is on its way and wait for free capacity
+            scheduleFlush();
+            try {
+                if (!queue.offer(value, batchInterval, TimeUnit.MILLISECONDS)) {
+                    droppedCount.incrementAndGet();
+                    logger.warn("JDBC::offer: Write queue is full, dropping state '{}' of item '{}'", value.state(),
+                            value.item().getName());
+                    return false;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                droppedCount.incrementAndGet();
+                return false;
+            }
+        }
+        queuedCount.incrementAndGet();
+        if (queue.size() >= batchSize) {
+            scheduleFlush();
+        }
+        return true;
+    }
+
+    private void scheduleFlush() {
+        if (flushScheduled.compareAndSet(false, true)) {
+            scheduler.execute(this::flush);
+        }
+    }
+
+    /**
+     * Hands all pending values to the batch writer, at most {@code batchSize} values at a time.
+     */
+    public synchronized void flush() {
+        flushScheduled.set(false);
+        List<PendingItemValue> retryBatch = this.retryBatch;
+        if (!retryBatch.isEmpty()) {
+            if (!write(retryBatch)) {
+                return;
+            }
+            this.retryBatch = List.of();
+        }
+        List<PendingItemValue> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            if (!write(batch)) {
+                // database is not reachable, keep the values and write them first with the next flush
+                this.retryBatch = List.copyOf(batch);
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    private boolean write(List<PendingItemValue> batch) {
+        batchCount.incrementAndGet();
+        boolean written;
+        try {
+            written = batchWriter.write(this, batch);
+        } catch (RuntimeException e) {
+            logger.warn("JDBC::flush: Unable to write batch of {} values", batch.size(), e);
+            droppedCount.addAndGet(batch.size());
+            return true;
+        }
+        if (!written) {
+            retriedCount.addAndGet(batch.size());
+        }
+        return written;
+    }
+
+    /**
+     * Callback writing a batch of values to the database.
+     */
+    @FunctionalInterface
+    public interface BatchWriter {
+        /**
+         * @param writeQueue the queue the values were taken from, used for reporting written and dropped values
+         * @param values the values to write
+         * @return false if the database was not accessible and the values should be queued again
+         */
+        boolean write(JdbcWriteQueue writeQueue, List<PendingItemValue> values);
+    }
+
+    void recordWritten(int count) {
+        writtenCount.addAndGet(count);
+    }
+
+    void recordRetried(int count) {
+        retriedCount.addAndGet(count);
+    }
+
+    void recordDropped(int count) {
+        droppedCount.addAndGet(count);
+    }
+
+    public int getPendingCount() {
+        return queue.size() + retryBatch.size();
+    }
+
+    public int getCapacity() {
+        return queue.size() + queue.remainingCapacity();
+    }
+
+    public long getQueuedCount() {
+        return queuedCount.get();
+    }
+
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    public long getRetriedCount() {
+        return retriedCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+}
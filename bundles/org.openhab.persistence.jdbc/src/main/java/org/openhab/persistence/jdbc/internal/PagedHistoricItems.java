@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import java.time.ZonedDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.persistence.HistoricItem;
+import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Query result which is loaded from the database page by page while it is being iterated.
+ *
+ * Only one page is held in memory at a time, so large unpaged queries do not materialize the complete result. Pages
+ * are loaded by keyset: each page starts after the time of the last row of the previous page. Each iterator starts
+ * again with the first page. A failing page load is thrown from {@link Iterator#hasNext()} as
+ * {@link IllegalStateException}, so that an incomplete result is not mistaken for a complete one.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class PagedHistoricItems implements Iterable<HistoricItem> {
+    private final Logger logger = LoggerFactory.getLogger(PagedHistoricItems.class);
+
+    private final String itemName;
+    private final int pageSize;
+    private final PageLoader pageLoader;
+
+    /**
+     * @param itemName name of the queried item, used for logging
+     * @param pageSize number of rows loaded per page
+     * @param pageLoader callback loading a single page
+     */
+    public PagedHistoricItems(String itemName, int pageSize, PageLoader pageLoader) {
+        this.itemName = itemName;
+        this.pageSize = pageSize;
+        this.pageLoader = pageLoader;
+    }
+
+    @Override
+    public Iterator<HistoricItem> iterator() {
+        return new Iterator<>() {
+            private Iterator<HistoricItem> page = List.<HistoricItem> of().iterator();
+            private @Nullable ZonedDateTime pageStart;
+            private int pageNumber = 0;
+            private boolean lastPage = false;
+
+            @Override
+            public boolean hasNext() {
+                while (!page.hasNext() && !lastPage) {
+                    List<HistoricItem> items;
+                    try {
+                        items = pageLoader.load(pageStart);
+                    } catch (JdbcSQLException e) {
+                        throw new IllegalStateException(
+                                "Unable to query page " + pageNumber + " of item '" + itemName + "'", e);
+                    }
+                    logger.debug("JDBC::PagedHistoricItems: page {} of item '{}' returned {} rows", pageNumber,
+                            itemName, items.size());
+                    pageNumber++;
+                    lastPage = items.size() < pageSize;
+                    if (!items.isEmpty()) {
+                        pageStart = items.get(items.size() - 1).getTimestamp();
+                    }
+                    page = items.iterator();
+                }
+                return page.hasNext();
+            }
+
+            @Override
+            public HistoricItem next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return page.next();
+            }
+        };
+    }
+
+    /**
+     * Callback loading one page of the query result.
+     */
+    @FunctionalInterface
+    public interface PageLoader {
+        /**
+         * @param pageStart time of the last row of the previous page, null for the first page
+         * @return the rows of the page after the given time, less than the page size if it is the last page
+         * @throws JdbcSQLException if the query failed
+         */
+        List<HistoricItem> load(@Nullable ZonedDateTime pageStart) throws JdbcSQLException;
+    }
+}
@@ -12,12 +12,16 @@
  */
 package org.openhab.persistence.jdbc.internal.console;
 
+import java.time.Duration;
+import java.time.ZonedDateTime;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -28,12 +32,18 @@ import org.openhab.core.io.console.ConsoleCommandCompleter;
 import org.openhab.core.io.console.StringsCompleter;
 import org.openhab.core.io.console.extensions.AbstractConsoleCommandExtension;
 import org.openhab.core.io.console.extensions.ConsoleCommandExtension;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.FilterCriteria.Ordering;
+import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.persistence.PersistenceService;
 import org.openhab.core.persistence.PersistenceServiceRegistry;
 import org.openhab.persistence.jdbc.internal.ItemTableCheckEntry;
 import org.openhab.persistence.jdbc.internal.ItemTableCheckEntryStatus;
 import org.openhab.persistence.jdbc.internal.JdbcPersistenceService;
 import org.openhab.persistence.jdbc.internal.JdbcPersistenceServiceConstants;
+import org.openhab.persistence.jdbc.internal.JdbcWriteQueue;
+import org.openhab.persistence.jdbc.internal.db.JdbcBaseDAO;
+import org.openhab.persistence.jdbc.internal.dto.AggregationFunction;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -51,6 +61,8 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
     private static final String CMD_SCHEMA = "schema";
     private static final String CMD_TABLES = "tables";
     private static final String CMD_RELOAD = "reload";
+    private static final String CMD_STATISTICS = "statistics";
+    private static final String CMD_AGGREGATE = "aggregate";
     private static final String SUBCMD_SCHEMA_CHECK = "check";
     private static final String SUBCMD_SCHEMA_FIX = "fix";
     private static final String SUBCMD_TABLES_LIST = "list";
@@ -58,11 +70,14 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
     private static final String PARAMETER_ALL = "all";
     private static final String PARAMETER_FORCE = "force";
     private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(
-            List.of(CMD_SCHEMA, CMD_TABLES, CMD_RELOAD), false);
+            List.of(CMD_SCHEMA, CMD_TABLES, CMD_RELOAD, CMD_STATISTICS, CMD_AGGREGATE), false);
     private static final StringsCompleter SUBCMD_SCHEMA_COMPLETER = new StringsCompleter(
             List.of(SUBCMD_SCHEMA_CHECK, SUBCMD_SCHEMA_FIX), false);
     private static final StringsCompleter SUBCMD_TABLES_COMPLETER = new StringsCompleter(
             List.of(SUBCMD_TABLES_LIST, SUBCMD_TABLES_CLEAN), false);
+    private static final StringsCompleter AGGREGATION_FUNCTION_COMPLETER = new StringsCompleter(
+            Stream.of(AggregationFunction.values()).map(f -> f.name().toLowerCase()).toList(), false);
+    private static final Pattern DURATION_PATTERN = Pattern.compile("(\\d+)([smhdw])");
 
     private final PersistenceServiceRegistry persistenceServiceRegistry;
 
@@ -74,7 +89,7 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
 
     @Override
     public void execute(String[] args, Console console) {
-        if (args.length < 1 || args.length > 4) {
+        if (args.length < 1 || args.length > 5) {
             printUsage(console);
             return;
         }
@@ -135,6 +150,11 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
         } else if (args.length == 1 && CMD_RELOAD.equalsIgnoreCase(args[0])) {
             reload(persistenceService, console);
             return true;
+        } else if (args.length == 1 && CMD_STATISTICS.equalsIgnoreCase(args[0])) {
+            printStatistics(persistenceService, console);
+            return true;
+        } else if (args.length == 5 && CMD_AGGREGATE.equalsIgnoreCase(args[0])) {
+            return aggregate(persistenceService, console, args[1], args[2], args[3], args[4]);
         }
         return false;
     }
@@ -252,6 +272,75 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
         console.println("Item index reloaded.");
     }
 
+    private void printStatistics(JdbcPersistenceService persistenceService, Console console) {
+        JdbcWriteQueue writeQueue = persistenceService.getWriteQueue();
+        if (writeQueue == null) {
+            console.println("Write queue: disabled");
+        } else {
+            console.println("Write queue:");
+            console.println(String.format("  %-10s %d/%d", "Pending", writeQueue.getPendingCount(),
+                    writeQueue.getCapacity()));
+            console.println(String.format("  %-10s %d", "Queued", writeQueue.getQueuedCount()));
+            console.println(String.format("  %-10s %d", "Written", writeQueue.getWrittenCount()));
+            console.println(String.format("  %-10s %d", "Batches", writeQueue.getBatchCount()));
+            console.println(String.format("  %-10s %d", "Retried", writeQueue.getRetriedCount()));
+            console.println(String.format("  %-10s %d", "Dropped", writeQueue.getDroppedCount()));
+        }
+        console.println("Item tables:");
+        console.println(String.format("  %-10s %d", "Known", persistenceService.getItemNameToTableNameMap().size()));
+        console.println(String.format("  %-10s %d", "Hits", persistenceService.getTableLookupHits()));
+        console.println(String.format("  %-10s %d", "Created", persistenceService.getTablesCreated()));
+        JdbcBaseDAO dao = persistenceService.getDBDAO();
+        console.println("Statement cache:");
+        console.println(String.format("  %-10s %d", "Size", dao.getStatementCacheSize()));
+        console.println(String.format("  %-10s %d", "Hits", dao.getStatementCacheHits()));
+        console.println(String.format("  %-10s %d", "Misses", dao.getStatementCacheMisses()));
+        console.println(String.format("  %-10s %.3f ms", "Rendering", dao.getStatementRenderNanos() / 1_000_000.0));
+    }
+
+    private boolean aggregate(JdbcPersistenceService persistenceService, Console console, String itemName,
+            String functionName, String bucketString, String rangeString) throws JdbcSQLException {
+        AggregationFunction function;
+        try {
+            function = AggregationFunction.valueOf(functionName.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        Duration bucket = parseDuration(bucketString);
+        Duration range = parseDuration(rangeString);
+        if (bucket == null || range == null || bucket.isZero()) {
+            return false;
+        }
+        FilterCriteria filter = new FilterCriteria();
+        filter.setItemName(itemName);
+        ZonedDateTime now = ZonedDateTime.now();
+        filter.setBeginDate(now.minus(range));
+        filter.setEndDate(now);
+        filter.setOrdering(Ordering.ASCENDING);
+        long timerStart = System.currentTimeMillis();
+        List<HistoricItem> items = persistenceService.queryAggregated(filter, function, bucket);
+        for (HistoricItem item : items) {
+            console.println(String.format("%1$tF %1$tT  %2$s", item.getTimestamp(), item.getState()));
+        }
+        console.println(items.size() + " buckets in " + (System.currentTimeMillis() - timerStart) + " ms");
+        return true;
+    }
+
+    private static @Nullable Duration parseDuration(String value) {
+        Matcher matcher = DURATION_PATTERN.matcher(value.toLowerCase());
+        if (!matcher.matches()) {
+            return null;
+        }
+        long amount = Long.parseLong(matcher.group(1));
+        return switch (matcher.group(2)) {
+            case "s" -> Duration.ofSeconds(amount);
+            case "m" -> Duration.ofMinutes(amount);
+            case "h" -> Duration.ofHours(amount);
+            case "d" -> Duration.ofDays(amount);
+            default -> Duration.ofDays(amount * 7);
+        };
+    }
+
     @Override
     public List<String> getUsages() {
         return Arrays.asList(buildCommandUsage(CMD_SCHEMA + " " + SUBCMD_SCHEMA_CHECK, "check schema integrity"),
@@ -261,7 +350,10 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
                 buildCommandUsage(
                         CMD_TABLES + " " + SUBCMD_TABLES_CLEAN + " [<itemName>]" + " [" + PARAMETER_FORCE + "]",
                         "clean inconsistent items (remove from index and drop tables)"),
-                buildCommandUsage(CMD_RELOAD, "reload item index/schema"));
+                buildCommandUsage(CMD_RELOAD, "reload item index/schema"),
+                buildCommandUsage(CMD_STATISTICS, "show write queue and cache statistics"),
+                buildCommandUsage(CMD_AGGREGATE + " <itemName> <avg|min|max|sum|last> <bucket> <range>",
+                        "aggregate values of the last <range> into buckets (durations like 15m, 1h, 1d, 1w)"));
     }
 
     @Override
@@ -274,13 +366,21 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
         if (cursorArgumentIndex <= 0) {
             return CMD_COMPLETER.complete(args, cursorArgumentIndex, cursorPosition, candidates);
         } else if (cursorArgumentIndex == 1) {
-            if (CMD_TABLES.equalsIgnoreCase(args[0])) {
+            if (CMD_AGGREGATE.equalsIgnoreCase(args[0])) {
+                JdbcPersistenceService persistenceService = getPersistenceService();
+                if (persistenceService != null) {
+                    return new StringsCompleter(persistenceService.getItemNames(), true).complete(args,
+                            cursorArgumentIndex, cursorPosition, candidates);
+                }
+            } else if (CMD_TABLES.equalsIgnoreCase(args[0])) {
                 return SUBCMD_TABLES_COMPLETER.complete(args, cursorArgumentIndex, cursorPosition, candidates);
             } else if (CMD_SCHEMA.equalsIgnoreCase(args[0])) {
                 return SUBCMD_SCHEMA_COMPLETER.complete(args, cursorArgumentIndex, cursorPosition, candidates);
             }
         } else if (cursorArgumentIndex == 2) {
-            if (CMD_TABLES.equalsIgnoreCase(args[0])) {
+            if (CMD_AGGREGATE.equalsIgnoreCase(args[0])) {
+                return AGGREGATION_FUNCTION_COMPLETER.complete(args, cursorArgumentIndex, cursorPosition, candidates);
+            } else if (CMD_TABLES.equalsIgnoreCase(args[0])) {
                 if (SUBCMD_TABLES_CLEAN.equalsIgnoreCase(args[1])) {
                     JdbcPersistenceService persistenceService = getPersistenceService();
                     if (persistenceService != null) {
@@ -13,17 +13,26 @@
 package org.openhab.persistence.jdbc.internal.db;
 
 import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
 import java.util.stream.Collectors;
 
 import javax.measure.Quantity;
@@ -52,14 +61,17 @@ import org.openhab.core.library.types.QuantityType;
 import org.openhab.core.library.types.RawType;
 import org.openhab.core.library.unit.Units;
 import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.FilterCriteria.Operator;
 import org.openhab.core.persistence.FilterCriteria.Ordering;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.types.State;
 import org.openhab.core.types.TypeParser;
+import org.openhab.persistence.jdbc.internal.dto.AggregationFunction;
 import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
 import org.openhab.persistence.jdbc.internal.dto.JdbcHistoricItem;
+import org.openhab.persistence.jdbc.internal.dto.PendingItemValue;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.openhab.persistence.jdbc.internal.utils.DbMetaData;
 import org.openhab.persistence.jdbc.internal.utils.StringUtilsExt;
@@ -97,6 +109,14 @@ public class JdbcBaseDAO {
     protected String sqlAlterTableColumn = "ALTER TABLE #tableName# MODIFY COLUMN #columnName# #columnType#";
     protected String sqlInsertItemValue = "INSERT INTO #tableName# (time, value) VALUES( #tablePrimaryValue#, ? ) ON DUPLICATE KEY UPDATE VALUE= ?";
     protected String sqlGetRowCount = "SELECT COUNT(*) FROM #tableName#";
+    // time bucketed aggregation, null if not supported by the database
+    protected @Nullable String sqlGetAggregatedItemValues = null;
+
+    // statements rendered from the templates above, per item table
+    private final Map<String, String> statementCache = new ConcurrentHashMap<>();
+    private final AtomicLong statementCacheHits = new AtomicLong();
+    private final AtomicLong statementCacheMisses = new AtomicLong();
+    private final AtomicLong statementRenderNanos = new AtomicLong();
 
     /********
      * INIT *
@@ -250,6 +270,57 @@ public class JdbcBaseDAO {
         return new Properties(this.databaseProps);
     }
 
+    /**
+     * Returns a statement rendered by the given provider, which is only called the first time the key is requested.
+     *
+     * Rendering a statement once per table avoids the template replacement on every write and hands identical SQL to
+     * the driver, so that its prepared statement cache can be used.
+     *
+     * @param key identifies the statement, e.g. by kind, table name and data type
+     * @param provider renders the statement from its template
+     * @return the rendered statement
+     */
+    protected String cachedStatement(String key, Supplier<String> provider) {
+        String sql = statementCache.get(key);
+        if (sql != null) {
+            statementCacheHits.incrementAndGet();
+            return sql;
+        }
+        long start = System.nanoTime();
+        sql = provider.get();
+        statementRenderNanos.addAndGet(System.nanoTime() - start);
+        statementCacheMisses.incrementAndGet();
+        statementCache.put(key, sql);
+        return sql;
+    }
+
+    protected String insertStatementKey(ItemVO storedVO, boolean withTimestamp) {
+        return (withTimestamp ? "insertWithTime:" : "insert:") + storedVO.getTableName() + ":" + storedVO.getDbType();
+    }
+
+    /**
+     * Discards all cached statements, must be called whenever a template or an SQL type changes.
+     */
+    public void clearStatementCache() {
+        statementCache.clear();
+    }
+
+    public int getStatementCacheSize() {
+        return statementCache.size();
+    }
+
+    public long getStatementCacheHits() {
+        return statementCacheHits.get();
+    }
+
+    public long getStatementCacheMisses() {
+        return statementCacheMisses.get();
+    }
+
+    public long getStatementRenderNanos() {
+        return statementRenderNanos.get();
+    }
+
     /**************
      * ITEMS DAOs *
      **************/
@@ -334,6 +405,7 @@ public class JdbcBaseDAO {
         String sql = StringUtilsExt.replaceArrayMerge(sqlDropTable, new String[] { "#tableName#" },
                 new String[] { tableName });
         logger.debug("JDBC::doDropTable sql={}", sql);
+        statementCache.keySet().removeIf(key -> key.contains(":" + tableName + ":"));
         try {
             Yank.execute(sql, null);
         } catch (YankSQLException e) {
@@ -430,9 +502,10 @@ public class JdbcBaseDAO {
 
     public void doStoreItemValue(Item item, State itemState, ItemVO vo) throws JdbcSQLException {
         ItemVO storedVO = storeItemValueProvider(item, itemState, vo);
-        String sql = StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
-                new String[] { "#tableName#", "#tablePrimaryValue#" },
-                new String[] { storedVO.getTableName(), sqlTypes.get("tablePrimaryValue") });
+        String sql = cachedStatement(insertStatementKey(storedVO, false),
+                () -> StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
+                        new String[] { "#tableName#", "#tablePrimaryValue#" },
+                        new String[] { storedVO.getTableName(), sqlTypes.get("tablePrimaryValue") }));
         Object[] params = { storedVO.getValue(), storedVO.getValue() };
         logger.debug("JDBC::doStoreItemValue sql={} value='{}'", sql, storedVO.getValue());
         try {
@@ -444,10 +517,9 @@ public class JdbcBaseDAO {
 
     public void doStoreItemValue(Item item, State itemState, ItemVO vo, ZonedDateTime date) throws JdbcSQLException {
         ItemVO storedVO = storeItemValueProvider(item, itemState, vo);
-        String sql = StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
-                new String[] { "#tableName#", "#tablePrimaryValue#" }, new String[] { storedVO.getTableName(), "?" });
+        String sql = cachedStatement(insertStatementKey(storedVO, true), () -> storeItemValueSqlProvider(storedVO));
         java.sql.Timestamp timestamp = new java.sql.Timestamp(date.toInstant().toEpochMilli());
-        Object[] params = { timestamp, storedVO.getValue(), storedVO.getValue() };
+        Object[] params = storeItemValueParamsProvider(storedVO, timestamp);
         logger.debug("JDBC::doStoreItemValue sql={} timestamp={} value='{}'", sql, timestamp, storedVO.getValue());
         try {
             Yank.execute(sql, params);
@@ -456,9 +528,56 @@ public class JdbcBaseDAO {
         }
     }
 
+    /**
+     * Stores several values of one item in a single JDBC batch.
+     *
+     * All values are written to the table of the given {@link ItemVO} using the same prepared statement as
+     * {@link #doStoreItemValue(Item, State, ItemVO, ZonedDateTime)}.
+     *
+     * @param item the item the values belong to
+     * @param vo the item table to write to
+     * @param values the values to store, each with its own timestamp
+     * @throws JdbcSQLException if the batch could not be executed
+     */
+    public void doStoreItemValues(Item item, ItemVO vo, List<PendingItemValue> values) throws JdbcSQLException {
+        if (values.isEmpty()) {
+            return;
+        }
+        String sql = "";
+        Object[][] params = new Object[values.size()][];
+        for (int i = 0; i < values.size(); i++) {
+            PendingItemValue value = values.get(i);
+            ItemVO storedVO = storeItemValueProvider(item, value.state(), new ItemVO(vo.getTableName(), null));
+            if (i == 0) {
+                sql = cachedStatement(insertStatementKey(storedVO, true), () -> storeItemValueSqlProvider(storedVO));
+            }
+            params[i] = storeItemValueParamsProvider(storedVO,
+                    new java.sql.Timestamp(value.date().toInstant().toEpochMilli()));
+        }
+        logger.debug("JDBC::doStoreItemValues sql={} rows={}", sql, values.size());
+        try {
+            Yank.executeBatch(sql, params);
+        } catch (YankSQLException e) {
+            throw new JdbcSQLException(e);
+        }
+    }
+
     public List<HistoricItem> doGetHistItemFilterQuery(Item item, FilterCriteria filter, int numberDecimalcount,
             String table, String name, ZoneId timeZone) throws JdbcSQLException {
-        String sql = histItemFilterQueryProvider(filter, numberDecimalcount, table, name, timeZone);
+        return doGetHistItemFilterQuery(item, filter, null, numberDecimalcount, table, name, timeZone);
+    }
+
+    /**
+     * Queries the values of an item, optionally starting after a given time (keyset paging).
+     *
+     * @param pageStart the time of the last row of the previous page, only rows after it (in the direction of the
+     *            ordering) are returned. The page number of the filter should be 0 then. Null to query without it.
+     */
+    public List<HistoricItem> doGetHistItemFilterQuery(Item item, FilterCriteria filter,
+            @Nullable ZonedDateTime pageStart, int numberDecimalcount, String table, String name, ZoneId timeZone)
+            throws JdbcSQLException {
+        String sql = histItemFilterQueryProvider(prepareStateFilter(item, filter), pageStart, numberDecimalcount,
+                table, name, timeZone);
         logger.debug("JDBC::doGetHistItemFilterQuery sql={}", sql);
         List<Object[]> m;
         try {
@@ -478,6 +597,97 @@ public class JdbcBaseDAO {
                 .collect(Collectors.<HistoricItem> toList());
     }
 
+    /**
+     * Queries the values of an item combined into time buckets of the given length.
+     *
+     * The aggregation is done by the database if the dialect supports it (see {@link #supportsAggregation()}),
+     * otherwise the raw values are queried and aggregated here. Paging of the filter is ignored.
+     *
+     * @param item a numeric item, i.e. a number, dimmer or rollershutter item
+     * @param filter the time range, state condition and ordering of the buckets
+     * @param function the function combining the values of a bucket
+     * @param bucket the length of a bucket
+     * @param table the item table
+     * @param timeZone the time zone of the stored values
+     * @return one value per non-empty bucket, timestamped with the start of the bucket
+     * @throws JdbcSQLException if the query failed
+     */
+    public List<HistoricItem> doGetAggregatedItemValues(Item item, FilterCriteria filter, AggregationFunction function,
+            Duration bucket, String table, ZoneId timeZone) throws JdbcSQLException {
+        long bucketSeconds = Math.max(1, bucket.getSeconds());
+        FilterCriteria aggregateFilter = StringUtilsExt.copyFilter(prepareStateFilter(item, filter), true);
+        aggregateFilter.setPageNumber(0);
+        aggregateFilter.setPageSize(Integer.MAX_VALUE);
+        String sql = histItemAggregateQueryProvider(aggregateFilter, function, bucketSeconds, table, timeZone);
+        boolean aggregatedByDatabase = sql != null;
+        if (sql == null) {
+            aggregateFilter.setOrdering(Ordering.ASCENDING);
+            sql = histItemFilterQueryProvider(aggregateFilter, -1, table, item.getName(), timeZone);
+        }
+        logger.debug("JDBC::doGetAggregatedItemValues sql={}", sql);
+        List<Object[]> m;
+        try {
+            m = Yank.queryObjectArrays(sql, null);
+        } catch (YankSQLException e) {
+            throw new JdbcSQLException(e);
+        }
+        if (m == null) {
+            logger.debug("JDBC::doGetAggregatedItemValues Query failed. Returning an empty list.");
+            return List.of();
+        }
+        if (!aggregatedByDatabase) {
+            m = aggregateRows(m, function, bucketSeconds);
+            if (filter.getOrdering() == Ordering.DESCENDING) {
+                Collections.reverse(m);
+            }
+        }
+        String itemName = item.getName();
+        Unit<? extends Quantity<?>> unit = item instanceof NumberItem numberItem ? numberItem.getUnit() : null;
+        return m.stream().filter(o -> o[0] != null && o[1] != null)
+                .map(o -> new JdbcHistoricItem(itemName, aggregateAsState(item, unit, o[1]),
+                        objectAsZonedDateTime(o[0])))
+                .collect(Collectors.<HistoricItem> toList());
+    }
+
+    /**
+     * @return true if time bucketed aggregation is done by the database instead of in Java
+     */
+    public boolean supportsAggregation() {
+        return sqlGetAggregatedItemValues != null;
+    }
+
+    private List<Object[]> aggregateRows(List<Object[]> rows, AggregationFunction function, long bucketSeconds) {
+        Map<Long, BigDecimal[]> buckets = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            if (row[0] == null || row[1] == null) {
+                continue;
+            }
+            long key = Math.floorDiv(objectAsZonedDateTime(row[0]).toEpochSecond(), bucketSeconds);
+            BigDecimal value = objectAsAggregate(row[1]);
+            // { result, count }
+            BigDecimal[] bucket = buckets.get(key);
+            if (bucket == null) {
+                buckets.put(key, new BigDecimal[] { value, BigDecimal.ONE });
+                continue;
+            }
+            bucket[0] = switch (function) {
+                case AVG, SUM -> bucket[0].add(value);
+                case MIN -> bucket[0].min(value);
+                case MAX -> bucket[0].max(value);
+                case LAST -> value;
+            };
+            bucket[1] = bucket[1].add(BigDecimal.ONE);
+        }
+        List<Object[]> result = new ArrayList<>(buckets.size());
+        for (Map.Entry<Long, BigDecimal[]> entry : buckets.entrySet()) {
+            BigDecimal[] bucket = entry.getValue();
+            BigDecimal value = function == AggregationFunction.AVG ? bucket[0].divide(bucket[1], MathContext.DECIMAL64)
+                    : bucket[0];
+            result.add(new Object[] { Instant.ofEpochSecond(entry.getKey() * bucketSeconds), value });
+        }
+        return result;
+    }
+
     public void doDeleteItemValues(FilterCriteria filter, String table, ZoneId timeZone) throws JdbcSQLException {
         String sql = histItemFilterDeleteProvider(filter, table, timeZone);
         logger.debug("JDBC::doDeleteItemValues sql={}", sql);
@@ -504,14 +714,21 @@ public class JdbcBaseDAO {
      * Providers *
      *************/
     static final DateTimeFormatter JDBC_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    // keyset paging compares with the exact time of a stored row
+    static final DateTimeFormatter JDBC_PAGE_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSSSSS");
 
     protected String histItemFilterQueryProvider(FilterCriteria filter, int numberDecimalcount, String table,
             String simpleName, ZoneId timeZone) {
+        return histItemFilterQueryProvider(filter, null, numberDecimalcount, table, simpleName, timeZone);
+    }
+
+    protected String histItemFilterQueryProvider(FilterCriteria filter, @Nullable ZonedDateTime pageStart,
+            int numberDecimalcount, String table, String simpleName, ZoneId timeZone) {
         logger.debug(
                 "JDBC::getHistItemFilterQueryProvider filter = {}, numberDecimalcount = {}, table = {}, simpleName = {}",
                 filter, numberDecimalcount, table, simpleName);
 
-        String filterString = resolveTimeFilter(filter, timeZone);
+        String filterString = resolveStateFilter(filter, resolveTimeFilter(filter, pageStart, timeZone));
         filterString += (filter.getOrdering() == Ordering.ASCENDING) ? " ORDER BY time ASC" : " ORDER BY time DESC";
         if (filter.getPageSize() != Integer.MAX_VALUE) {
             filterString += " LIMIT " + filter.getPageNumber() * filter.getPageSize() + "," + filter.getPageSize();
@@ -528,6 +745,55 @@ public class JdbcBaseDAO {
         return queryString;
     }
 
+    /**
+     * Provides the statement for inserting a value with an explicit timestamp as its first parameter.
+     */
+    protected String storeItemValueSqlProvider(ItemVO storedVO) {
+        return StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
+                new String[] { "#tableName#", "#tablePrimaryValue#" }, new String[] { storedVO.getTableName(), "?" });
+    }
+
+    /**
+     * Provides the parameters matching {@link #storeItemValueSqlProvider(ItemVO)}.
+     */
+    protected Object[] storeItemValueParamsProvider(ItemVO storedVO, java.sql.Timestamp timestamp) {
+        return new Object[] { timestamp, storedVO.getValue(), storedVO.getValue() };
+    }
+
+    protected @Nullable String histItemAggregateQueryProvider(FilterCriteria filter, AggregationFunction function,
+            long bucketSeconds, String table, ZoneId timeZone) {
+        String sql = sqlGetAggregatedItemValues;
+        if (sql == null) {
+            return null;
+        }
+        String filterString = resolveStateFilter(filter, resolveTimeFilter(filter, timeZone));
+        return StringUtilsExt.replaceArrayMerge(sql,
+                new String[] { "#bucket#", "#aggregate#", "#tableName#", "#filter#", "#ordering#" },
+                new String[] { aggregateBucketProvider(bucketSeconds), aggregateFunctionProvider(function), table,
+                        Matcher.quoteReplacement(filterString),
+                        filter.getOrdering() == Ordering.ASCENDING ? "ASC" : "DESC" });
+    }
+
+    /**
+     * Provides the expression truncating the time column to the start of its bucket.
+     */
+    protected String aggregateBucketProvider(long bucketSeconds) {
+        return "FROM_UNIXTIME(FLOOR(UNIX_TIMESTAMP(time) / " + bucketSeconds + ") * " + bucketSeconds + ")";
+    }
+
+    /**
+     * Provides the aggregate expression combining the values of a bucket.
+     */
+    protected String aggregateFunctionProvider(AggregationFunction function) {
+        return switch (function) {
+            case AVG -> "AVG(value)";
+            case MIN -> "MIN(value)";
+            case MAX -> "MAX(value)";
+            case SUM -> "SUM(value)";
+            case LAST -> "SUBSTRING_INDEX(GROUP_CONCAT(value ORDER BY time DESC), ',', 1)";
+        };
+    }
+
     protected String histItemFilterDeleteProvider(FilterCriteria filter, String table, ZoneId timeZone) {
         logger.debug("JDBC::histItemFilterDeleteProvider filter = {}, table = {}", filter, table);
 
@@ -538,6 +804,23 @@ public class JdbcBaseDAO {
         return deleteString;
     }
 
+    protected String resolveTimeFilter(FilterCriteria filter, @Nullable ZonedDateTime pageStart, ZoneId timeZone) {
+        String filterString = resolveTimeFilter(filter, timeZone);
+        if (pageStart != null) {
+            filterString += filterString.isEmpty() ? " WHERE" : " AND";
+            filterString += (filter.getOrdering() == Ordering.ASCENDING ? " TIME>" : " TIME<")
+                    + pageTimeProvider(pageStart.withZoneSameInstant(timeZone));
+        }
+        return filterString;
+    }
+
+    /**
+     * Provides the literal of the start of a page, with fractional seconds.
+     */
+    protected String pageTimeProvider(ZonedDateTime pageStart) {
+        return "'" + JDBC_PAGE_DATE_FORMAT.format(pageStart) + "'";
+    }
+
     protected String resolveTimeFilter(FilterCriteria filter, ZoneId timeZone) {
         String filterString = "";
         ZonedDateTime beginDate = filter.getBeginDate();
@@ -553,6 +836,103 @@ public class JdbcBaseDAO {
         return filterString;
     }
 
+    /**
+     * Appends the state condition of the filter to the given WHERE clause.
+     *
+     * Numeric states are compared as numbers, all other states can only be compared for (in)equality with the stored
+     * string. The filter is expected to be prepared by {@link #prepareStateFilter(Item, FilterCriteria)}.
+     *
+     * @param filter the filter containing the state condition
+     * @param filterString the WHERE clause built so far, may be empty
+     * @return the WHERE clause including the state condition
+     */
+    protected String resolveStateFilter(FilterCriteria filter, String filterString) {
+        State state = filter.getState();
+        if (state == null) {
+            return filterString;
+        }
+        Operator operator = filter.getOperator();
+        String value;
+        if (state instanceof DecimalType decimalState) {
+            value = decimalState.toBigDecimal().toPlainString();
+        } else if (operator == Operator.EQ || operator == Operator.NEQ) {
+            value = "'" + state.toString().replace("'", "''") + "'";
+        } else {
+            return filterString;
+        }
+        String sqlOperator = switch (operator) {
+            case EQ -> "=";
+            case NEQ -> "<>";
+            case GT -> ">";
+            case GTE -> ">=";
+            case LT -> "<";
+            case LTE -> "<=";
+        };
+        return filterString + (filterString.isEmpty() ? " WHERE" : " AND") + " value" + sqlOperator + value;
+    }
+
+    /**
+     * Converts the state of the filter into the representation stored in the item table, so that the condition can be
+     * evaluated by the database.
+     *
+     * A state that cannot be compared in SQL for the given item is removed from the filter, so the query returns the
+     * same result as without a state condition.
+     *
+     * @param item the item being queried
+     * @param filter the original filter
+     * @return the filter to build the query from
+     */
+    protected FilterCriteria prepareStateFilter(Item item, FilterCriteria filter) {
+        State state = filter.getState();
+        if (state == null) {
+            return filter;
+        }
+        State filterState = null;
+        switch (getItemType(item)) {
+            case "NUMBERITEM":
+                if (state instanceof QuantityType<?> quantityState) {
+                    Item baseItem = item instanceof GroupItem groupItem ? groupItem.getBaseItem() : item;
+                    Unit<? extends Quantity<?>> unit = baseItem instanceof NumberItem numberItem
+                            ? numberItem.getUnit()
+                            : null;
+                    QuantityType<?> convertedState = unit != null && !Units.ONE.equals(unit)
+                            ? quantityState.toUnit(unit)
+                            : quantityState;
+                    filterState = convertedState == null ? null : convertedState.as(DecimalType.class);
+                } else if (state instanceof DecimalType) {
+                    filterState = state;
+                }
+                break;
+            case "DIMMERITEM":
+            case "ROLLERSHUTTERITEM":
+                if (state instanceof DecimalType) {
+                    filterState = state;
+                }
+                break;
+            case "DATETIMEITEM":
+            case "IMAGEITEM":
+                break;
+            default:
+                // stored as string
+                if (!(state instanceof DecimalType)) {
+                    filterState = state;
+                }
+                break;
+        }
+        if (filterState == null) {
+            logger.debug("JDBC::prepareStateFilter: state filter '{}' is not supported for item '{}', ignoring it",
+                    state, item.getName());
+            return StringUtilsExt.copyFilter(filter, false);
+        }
+        if (filterState == state) {
+            return filter;
+        }
+        FilterCriteria prepared = StringUtilsExt.copyFilter(filter, false);
+        prepared.setOperator(filter.getOperator());
+        prepared.setState(filterState);
+        return prepared;
+    }
+
     private String updateItemTableNamesProvider(ItemVO itemTable) {
         String queryString = "ALTER TABLE " + itemTable.getTableName() + " RENAME TO " + itemTable.getNewTableName();
         logger.debug("JDBC::query queryString = {}", queryString);
@@ -704,6 +1084,26 @@ public class JdbcBaseDAO {
         }
     }
 
+    /**
+     * Converts an aggregated value into the state of a numeric item.
+     */
+    protected State aggregateAsState(Item item, @Nullable Unit<? extends Quantity<?>> unit, Object v) {
+        BigDecimal value = objectAsAggregate(v);
+        if (item instanceof DimmerItem || item instanceof RollershutterItem) {
+            return new PercentType(value.max(BigDecimal.ZERO).min(BigDecimal.valueOf(100)));
+        }
+        return unit == null ? new DecimalType(value) : new QuantityType<>(value, unit);
+    }
+
+    protected BigDecimal objectAsAggregate(Object v) {
+        if (v instanceof BigDecimal valueAsBigDecimal) {
+            return valueAsBigDecimal;
+        } else if (v instanceof Number valueAsNumber) {
+            return new BigDecimal(valueAsNumber.toString());
+        }
+        return new BigDecimal(objectAsString(v).trim());
+    }
+
     protected ZonedDateTime objectAsZonedDateTime(Object v) {
         if (v instanceof Long) {
             return ZonedDateTime.ofInstant(Instant.ofEpochMilli(((Number) v).longValue()), ZoneId.systemDefault());
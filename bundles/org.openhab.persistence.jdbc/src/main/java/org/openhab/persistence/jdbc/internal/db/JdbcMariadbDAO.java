@@ -49,6 +49,7 @@ public class JdbcMariadbDAO extends JdbcBaseDAO {
 
     private void initSqlQueries() {
         logger.debug("JDBC::initSqlQueries: '{}'", this.getClass().getSimpleName());
+        sqlGetAggregatedItemValues = "SELECT #bucket# AS bucket, #aggregate# AS value FROM #tableName##filter# GROUP BY bucket ORDER BY bucket #ordering#";
     }
 
     /**
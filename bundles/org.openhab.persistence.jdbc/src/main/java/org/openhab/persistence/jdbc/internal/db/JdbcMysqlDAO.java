@@ -53,6 +53,7 @@ public class JdbcMysqlDAO extends JdbcBaseDAO {
 
     private void initSqlQueries() {
         logger.debug("JDBC::initSqlQueries: '{}'", this.getClass().getSimpleName());
+        sqlGetAggregatedItemValues = "SELECT #bucket# AS bucket, #aggregate# AS value FROM #tableName##filter# GROUP BY bucket ORDER BY bucket #ordering#";
     }
 
     /**
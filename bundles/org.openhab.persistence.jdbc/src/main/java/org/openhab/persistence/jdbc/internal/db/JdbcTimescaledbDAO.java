@@ -17,6 +17,7 @@ import java.util.Properties;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.knowm.yank.Yank;
 import org.knowm.yank.exceptions.YankSQLException;
+import org.openhab.persistence.jdbc.internal.dto.AggregationFunction;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.openhab.persistence.jdbc.internal.utils.StringUtilsExt;
@@ -36,6 +37,19 @@ public class JdbcTimescaledbDAO extends JdbcPostgresqlDAO {
 
     private final String sqlCreateHypertable = "SELECT created from create_hypertable('#tableName#', 'time')";
 
+    @Override
+    protected String aggregateBucketProvider(long bucketSeconds) {
+        return "time_bucket(INTERVAL '" + bucketSeconds + " seconds', time)";
+    }
+
+    @Override
+    protected String aggregateFunctionProvider(AggregationFunction function) {
+        if (function == AggregationFunction.LAST) {
+            return "last(value, time)";
+        }
+        return super.aggregateFunctionProvider(function);
+    }
+
     @Override
     public Properties getConnectionProperties() {
         Properties properties = (Properties) this.databaseProps.clone();
@@ -14,6 +14,7 @@ package org.openhab.persistence.jdbc.internal.utils;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
@@ -21,6 +22,7 @@ import java.util.Properties;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.types.State;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -281,4 +283,36 @@ public class StringUtilsExt {
         builder.append("]");
         return builder.toString();
     }
+
+    /**
+     * Creates a copy of the given filter, so that it can be modified without affecting the caller.
+     *
+     * @param filter the filter to copy
+     * @param includeState whether the state and operator should be copied too
+     * @return the copy
+     */
+    public static FilterCriteria copyFilter(FilterCriteria filter, boolean includeState) {
+        FilterCriteria copy = new FilterCriteria();
+        String itemName = filter.getItemName();
+        if (itemName != null) {
+            copy.setItemName(itemName);
+        }
+        ZonedDateTime beginDate = filter.getBeginDate();
+        if (beginDate != null) {
+            copy.setBeginDate(beginDate);
+        }
+        ZonedDateTime endDate = filter.getEndDate();
+        if (endDate != null) {
+            copy.setEndDate(endDate);
+        }
+        copy.setPageNumber(filter.getPageNumber());
+        copy.setPageSize(filter.getPageSize());
+        copy.setOrdering(filter.getOrdering());
+        State state = filter.getState();
+        if (includeState && state != null) {
+            copy.setOperator(filter.getOperator());
+            copy.setState(state);
+        }
+        return copy;
+    }
 }
@@ -0,0 +1,128 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.persistence.jdbc.internal.dto.PendingItemValue;
+
+/**
+ * Tests the {@link JdbcWriteQueue}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcWriteQueueTest {
+
+    private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    private final NumberItem item = new NumberItem("TestItem");
+
+    private PendingItemValue value(int value) {
+        return new PendingItemValue(item, new DecimalType(value), ZonedDateTime.now());
+    }
+
+    @Test
+    void flushWritesPendingValuesInBatchesOfConfiguredSize() {
+        List<Integer> batchSizes = new ArrayList<>();
+        JdbcWriteQueue writeQueue = new JdbcWriteQueue(scheduler, 10, 2, 1, (queue, values) -> {
+            batchSizes.add(values.size());
+            queue.recordWritten(values.size());
+            return true;
+        });
+        for (int i = 0; i < 5; i++) {
+            writeQueue.offer(value(i));
+        }
+
+        writeQueue.flush();
+
+        assertThat(batchSizes, is(List.of(2, 2, 1)));
+        assertThat(writeQueue.getPendingCount(), is(0));
+        assertThat(writeQueue.getWrittenCount(), is(5L));
+    }
+
+    @Test
+    void flushKeepsValuesWhenDatabaseIsNotAccessible() {
+        JdbcWriteQueue writeQueue = new JdbcWriteQueue(scheduler, 10, 2, 1, (queue, values) -> false);
+        for (int i = 0; i < 3; i++) {
+            writeQueue.offer(value(i));
+        }
+
+        writeQueue.flush();
+
+        assertThat(writeQueue.getPendingCount(), is(3));
+        assertThat(writeQueue.getRetriedCount(), is(2L));
+        assertThat(writeQueue.getDroppedCount(), is(0L));
+    }
+
+    @Test
+    void flushWritesFailedBatchBeforeNewerValues() {
+        List<PendingItemValue> written = new ArrayList<>();
+        AtomicBoolean accessible = new AtomicBoolean(false);
+        JdbcWriteQueue writeQueue = new JdbcWriteQueue(scheduler, 10, 2, 1, (queue, values) -> {
+            if (!accessible.get()) {
+                return false;
+            }
+            written.addAll(values);
+            return true;
+        });
+        List<PendingItemValue> values = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            values.add(value(i));
+            writeQueue.offer(values.get(i));
+        }
+
+        writeQueue.flush();
+        accessible.set(true);
+        writeQueue.flush();
+
+        assertThat(written, is(values));
+        assertThat(writeQueue.getPendingCount(), is(0));
+    }
+
+    @Test
+    void stopDiscardsValuesWhenDatabaseIsNotAccessible() {
+        JdbcWriteQueue writeQueue = new JdbcWriteQueue(scheduler, 10, 2, 1, (queue, values) -> false);
+        for (int i = 0; i < 3; i++) {
+            writeQueue.offer(value(i));
+        }
+
+        writeQueue.stop();
+
+        assertThat(writeQueue.getPendingCount(), is(0));
+        assertThat(writeQueue.getDroppedCount(), is(3L));
+    }
+
+    @Test
+    void offerDropsValueWhenQueueIsFull() {
+        JdbcWriteQueue writeQueue = new JdbcWriteQueue(scheduler, 2, 2, 1, (queue, values) -> true);
+
+        assertThat(writeQueue.offer(value(1)), is(true));
+        assertThat(writeQueue.offer(value(2)), is(true));
+        assertThat(writeQueue.offer(value(3)), is(false));
+
+        assertThat(writeQueue.getQueuedCount(), is(2L));
+        assertThat(writeQueue.getDroppedCount(), is(1L));
+    }
+}
@@ -13,11 +13,13 @@
 package org.openhab.persistence.jdbc.internal.db;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -64,8 +66,10 @@ import org.openhab.core.library.types.StringListType;
 import org.openhab.core.library.types.StringType;
 import org.openhab.core.library.unit.SIUnits;
 import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.FilterCriteria.Operator;
 import org.openhab.core.persistence.FilterCriteria.Ordering;
 import org.openhab.core.types.State;
+import org.openhab.persistence.jdbc.internal.dto.AggregationFunction;
 
 /**
  * Tests the {@link JdbcBaseDAO}.
@@ -194,6 +198,23 @@ public class JdbcBaseDAOTest {
         assertThat(sql, is("SELECT time, value FROM " + DB_TABLE_NAME + " ORDER BY time DESC LIMIT 0,1"));
     }
 
+    @Test
+    void testHistItemFilterQueryProviderWithPageStartReturnsKeysetQuery() {
+        filter.setPageSize(10);
+        ZonedDateTime pageStart = ZonedDateTime.of(2022, 1, 10, 15, 1, 44, 123_000_000, UTC_ZONE_ID);
+
+        String sql = jdbcBaseDAO.histItemFilterQueryProvider(filter, pageStart, 0, DB_TABLE_NAME, "TEST",
+                UTC_ZONE_ID);
+        assertThat(sql, is("SELECT time, value FROM " + DB_TABLE_NAME
+                + " WHERE TIME<'2022-01-10 15:01:44.123000' ORDER BY time DESC LIMIT 0,10"));
+
+        filter.setOrdering(Ordering.ASCENDING);
+        filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
+        sql = jdbcBaseDAO.histItemFilterQueryProvider(filter, pageStart, 0, DB_TABLE_NAME, "TEST", UTC_ZONE_ID);
+        assertThat(sql, is("SELECT time, value FROM " + DB_TABLE_NAME + " WHERE TIME>='2022-01-10 15:01:44'"
+                + " AND TIME>'2022-01-10 15:01:44.123000' ORDER BY time ASC LIMIT 0,10"));
+    }
+
     @Test
     void testHistItemFilterDeleteProviderReturnsDeleteQueryWithoutWhereClause() {
         String sql = jdbcBaseDAO.histItemFilterDeleteProvider(filter, DB_TABLE_NAME, UTC_ZONE_ID);
@@ -249,6 +270,111 @@ public class JdbcBaseDAOTest {
                         + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getEndDate())) + "'"));
     }
 
+    @Test
+    void testResolveStateFilterWithNumericStateReturnsNumericCondition() {
+        filter.setOperator(Operator.GTE);
+        filter.setState(new DecimalType(21.5));
+
+        String sql = jdbcBaseDAO.resolveStateFilter(filter, "");
+        assertThat(sql, is(" WHERE value>=21.5"));
+    }
+
+    @Test
+    void testResolveStateFilterWithStringStateReturnsQuotedCondition() {
+        filter.setOperator(Operator.NEQ);
+        filter.setState(new StringType("it's"));
+
+        String sql = jdbcBaseDAO.resolveStateFilter(filter, " WHERE TIME>='2022-01-10 15:01:44'");
+        assertThat(sql, is(" WHERE TIME>='2022-01-10 15:01:44' AND value<>'it''s'"));
+    }
+
+    @Test
+    void testResolveStateFilterWithStringStateAndRangeOperatorIsIgnored() {
+        filter.setOperator(Operator.GT);
+        filter.setState(new StringType("b"));
+
+        String sql = jdbcBaseDAO.resolveStateFilter(filter, "");
+        assertThat(sql, is(""));
+    }
+
+    @Test
+    void testHistItemFilterQueryProviderWithPreparedQuantityStateReturnsNumericCondition() {
+        filter.setOperator(Operator.LT);
+        filter.setState(new QuantityType<>("20.5 °C"));
+
+        FilterCriteria prepared = jdbcBaseDAO.prepareStateFilter(new NumberItem("Temperature"), filter);
+        String sql = jdbcBaseDAO.histItemFilterQueryProvider(prepared, 0, DB_TABLE_NAME, "TEST", UTC_ZONE_ID);
+        assertThat(sql, is("SELECT time, value FROM " + DB_TABLE_NAME + " WHERE value<20.5 ORDER BY time DESC"));
+    }
+
+    @Test
+    void testPrepareStateFilterRemovesUnsupportedState() {
+        filter.setState(new DateTimeType());
+
+        FilterCriteria prepared = jdbcBaseDAO.prepareStateFilter(new DateTimeItem("Time"), filter);
+        assertThat(prepared.getState(), is(nullValue()));
+    }
+
+    @Test
+    void testHistItemAggregateQueryProviderWithoutDatabaseSupportReturnsNull() {
+        String sql = jdbcBaseDAO.histItemAggregateQueryProvider(filter, AggregationFunction.AVG, 3600, DB_TABLE_NAME,
+                UTC_ZONE_ID);
+        assertThat(sql, is(nullValue()));
+    }
+
+    @Test
+    void testHistItemAggregateQueryProviderReturnsGroupedSelectQuery() {
+        JdbcBaseDAO dao = new JdbcBaseDAO();
+        dao.sqlGetAggregatedItemValues = "SELECT #bucket# AS bucket, #aggregate# AS value FROM #tableName##filter# GROUP BY bucket ORDER BY bucket #ordering#";
+        filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
+        filter.setOrdering(Ordering.ASCENDING);
+
+        String sql = dao.histItemAggregateQueryProvider(filter, AggregationFunction.MAX, 900, DB_TABLE_NAME,
+                UTC_ZONE_ID);
+        assertThat(sql, is("SELECT FROM_UNIXTIME(FLOOR(UNIX_TIMESTAMP(time) / 900) * 900) AS bucket," //
+                + " MAX(value) AS value FROM " + DB_TABLE_NAME + " WHERE TIME>='"
+                + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getBeginDate()))
+                + "' GROUP BY bucket ORDER BY bucket ASC"));
+    }
+
+    @Test
+    void testAggregateAsStateReturnsPercentTypeForDimmerItem() {
+        State state = jdbcBaseDAO.aggregateAsState(new DimmerItem("Dimmer"), null, new BigDecimal("42.5000"));
+        assertThat(state, is(new PercentType(new BigDecimal("42.5000"))));
+    }
+
+    @Test
+    void testAggregateAsStateReturnsDecimalTypeForConcatenatedValue() {
+        State state = jdbcBaseDAO.aggregateAsState(new NumberItem("Number"), null, "21.5");
+        assertThat(state, is(new DecimalType(new BigDecimal("21.5"))));
+    }
+
+    @Test
+    void testAggregateAsStateKeepsPrecisionOfQuantityType() {
+        BigDecimal value = new BigDecimal("21.12345678901234567890");
+        State state = jdbcBaseDAO.aggregateAsState(new NumberItem("Number"), SIUnits.CELSIUS, value);
+        assertThat(state, is(new QuantityType<>(value, SIUnits.CELSIUS)));
+    }
+
+    @Test
+    void testCachedStatementRendersStatementOncePerKey() {
+        int[] renderCount = { 0 };
+        for (int i = 0; i < 3; i++) {
+            String sql = jdbcBaseDAO.cachedStatement("insert:" + DB_TABLE_NAME, () -> {
+                renderCount[0]++;
+                return "INSERT INTO " + DB_TABLE_NAME;
+            });
+            assertThat(sql, is("INSERT INTO " + DB_TABLE_NAME));
+        }
+
+        assertThat(renderCount[0], is(1));
+        assertThat(jdbcBaseDAO.getStatementCacheHits(), is(2L));
+        assertThat(jdbcBaseDAO.getStatementCacheMisses(), is(1L));
+
+        jdbcBaseDAO.clearStatementCache();
+        assertThat(jdbcBaseDAO.getStatementCacheSize(), is(0));
+    }
+
     private ZonedDateTime parseDateTimeString(String dts) {
         return ZonedDateTime.of(LocalDateTime.parse(dts, DATE_PARSER), UTC_ZONE_ID);
     }
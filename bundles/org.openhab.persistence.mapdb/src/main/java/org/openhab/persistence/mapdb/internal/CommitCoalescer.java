@@ -0,0 +1,199 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb.internal;
+
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Combines the commits of several modifications of the database into one.
+ *
+ * A commit is executed at the latest <code>interval</code> milliseconds after the first uncommitted modification, or
+ * immediately when <code>threshold</code> modifications are uncommitted. An interval of 0 commits every modification.
+ * A failed commit is retried later, its modifications stay pending.
+ *
+ * When a {@link MeterRegistry} is bound, the number of pending modifications and the commit duration are published as
+ * meters.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class CommitCoalescer {
+    // delay of the retry of a failed commit if commits are not delayed
+    private static final long RETRY_DELAY = 1000;
+    private static final String PREFIX = "openhab.persistence.mapdb.";
+
+    private final Logger logger = LoggerFactory.getLogger(CommitCoalescer.class);
+
+    private final ScheduledExecutorService scheduler;
+    private final Runnable commit;
+    private final long interval;
+    private final int threshold;
+
+    private final AtomicInteger dirtyCount = new AtomicInteger();
+    private @Nullable ScheduledFuture<?> commitJob;
+    private boolean closed = false;
+
+    private long commitCount = 0;
+    private long maxCommitNanos = 0;
+    private long totalCommitNanos = 0;
+
+    private @Nullable MeterRegistry meterRegistry;
+    private List<Meter> meters = List.of();
+    private @Nullable Timer commitTimer;
+
+    /**
+     * @param scheduler scheduler used for delayed commits
+     * @param commit the commit of the database
+     * @param interval maximum delay of a commit in milliseconds, 0 commits immediately
+     * @param threshold number of uncommitted modifications that triggers a commit
+     */
+    public CommitCoalescer(ScheduledExecutorService scheduler, Runnable commit, long interval, int threshold) {
+        this.scheduler = scheduler;
+        this.commit = commit;
+        this.interval = interval;
+        this.threshold = Math.max(1, threshold);
+    }
+
+    /**
+     * Registers a modification of the database which has to be committed.
+     */
+    public void markDirty() {
+        int dirty = dirtyCount.incrementAndGet();
+        if (interval <= 0 || dirty >= threshold) {
+            flush();
+            return;
+        }
+        synchronized (this) {
+            if (commitJob == null) {
+                commitJob = scheduler.schedule(this::flush, interval, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Commits all pending modifications.
+     */
+    public synchronized void flush() {
+        ScheduledFuture<?> job = commitJob;
+        if (job != null) {
+            job.cancel(false);
+            commitJob = null;
+        }
+        int dirty = dirtyCount.getAndSet(0);
+        if (dirty == 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            commit.run();
+        } catch (RuntimeException e) {
+            dirtyCount.addAndGet(dirty);
+            if (closed) {
+                logger.warn("Failed to commit {} modifications: {}", dirty, e.getMessage());
+            } else {
+                long delay = interval > 0 ? interval : RETRY_DELAY;
+                logger.warn("Failed to commit {} modifications, retrying in {} ms: {}", dirty, delay, e.getMessage());
+                commitJob = scheduler.schedule(this::flush, delay, TimeUnit.MILLISECONDS);
+            }
+            return;
+        }
+        long nanos = System.nanoTime() - start;
+        maxCommitNanos = Math.max(maxCommitNanos, nanos);
+        totalCommitNanos += nanos;
+        commitCount++;
+        Timer commitTimer = this.commitTimer;
+        if (commitTimer != null) {
+            commitTimer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+        logger.trace("Committed {} modifications in {} µs", dirty, nanos / 1000);
+    }
+
+    /**
+     * Commits all pending modifications a last time. Failed commits are not retried afterwards.
+     */
+    public synchronized void close() {
+        closed = true;
+        flush();
+    }
+
+    /**
+     * Publishes the number of pending modifications and the commit duration in the given registry.
+     *
+     * @param meterRegistry the registry
+     */
+    public synchronized void bind(MeterRegistry meterRegistry) {
+        unbind();
+        Timer commitTimer = Timer.builder(PREFIX + "commit").description("Duration of a commit")
+                .register(meterRegistry);
+        Gauge pendingGauge = Gauge.builder(PREFIX + "commit.pending", dirtyCount, AtomicInteger::get)
+                .description("Number of modifications which are not committed yet").register(meterRegistry);
+        this.commitTimer = commitTimer;
+        this.meters = List.of(commitTimer, pendingGauge);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Removes the published meters from the registry.
+     */
+    public synchronized void unbind() {
+        MeterRegistry meterRegistry = this.meterRegistry;
+        if (meterRegistry != null) {
+            meters.forEach(meterRegistry::remove);
+        }
+        this.meterRegistry = null;
+        meters = List.of();
+        commitTimer = null;
+    }
+
+    /**
+     * @return number of modifications which are not committed yet
+     */
+    public int getDirtyCount() {
+        return dirtyCount.get();
+    }
+
+    /**
+     * @return number of executed commits
+     */
+    public synchronized long getCommitCount() {
+        return commitCount;
+    }
+
+    /**
+     * @return duration of the slowest commit in nanoseconds
+     */
+    public synchronized long getMaxCommitNanos() {
+        return maxCommitNanos;
+    }
+
+    /**
+     * @return average duration of a commit in nanoseconds
+     */
+    public synchronized long getAverageCommitNanos() {
+        return commitCount == 0 ? 0 : totalCommitNanos / commitCount;
+    }
+}
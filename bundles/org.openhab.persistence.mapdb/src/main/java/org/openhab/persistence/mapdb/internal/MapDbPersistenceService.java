@@ -25,6 +25,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -32,8 +33,12 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.mapdb.DB;
 import org.mapdb.DBMaker;
+import org.mapdb.Serializer;
 import org.openhab.core.OpenHAB;
 import org.openhab.core.common.ThreadPoolManager;
+import org.openhab.core.config.core.ConfigParser;
+import org.openhab.core.config.core.ConfigurableService;
+import org.openhab.core.io.monitor.MeterRegistryProvider;
 import org.openhab.core.items.Item;
 import org.openhab.core.library.types.DateTimeType;
 import org.openhab.core.persistence.FilterCriteria;
@@ -48,12 +53,17 @@ import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 /**
  * This is the implementation of the MapDB {@link PersistenceService}. To learn more about MapDB please visit their
  * <a href="http://www.mapdb.org/">website</a>.
@@ -62,34 +72,56 @@ import com.google.gson.GsonBuilder;
  * @author Martin Kühl - Port to 3.x
  */
 @NonNullByDefault
-@Component(service = { PersistenceService.class, QueryablePersistenceService.class }, property = Constants.SERVICE_PID
-        + "=org.openhab.mapdb")
+@Component(service = { PersistenceService.class,
+        QueryablePersistenceService.class }, configurationPid = "org.openhab.mapdb", //
+        property = Constants.SERVICE_PID + "=org.openhab.mapdb")
+@ConfigurableService(category = "persistence", label = "MapDB Persistence Service", description_uri = MapDbPersistenceService.CONFIG_URI)
 public class MapDbPersistenceService implements QueryablePersistenceService {
 
     private static final String SERVICE_ID = "mapdb";
     private static final String SERVICE_LABEL = "MapDB";
+    protected static final String CONFIG_URI = "persistence:mapdb";
+    private static final String COMMIT_INTERVAL_CONFIG = "commitInterval";
+    private static final long COMMIT_INTERVAL_DEFAULT = 1000;
+    private static final String COMMIT_THRESHOLD_CONFIG = "commitThreshold";
+    private static final int COMMIT_THRESHOLD_DEFAULT = 100;
     private static final Path DB_DIR = new File(OpenHAB.getUserDataFolder(), "persistence").toPath().resolve("mapdb");
     private static final Path BACKUP_DIR = DB_DIR.resolve("backup");
     private static final String DB_FILE_NAME = "storage.mapdb";
+    private static final String JSON_MAP_NAME = "itemStore";
+    private static final String MAP_NAME = "itemStates";
 
     private final Logger logger = LoggerFactory.getLogger(MapDbPersistenceService.class);
 
     private final ExecutorService threadPool = ThreadPoolManager.getPool(getClass().getSimpleName());
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool("org.openhab.mapdb");
 
     /**
      * holds the local instance of the MapDB database
      */
 
     private @NonNullByDefault({}) DB db;
-    private @NonNullByDefault({}) Map<String, String> map;
+    private @NonNullByDefault({}) Map<String, byte[]> map;
+    private @NonNullByDefault({}) CommitCoalescer commitCoalescer;
+    private @Nullable MeterRegistry meterRegistry;
+
+    private final MapDbItemCodec codec = new MapDbItemCodec();
 
+    /**
+     * only used to convert databases created by older versions which stored the items as JSON
+     */
     private transient Gson mapper = new GsonBuilder().setDateFormat(DateTimeType.DATE_PATTERN_JSON_COMPAT)
             .registerTypeHierarchyAdapter(State.class, new StateTypeAdapter()).create();
 
     @Activate
-    public void activate() {
+    public void activate(Map<String, Object> config) {
         logger.debug("MapDB persistence service is being activated");
 
+        long commitInterval = ConfigParser.valueAsOrElse(config.get(COMMIT_INTERVAL_CONFIG), Long.class,
+                COMMIT_INTERVAL_DEFAULT);
+        int commitThreshold = ConfigParser.valueAsOrElse(config.get(COMMIT_THRESHOLD_CONFIG), Integer.class,
+                COMMIT_THRESHOLD_DEFAULT);
+
         try {
             Files.createDirectories(DB_DIR);
         } catch (IOException e) {
@@ -101,7 +133,7 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         File dbFile = DB_DIR.resolve(DB_FILE_NAME).toFile();
         try {
             db = DBMaker.newFileDB(dbFile).closeOnJvmShutdown().make();
-            map = db.createTreeMap("itemStore").makeOrGet();
+            map = openMap();
         } catch (RuntimeException re) {
             Throwable cause = re.getCause();
             if (cause instanceof ClassNotFoundException cnf) {
@@ -133,10 +165,18 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
                 }
 
                 db = DBMaker.newFileDB(dbFile).closeOnJvmShutdown().make();
-                map = db.createTreeMap("itemStore").makeOrGet();
+                map = openMap();
             } else {
                 logger.warn("Failed to create or open the MapDB: {}", re.getMessage());
                 logger.warn("MapDB persistence service activation has failed.");
+                return;
+            }
+        }
+        synchronized (this) {
+            commitCoalescer = new CommitCoalescer(scheduler, db::commit, commitInterval, commitThreshold);
+            MeterRegistry meterRegistry = this.meterRegistry;
+            if (meterRegistry != null) {
+                commitCoalescer.bind(meterRegistry);
             }
         }
         logger.debug("MapDB persistence service is now activated");
@@ -145,11 +185,47 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
     @Deactivate
     public void deactivate() {
         logger.debug("MapDB persistence service deactivated");
+        if (commitCoalescer != null) {
+            commitCoalescer.close();
+            commitCoalescer.unbind();
+            logger.debug("MapDB executed {} commits, average duration {} µs, maximum duration {} µs",
+                    commitCoalescer.getCommitCount(), commitCoalescer.getAverageCommitNanos() / 1000,
+                    commitCoalescer.getMaxCommitNanos() / 1000);
+        }
         if (db != null) {
             db.close();
         }
     }
 
+    private Map<String, byte[]> openMap() {
+        Map<String, byte[]> itemMap = db.createTreeMap(MAP_NAME).valueSerializer(Serializer.BYTE_ARRAY).makeOrGet();
+        if (db.exists(JSON_MAP_NAME)) {
+            Map<String, String> jsonMap = db.getTreeMap(JSON_MAP_NAME);
+            logger.info("Converting {} items of the MapDB to the binary format", jsonMap.size());
+            jsonMap.values().stream().map(this::deserialize).flatMap(MapDbPersistenceService::streamOptional)
+                    .forEach(item -> itemMap.put(item.getName(), codec.encode(item)));
+            db.delete(JSON_MAP_NAME);
+            db.commit();
+        }
+        return itemMap;
+    }
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
+    public synchronized void setMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        MeterRegistry meterRegistry = meterRegistryProvider.getOHMeterRegistry();
+        this.meterRegistry = meterRegistry;
+        if (commitCoalescer != null) {
+            commitCoalescer.bind(meterRegistry);
+        }
+    }
+
+    public synchronized void unsetMeterRegistryProvider(MeterRegistryProvider meterRegistryProvider) {
+        meterRegistry = null;
+        if (commitCoalescer != null) {
+            commitCoalescer.unbind();
+        }
+    }
+
     @Override
     public String getId() {
         return SERVICE_ID;
@@ -162,7 +238,8 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
 
     @Override
     public Set<PersistenceItemInfo> getItemInfo() {
-        return map.values().stream().map(this::deserialize).flatMap(MapDbPersistenceService::streamOptional)
+        return map.entrySet().stream().map(entry -> decode(entry.getKey(), entry.getValue()))
+                .flatMap(MapDbPersistenceService::streamOptional)
                 .collect(Collectors.<PersistenceItemInfo> toUnmodifiableSet());
     }
 
@@ -187,25 +264,31 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         mItem.setState(state);
         mItem.setTimestamp(new Date());
         threadPool.submit(() -> {
-            String json = serialize(mItem);
-            map.put(localAlias, json);
-            db.commit();
-            logger.debug("Stored '{}' with state '{}' as '{}' in MapDB database", localAlias, state, json);
+            map.put(localAlias, codec.encode(mItem));
+            commitCoalescer.markDirty();
+            logger.debug("Stored '{}' with state '{}' in MapDB database", localAlias, state);
         });
     }
 
     @Override
     public Iterable<HistoricItem> query(FilterCriteria filter) {
-        String json = map.get(filter.getItemName());
-        if (json == null) {
+        String itemName = filter.getItemName();
+        byte[] data = itemName == null ? null : map.get(itemName);
+        if (itemName == null || data == null) {
             return List.of();
         }
-        Optional<MapDbItem> item = deserialize(json);
+        Optional<MapDbItem> item = decode(itemName, data);
         return item.isPresent() ? List.of(item.get()) : List.of();
     }
 
-    private String serialize(MapDbItem item) {
-        return mapper.toJson(item);
+    private Optional<MapDbItem> decode(String name, byte[] data) {
+        MapDbItem item = codec.decode(name, data);
+        if (item == null) {
+            return Optional.empty();
+        } else if (logger.isDebugEnabled()) {
+            logger.debug("Decoded '{}' with state '{}'", item.getName(), item.getState());
+        }
+        return Optional.of(item);
     }
 
     @SuppressWarnings("null")
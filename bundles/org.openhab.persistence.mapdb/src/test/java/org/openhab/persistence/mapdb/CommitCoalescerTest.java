@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.persistence.mapdb.internal.CommitCoalescer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class CommitCoalescerTest {
+    private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    private final AtomicInteger commits = new AtomicInteger();
+
+    @BeforeEach
+    public void setup() {
+        doReturn(mock(ScheduledFuture.class)).when(scheduler).schedule(any(Runnable.class), anyLong(), any());
+    }
+
+    @Test
+    public void modificationsAreCommittedTogether() {
+        CommitCoalescer coalescer = new CommitCoalescer(scheduler, commits::incrementAndGet, 1000, 100);
+
+        coalescer.markDirty();
+        coalescer.markDirty();
+        coalescer.markDirty();
+
+        assertThat(commits.get(), is(0));
+        assertThat(coalescer.getDirtyCount(), is(3));
+        verify(scheduler, times(1)).schedule(any(Runnable.class), eq(1000L), eq(TimeUnit.MILLISECONDS));
+
+        coalescer.flush();
+
+        assertThat(commits.get(), is(1));
+        assertThat(coalescer.getDirtyCount(), is(0));
+        assertThat(coalescer.getCommitCount(), is(1L));
+    }
+
+    @Test
+    public void thresholdTriggersImmediateCommit() {
+        CommitCoalescer coalescer = new CommitCoalescer(scheduler, commits::incrementAndGet, 1000, 2);
+
+        coalescer.markDirty();
+        coalescer.markDirty();
+
+        assertThat(commits.get(), is(1));
+        assertThat(coalescer.getDirtyCount(), is(0));
+    }
+
+    @Test
+    public void failedCommitIsRetried() {
+        AtomicBoolean fail = new AtomicBoolean(true);
+        CommitCoalescer coalescer = new CommitCoalescer(scheduler, () -> {
+            if (fail.get()) {
+                throw new IllegalStateException("commit failed");
+            }
+            commits.incrementAndGet();
+        }, 0, 100);
+
+        coalescer.markDirty();
+        coalescer.markDirty();
+
+        assertThat(coalescer.getDirtyCount(), is(2));
+        assertThat(coalescer.getCommitCount(), is(0L));
+        verify(scheduler, atLeastOnce()).schedule(any(Runnable.class), eq(1000L), eq(TimeUnit.MILLISECONDS));
+
+        fail.set(false);
+        coalescer.flush();
+
+        assertThat(commits.get(), is(1));
+        assertThat(coalescer.getDirtyCount(), is(0));
+    }
+
+    @Test
+    public void zeroIntervalCommitsEveryModification() {
+        CommitCoalescer coalescer = new CommitCoalescer(scheduler, commits::incrementAndGet, 0, 100);
+
+        coalescer.markDirty();
+        coalescer.markDirty();
+
+        assertThat(commits.get(), is(2));
+        verifyNoInteractions(scheduler);
+    }
+
+    @Test
+    public void metersArePublishedWhileBound() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CommitCoalescer coalescer = new CommitCoalescer(scheduler, commits::incrementAndGet, 1000, 100);
+        coalescer.bind(meterRegistry);
+
+        coalescer.markDirty();
+        coalescer.markDirty();
+
+        assertThat(meterRegistry.get("openhab.persistence.mapdb.commit.pending").gauge().value(), is(2.0));
+
+        coalescer.flush();
+
+        assertThat(meterRegistry.get("openhab.persistence.mapdb.commit.pending").gauge().value(), is(0.0));
+        assertThat(meterRegistry.get("openhab.persistence.mapdb.commit").timer().count(), is(1L));
+
+        coalescer.unbind();
+
+        assertThat(meterRegistry.find("openhab.persistence.mapdb.commit").timer(), is(nullValue()));
+        assertThat(meterRegistry.find("openhab.persistence.mapdb.commit.pending").gauge(), is(nullValue()));
+    }
+}
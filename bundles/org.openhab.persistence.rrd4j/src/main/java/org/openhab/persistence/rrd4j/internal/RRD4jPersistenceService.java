@@ -34,6 +34,9 @@ import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.DoubleFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -136,6 +139,16 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
 
     private static final RrdDbPool DATABASE_POOL = new RrdDbPool();
 
+    // number of locks the databases are distributed on, must be a power of two
+    private static final int DATABASE_LOCK_STRIPES = 64;
+
+    /**
+     * Access to a database is guarded by one of these locks, selected by the database name. Writing and creating a
+     * database requires the write lock, so that different databases can be written and all databases can be queried
+     * concurrently.
+     */
+    private final ReadWriteLock[] databaseLocks = new ReadWriteLock[DATABASE_LOCK_STRIPES];
+
     private final Logger logger = LoggerFactory.getLogger(RRD4jPersistenceService.class);
     private final ItemRegistry itemRegistry;
     private boolean active = false;
@@ -153,6 +166,9 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
     @Activate
     public RRD4jPersistenceService(final @Reference ItemRegistry itemRegistry, Map<String, Object> config) {
         this.itemRegistry = itemRegistry;
+        for (int i = 0; i < DATABASE_LOCK_STRIPES; i++) {
+            databaseLocks[i] = new ReentrantReadWriteLock();
+        }
         storeJob = scheduler.scheduleWithFixedDelay(() -> doStore(false), 1, 1, TimeUnit.SECONDS);
         modified(config);
         active = true;
@@ -353,7 +369,17 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         }
     }
 
-    private synchronized void writePointToDatabase(String name, double value, long timestamp) {
+    private void writePointToDatabase(String name, double value, long timestamp) {
+        Lock lock = getDatabaseLock(name).writeLock();
+        lock.lock();
+        try {
+            writePointToDatabaseLocked(name, value, timestamp);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void writePointToDatabaseLocked(String name, double value, long timestamp) {
         RrdDb db = null;
         try {
             db = getDB(name, true);
@@ -427,6 +453,19 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         }
         logger.trace("Querying rrd4j database for item '{}'", itemName);
 
+        Lock lock = getDatabaseLock(itemName).readLock();
+        lock.lock();
+        try {
+            return queryDatabase(filter, itemName);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Iterable<HistoricItem> queryDatabase(FilterCriteria filter, String itemName) {
+        ZonedDateTime filterBeginDate = filter.getBeginDate();
+        ZonedDateTime filterEndDate = filter.getEndDate();
+
         RrdDb db = null;
         try {
             db = getDB(itemName, false);
@@ -544,7 +583,15 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         return Set.of();
     }
 
-    protected synchronized @Nullable RrdDb getDB(String alias, boolean createFileIfAbsent) {
+    private ReadWriteLock getDatabaseLock(String name) {
+        return databaseLocks[name.hashCode() & (DATABASE_LOCK_STRIPES - 1)];
+    }
+
+    /**
+     * Opens the database of an item. The caller must hold the read lock of the database, or the write lock if the
+     * database may be created.
+     */
+    protected @Nullable RrdDb getDB(String alias, boolean createFileIfAbsent) {
         RrdDb db = null;
         Path path = getDatabasePath(alias);
         try {
@@ -17,11 +17,16 @@ import static java.util.Map.entry;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.time.Duration;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Hashtable;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import javax.imageio.ImageIO;
@@ -30,6 +35,8 @@ import javax.servlet.ServletConfig;
 import javax.servlet.ServletException;
 import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -67,6 +74,10 @@ import org.slf4j.LoggerFactory;
  * <li>groups: A comma separated list of group names, whose members should be displayed
  * </ul>
  *
+ * Rendered charts are kept in a small LRU cache. A cached chart is used as long as none of the displayed databases has
+ * been updated and the time axis has not moved by more than one pixel. The same information is sent as ETag, so
+ * clients revalidating a chart with If-None-Match get a 304 response without any rendering.
+ *
  * @author Kai Kreuzer - Initial contribution
  * @author Chris Jackson - a few improvements
  * @author Jan N. Klug - a few improvements
@@ -93,6 +104,8 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
 
     private static final Duration DEFAULT_PERIOD = Duration.ofDays(1);
 
+    private static final int CHART_CACHE_SIZE = 32;
+
     private static final Map<String, Duration> PERIODS = Map.ofEntries( //
             entry("h", Duration.ofHours(1)), entry("4h", Duration.ofHours(4)), //
             entry("8h", Duration.ofHours(8)), entry("12h", Duration.ofHours(12)), //
@@ -107,6 +120,15 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
     private final ItemUIRegistry itemUIRegistry;
     private final TimeZoneProvider timeZoneProvider;
 
+    private final Map<ChartKey, CachedChart> chartCache = new LinkedHashMap<>(CHART_CACHE_SIZE, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.@Nullable Entry<ChartKey, CachedChart> eldest) {
+            return size() > CHART_CACHE_SIZE;
+        }
+    };
+
     @Activate
     public RRD4jChartServlet(final @Reference HttpService httpService, final @Reference ItemUIRegistry itemUIRegistry,
             final @Reference TimeZoneProvider timeZoneProvider) {
@@ -128,6 +150,9 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
     @Deactivate
     protected void deactivate() {
         httpService.unregister(SERVLET_NAME);
+        synchronized (chartCache) {
+            chartCache.clear();
+        }
     }
 
     @Override
@@ -139,16 +164,47 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
         String periodParam = req.getParameter("period");
         Duration period = periodParam == null ? DEFAULT_PERIOD : PERIODS.getOrDefault(periodParam, DEFAULT_PERIOD);
 
+        String items = req.getParameter("items");
+        String groups = req.getParameter("groups");
+        String theme = req.getParameter("theme");
+
         // Create the start and stop time
         ZonedDateTime timeEnd = ZonedDateTime.now(timeZoneProvider.getTimeZone());
         ZonedDateTime timeBegin = timeEnd.minus(period);
 
         try {
-            BufferedImage chart = createChart(null, null, timeBegin, timeEnd, height, width, req.getParameter("items"),
-                    req.getParameter("groups"), null, null);
+            ChartKey key = new ChartKey(items, groups, period, width, height, theme);
+            // the chart moves by one pixel per time slot, so it does not need to be rendered again within a slot
+            long timeSlot = timeEnd.toInstant().toEpochMilli() / Math.max(1, period.toMillis() / Math.max(1, width));
+            long[] version = getVersion(collectItems(items, groups), timeSlot);
+            String eTag = "\"" + Integer.toHexString(key.hashCode()) + "-"
+                    + Integer.toHexString(Arrays.hashCode(version)) + "\"";
+
+            if (res instanceof HttpServletResponse httpRes) {
+                httpRes.setHeader("ETag", eTag);
+                httpRes.setHeader("Cache-Control", "no-cache");
+                if (req instanceof HttpServletRequest httpReq && eTag.equals(httpReq.getHeader("If-None-Match"))) {
+                    logger.trace("Chart {} has not been modified", key);
+                    httpRes.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                    return;
+                }
+            }
+
+            byte[] png = getCachedChart(key, version);
+            if (png == null) {
+                BufferedImage chart = createChart(null, theme, timeBegin, timeEnd, height, width, items, groups, null,
+                        null);
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                ImageIO.write(chart, getChartType().toString(), out);
+                png = out.toByteArray();
+                synchronized (chartCache) {
+                    chartCache.put(key, new CachedChart(version, png));
+                }
+            }
             // Set the content type to that provided by the chart provider
             res.setContentType("image/" + getChartType());
-            ImageIO.write(chart, getChartType().toString(), res.getOutputStream());
+            res.setContentLength(png.length);
+            res.getOutputStream().write(png);
         } catch (ItemNotFoundException e) {
             logger.debug("Item not found error while generating chart", e);
             throw new ServletException("Item not found error while generating chart: " + e.getMessage());
@@ -158,6 +214,47 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
         }
     }
 
+    private byte @Nullable [] getCachedChart(ChartKey key, long[] version) {
+        synchronized (chartCache) {
+            CachedChart cachedChart = chartCache.get(key);
+            if (cachedChart != null && Arrays.equals(cachedChart.version, version)) {
+                logger.trace("Using cached chart {}", key);
+                return cachedChart.png;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Determines the version of a chart. The version changes whenever one of the databases of the items is updated or
+     * the time slot changes.
+     */
+    private long[] getVersion(List<Item> items, long timeSlot) {
+        long[] version = new long[items.size() + 1];
+        version[0] = timeSlot;
+        for (int i = 0; i < items.size(); i++) {
+            version[i + 1] = getLastUpdateTime(items.get(i));
+        }
+        return version;
+    }
+
+    private long getLastUpdateTime(Item item) {
+        try {
+            Builder builder = RrdDb.getBuilder();
+            builder.setPool(RRD4jPersistenceService.getDatabasePool());
+            builder.setPath(RRD4jPersistenceService.getDatabasePath(item.getName()).toString());
+
+            RrdDb db = builder.build();
+            try {
+                return db.getLastUpdateTime();
+            } finally {
+                db.close();
+            }
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
     private int parseInt(@Nullable String s, int defaultValue) {
         if (s == null) {
             return defaultValue;
@@ -252,13 +349,33 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
         graphDef.setFont(FontTag.DEFAULT, new Font("SansSerif", Font.PLAIN, 11));
 
         int seriesCounter = 0;
+        for (Item item : collectItems(items, groups)) {
+            addLine(graphDef, item, seriesCounter++);
+        }
+
+        // Write the chart as a PNG image
+        try {
+            RrdGraph graph = new RrdGraph(graphDef);
+            BufferedImage bi = new BufferedImage(graph.getRrdGraphInfo().getWidth(),
+                    graph.getRrdGraphInfo().getHeight(), BufferedImage.TYPE_INT_RGB);
+            graph.render(bi.getGraphics());
+            return bi;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error generating RrdGraph", e);
+        }
+    }
+
+    /**
+     * Collects the items to display, first the given items and then the members of the given groups.
+     */
+    private List<Item> collectItems(@Nullable String items, @Nullable String groups) throws ItemNotFoundException {
+        List<Item> result = new ArrayList<>();
 
         // Loop through all the items
         if (items != null) {
             String[] itemNames = items.split(",");
             for (String itemName : itemNames) {
-                Item item = itemUIRegistry.getItem(itemName);
-                addLine(graphDef, item, seriesCounter++);
+                result.add(itemUIRegistry.getItem(itemName));
             }
         }
 
@@ -268,29 +385,24 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
             for (String groupName : groupNames) {
                 Item item = itemUIRegistry.getItem(groupName);
                 if (item instanceof GroupItem groupItem) {
-                    for (Item member : groupItem.getMembers()) {
-                        addLine(graphDef, member, seriesCounter++);
-                    }
+                    result.addAll(groupItem.getMembers());
                 } else {
                     throw new ItemNotFoundException("Item '" + item.getName() + "' defined in groups is not a group.");
                 }
             }
         }
-
-        // Write the chart as a PNG image
-        try {
-            RrdGraph graph = new RrdGraph(graphDef);
-            BufferedImage bi = new BufferedImage(graph.getRrdGraphInfo().getWidth(),
-                    graph.getRrdGraphInfo().getHeight(), BufferedImage.TYPE_INT_RGB);
-            graph.render(bi.getGraphics());
-            return bi;
-        } catch (IOException e) {
-            throw new UncheckedIOException("Error generating RrdGraph", e);
-        }
+        return result;
     }
 
     @Override
     public ImageType getChartType() {
         return ImageType.png;
     }
+
+    private record ChartKey(@Nullable String items, @Nullable String groups, Duration period, int width, int height,
+            @Nullable String theme) {
+    }
+
+    private record CachedChart(long[] version, byte[] png) {
+    }
 }
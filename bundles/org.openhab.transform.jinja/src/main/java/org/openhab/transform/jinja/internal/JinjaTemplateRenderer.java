@@ -0,0 +1,134 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.jinja.internal;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.hubspot.jinjava.Jinjava;
+import com.hubspot.jinjava.JinjavaConfig;
+import com.hubspot.jinjava.interpret.Context;
+import com.hubspot.jinjava.interpret.FatalTemplateErrorsException;
+import com.hubspot.jinjava.interpret.InterpretException;
+import com.hubspot.jinjava.interpret.InvalidArgumentException;
+import com.hubspot.jinjava.interpret.InvalidInputException;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.interpret.TemplateError;
+import com.hubspot.jinjava.interpret.TemplateError.ErrorType;
+import com.hubspot.jinjava.interpret.TemplateSyntaxException;
+import com.hubspot.jinjava.tree.Node;
+
+/**
+ * The {@link JinjaTemplateRenderer} renders Jinja templates like {@link Jinjava#render(String, Map)}, but parses each
+ * template only once.
+ *
+ * The parsed templates are cached by their text, the least recently used template is evicted when the cache is full.
+ * Exceptions thrown while rendering are reported as errors of the template, as {@link Jinjava#renderForResult} does.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class JinjaTemplateRenderer {
+    private static final int TEMPLATE_CACHE_SIZE = 1000;
+
+    private final Jinjava jinjava;
+    private final Map<String, Node> templateCache = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.@Nullable Entry<String, Node> eldest) {
+            return size() > TEMPLATE_CACHE_SIZE;
+        }
+    };
+
+    JinjaTemplateRenderer(Jinjava jinjava) {
+        this.jinjava = jinjava;
+    }
+
+    /**
+     * Renders a template.
+     *
+     * @param template the Jinja template
+     * @param bindings the variables of the template
+     * @return the rendered template
+     * @throws FatalTemplateErrorsException if the template could not be rendered
+     */
+    String render(String template, Map<String, @Nullable Object> bindings) {
+        Node root = getTemplate(template);
+        if (root == null) {
+            // let Jinjava report the errors
+            return jinjava.render(template, bindings);
+        }
+
+        JinjavaConfig config = jinjava.getGlobalConfig();
+        Context context = new Context(jinjava.getGlobalContextCopy(), bindings, config.getDisabled());
+        JinjavaInterpreter interpreter = config.getInterpreterFactory().newInstance(jinjava, context, config);
+        String result = "";
+        List<TemplateError> errors = new ArrayList<>();
+        JinjavaInterpreter.pushCurrent(interpreter);
+        try {
+            result = interpreter.render(root);
+        } catch (TemplateSyntaxException e) {
+            errors.add(TemplateError.fromException(e));
+        } catch (InterpretException e) {
+            errors.add(TemplateError.fromSyntaxError(e));
+        } catch (InvalidArgumentException e) {
+            errors.add(TemplateError.fromInvalidArgumentException(e));
+        } catch (InvalidInputException e) {
+            errors.add(TemplateError.fromInvalidInputException(e));
+        } catch (Exception e) {
+            errors.add(TemplateError.fromException(e));
+        } finally {
+            JinjavaInterpreter.popCurrent();
+        }
+        errors.addAll(interpreter.getErrorsCopy());
+
+        List<TemplateError> fatalErrors = errors.stream().filter(error -> error.getSeverity() == ErrorType.FATAL)
+                .toList();
+        if (!fatalErrors.isEmpty()) {
+            throw new FatalTemplateErrorsException(template, fatalErrors);
+        }
+        return result;
+    }
+
+    /**
+     * @return the parsed template or <code>null</code> if the template could not be parsed
+     */
+    private @Nullable Node getTemplate(String template) {
+        Node root;
+        synchronized (templateCache) {
+            root = templateCache.get(template);
+        }
+        if (root == null) {
+            JinjavaInterpreter interpreter = jinjava.newInterpreter();
+            JinjavaInterpreter.pushCurrent(interpreter);
+            try {
+                root = interpreter.parse(template);
+            } finally {
+                JinjavaInterpreter.popCurrent();
+            }
+            if (!interpreter.getErrorsCopy().isEmpty()) {
+                return null;
+            }
+            synchronized (templateCache) {
+                templateCache.put(template, root);
+            }
+        }
+        return root;
+    }
+}
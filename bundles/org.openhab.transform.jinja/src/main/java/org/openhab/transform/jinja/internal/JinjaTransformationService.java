@@ -32,6 +32,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hubspot.jinjava.Jinjava;
 import com.hubspot.jinjava.interpret.FatalTemplateErrorsException;
+import com.hubspot.jinjava.interpret.LazyExpression;
 
 /**
  * <p>
@@ -46,7 +47,8 @@ public class JinjaTransformationService implements TransformationService {
 
     private final Logger logger = LoggerFactory.getLogger(JinjaTransformationService.class);
 
-    private final Jinjava jinjava = new Jinjava();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JinjaTemplateRenderer renderer = new JinjaTemplateRenderer(new Jinjava());
 
     /**
      * Transforms the input <code>value</code> by Jinja template.
@@ -63,16 +65,11 @@ public class JinjaTransformationService implements TransformationService {
         logger.debug("about to transform '{}' by the function '{}'", value, template);
 
         bindings.put("value", value);
+        // the value is only parsed if the template uses value_json
+        bindings.put("value_json", LazyExpression.of(() -> parseJson(value), "value_json"));
 
         try {
-            JsonNode tree = new ObjectMapper().readTree(value);
-            bindings.put("value_json", toObject(tree));
-        } catch (IOException e) {
-            // ok, then value_json is null...
-        }
-
-        try {
-            transformationResult = jinjava.render(template, bindings);
+            transformationResult = renderer.render(template, bindings);
         } catch (FatalTemplateErrorsException e) {
             throw new TransformationException("An error occurred while transformation. " + e.getMessage(), e);
         }
@@ -82,6 +79,16 @@ public class JinjaTransformationService implements TransformationService {
         return transformationResult;
     }
 
+    private @Nullable Object parseJson(String value) {
+        try {
+            JsonNode tree = objectMapper.readTree(value);
+            return toObject(tree);
+        } catch (IOException e) {
+            // ok, then value_json is null...
+            return null;
+        }
+    }
+
     private static @Nullable Object toObject(JsonNode node) {
         switch (node.getNodeType()) {
             case ARRAY: {
@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.jinja.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.hubspot.jinjava.Jinjava;
+import com.hubspot.jinjava.interpret.FatalTemplateErrorsException;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.interpret.LazyExpression;
+import com.hubspot.jinjava.lib.tag.Tag;
+import com.hubspot.jinjava.tree.TagNode;
+
+/**
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JinjaTemplateRendererTest {
+
+    private @NonNullByDefault({}) JinjaTemplateRenderer renderer;
+
+    @BeforeEach
+    public void init() {
+        renderer = new JinjaTemplateRenderer(new Jinjava());
+    }
+
+    @Test
+    public void testCachedTemplateIsRenderedWithNewBindings() {
+        assertEquals("Hello world!", renderer.render("Hello {{ value }}!", Map.of("value", "world")));
+        assertEquals("Hello openHAB!", renderer.render("Hello {{ value }}!", Map.of("value", "openHAB")));
+    }
+
+    @Test
+    public void testLazyValueIsOnlyEvaluatedWhenUsed() {
+        AtomicInteger evaluations = new AtomicInteger();
+        Map<String, @Nullable Object> bindings = new HashMap<>();
+        bindings.put("value", "42");
+        bindings.put("value_json", LazyExpression.of(() -> evaluations.incrementAndGet(), "value_json"));
+
+        assertEquals("42", renderer.render("{{ value }}", bindings));
+        assertEquals(0, evaluations.get());
+
+        assertEquals("1", renderer.render("{{ value_json }}", bindings));
+        assertEquals(1, evaluations.get());
+    }
+
+    @Test
+    public void testInvalidTemplateThrowsException() {
+        assertThrows(FatalTemplateErrorsException.class, () -> renderer.render("{{ foo( }}", Map.of()));
+        assertThrows(FatalTemplateErrorsException.class, () -> renderer.render("{{ foo( }}", Map.of()));
+    }
+
+    @Test
+    public void testExceptionWhileRenderingThrowsFatalTemplateErrorsException() {
+        Jinjava jinjava = new Jinjava();
+        jinjava.getGlobalContext().registerTag(new Tag() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public String getName() {
+                return "fail";
+            }
+
+            @Override
+            public @Nullable String getEndTagName() {
+                return null;
+            }
+
+            @Override
+            public String interpret(@Nullable TagNode tagNode, @Nullable JinjavaInterpreter interpreter) {
+                throw new IllegalStateException("failed");
+            }
+        });
+        renderer = new JinjaTemplateRenderer(jinjava);
+
+        assertThrows(FatalTemplateErrorsException.class, () -> renderer.render("{% fail %}", Map.of()));
+        // the second call renders the cached template
+        assertThrows(FatalTemplateErrorsException.class, () -> renderer.render("{% fail %}", Map.of()));
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.jsonpath.internal;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.InvalidJsonException;
+import com.jayway.jsonpath.JsonPath;
+
+/**
+ * The {@link JsonDocumentCache} keeps recently parsed JSON documents for a short time.
+ *
+ * Several channels usually extract values from the same payload, which is then parsed only once. Documents are
+ * looked up by their source string, so a payload passed as the same string instance is found without comparing its
+ * content. The number of documents is bounded, the oldest document is dropped first.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class JsonDocumentCache {
+    private final Map<String, CachedDocument> documents = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    /**
+     * @param maxSize maximum number of cached documents
+     * @param ttlNanos time in nanoseconds a document is kept after it has been parsed
+     * @param nanoClock source of the current time in nanoseconds
+     */
+    JsonDocumentCache(int maxSize, long ttlNanos, LongSupplier nanoClock) {
+        this.maxSize = Math.max(1, maxSize);
+        this.ttlNanos = ttlNanos;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Returns the parsed document of the given source, parsing it if it is not cached.
+     *
+     * @param source the JSON string
+     * @return the parsed document, must not be modified
+     * @throws InvalidJsonException if the source is not valid JSON
+     */
+    DocumentContext get(String source) {
+        long now = nanoClock.getAsLong();
+        CachedDocument cached = documents.get(source);
+        if (cached != null && now - cached.parsed < ttlNanos) {
+            return cached.document;
+        }
+
+        DocumentContext document = JsonPath.parse(source);
+        if (documents.size() >= maxSize) {
+            evict(now);
+        }
+        documents.put(source, new CachedDocument(document, now));
+        return document;
+    }
+
+    /**
+     * @return the number of cached documents
+     */
+    int size() {
+        return documents.size();
+    }
+
+    private void evict(long now) {
+        documents.values().removeIf(cached -> now - cached.parsed >= ttlNanos);
+        while (documents.size() >= maxSize) {
+            documents.entrySet().stream().min((a, b) -> Long.compare(a.getValue().parsed, b.getValue().parsed))
+                    .ifPresent(oldest -> documents.remove(oldest.getKey(), oldest.getValue()));
+        }
+    }
+
+    private record CachedDocument(DocumentContext document, long parsed) {
+    }
+}
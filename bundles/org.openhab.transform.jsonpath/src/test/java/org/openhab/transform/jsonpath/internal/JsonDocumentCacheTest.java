@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.jsonpath.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.InvalidJsonException;
+
+/**
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JsonDocumentCacheTest {
+
+    private static final String JSON = "{ \"id\":1, \"name\":\"bob\" }";
+
+    private final AtomicLong clock = new AtomicLong();
+    private @NonNullByDefault({}) JsonDocumentCache cache;
+
+    @BeforeEach
+    public void init() {
+        cache = new JsonDocumentCache(2, 100, clock::get);
+    }
+
+    @Test
+    public void testSameSourceIsParsedOnce() {
+        DocumentContext document = cache.get(JSON);
+        assertSame(document, cache.get(JSON));
+        assertSame(document, cache.get(new String(JSON)));
+        assertEquals("bob", document.read("$.name"));
+    }
+
+    @Test
+    public void testExpiredDocumentIsParsedAgain() {
+        DocumentContext document = cache.get(JSON);
+        clock.addAndGet(100);
+        assertNotSame(document, cache.get(JSON));
+    }
+
+    @Test
+    public void testSizeIsBounded() {
+        cache.get("[1]");
+        clock.incrementAndGet();
+        cache.get("[2]");
+        clock.incrementAndGet();
+        DocumentContext document = cache.get("[3]");
+
+        assertEquals(2, cache.size());
+        assertSame(document, cache.get("[3]"));
+    }
+
+    @Test
+    public void testInvalidJsonIsNotCached() {
+        assertThrows(InvalidJsonException.class, () -> cache.get("{id:"));
+        assertEquals(0, cache.size());
+    }
+}
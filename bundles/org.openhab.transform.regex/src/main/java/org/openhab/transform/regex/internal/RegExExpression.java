@@ -0,0 +1,53 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.regex.internal;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A parsed and compiled expression of the {@link RegExTransformationService}.
+ *
+ * An expression is either a substitution of the form <code>s/regex/substitution/options</code> or a regular expression
+ * which has to match the whole input.
+ *
+ * @param pattern the compiled regular expression
+ * @param substitution the replacement of a substitution, <code>null</code> for a match expression
+ * @param global true if all occurrences are substituted, false if only the first one is
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+record RegExExpression(Pattern pattern, @Nullable String substitution, boolean global) {
+
+    private static final Pattern SUBSTR_PATTERN = Pattern.compile("^s/(.*?[^\\\\])/(.*?[^\\\\])/(.*)$");
+
+    /**
+     * Parses and compiles an expression.
+     *
+     * @param regExpression the expression
+     * @return the compiled expression
+     * @throws java.util.regex.PatternSyntaxException if the regular expression is invalid
+     */
+    static RegExExpression compile(String regExpression) {
+        Matcher substMatcher = SUBSTR_PATTERN.matcher(regExpression);
+        if (substMatcher.matches()) {
+            return new RegExExpression(Pattern.compile(substMatcher.group(1)), substMatcher.group(2),
+                    "g".equals(substMatcher.group(3)));
+        }
+        return new RegExExpression(Pattern.compile("^" + regExpression + "$", Pattern.DOTALL), null, false);
+    }
+}
@@ -75,4 +75,38 @@ public class RegExTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("varX=12 varY=54 ", transformedResponse);
     }
+
+    @Test
+    public void testCompiledExpressionIsCached() throws TransformationException {
+        assertEquals("42", processor.transform("ARG:(.*)", "ARG:42"));
+        RegExExpression expression = processor.getExpression("ARG:(.*)");
+
+        assertEquals("43", processor.transform("ARG:(.*)", "ARG:43"));
+        assertSame(expression, processor.getExpression("ARG:(.*)"));
+        assertNull(expression.substitution());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedExpressionIsEvicted() {
+        RegExExpression first = processor.getExpression("(first)");
+        RegExExpression second = processor.getExpression("(second)");
+        for (int i = 0; i < 998; i++) {
+            processor.getExpression("(" + i + ")");
+        }
+
+        // the cache is full, using the first expression keeps it cached
+        assertSame(first, processor.getExpression("(first)"));
+        processor.getExpression("(another)");
+        assertSame(first, processor.getExpression("(first)"));
+        assertNotSame(second, processor.getExpression("(second)"));
+    }
+
+    @Test
+    public void testSubstitutionIsParsed() {
+        RegExExpression expression = processor.getExpression("s/([A-Z]+)([0-9]+),*/var$1=$2 /g");
+
+        assertEquals("([A-Z]+)([0-9]+),*", expression.pattern().pattern());
+        assertEquals("var$1=$2 ", expression.substitution());
+        assertTrue(expression.global());
+    }
 }
@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.scale.internal;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The {@link ScaleTable} finds the first matching range of a scale in logarithmic time.
+ *
+ * The limits of all ranges split the number line into segments: the limits themselves and the open intervals between
+ * them. No range starts or ends within a segment, so the first matching range is the same for all values of a segment
+ * and is determined once per segment. A lookup then only has to find the segment of a value by a binary search over
+ * the limits. If all limits can be represented exactly as doubles, the search is done on doubles and only a value
+ * that is equal to a limit as a double is compared exactly.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class ScaleTable {
+    private static final BigDecimal TWO = BigDecimal.valueOf(2);
+
+    private final BigDecimal[] limits;
+    private final double @Nullable [] doubleLimits;
+    // segment 2 * i is the interval below limits[i], segment 2 * i + 1 is limits[i]
+    private final @Nullable String[] labels;
+
+    /**
+     * Creates the table of a scale.
+     *
+     * @param ranges the ranges and their labels, in the order in which they are evaluated
+     */
+    ScaleTable(List<Map.Entry<Range, String>> ranges) {
+        TreeSet<BigDecimal> limitSet = new TreeSet<>();
+        for (Map.Entry<Range, String> range : ranges) {
+            if (range.getKey().min != null) {
+                limitSet.add(range.getKey().min);
+            }
+            if (range.getKey().max != null) {
+                limitSet.add(range.getKey().max);
+            }
+        }
+        limits = limitSet.toArray(BigDecimal[]::new);
+
+        labels = new String[2 * limits.length + 1];
+        for (int segment = 0; segment < labels.length; segment++) {
+            BigDecimal value = representative(segment);
+            labels[segment] = ranges.stream().filter(range -> range.getKey().contains(value)).findFirst()
+                    .map(Map.Entry::getValue).orElse(null);
+        }
+
+        double[] doubles = new double[limits.length];
+        for (int i = 0; i < limits.length; i++) {
+            doubles[i] = limits[i].doubleValue();
+            if (Double.isInfinite(doubles[i]) || new BigDecimal(doubles[i]).compareTo(limits[i]) != 0) {
+                doubles = null;
+                break;
+            }
+        }
+        doubleLimits = doubles;
+    }
+
+    /**
+     * Finds the label of the first range containing a value.
+     *
+     * @param value the value
+     * @return the label or <code>null</code> if no range contains the value
+     */
+    @Nullable String lookup(BigDecimal value) {
+        double[] doubleLimits = this.doubleLimits;
+        if (doubleLimits != null) {
+            int index = Arrays.binarySearch(doubleLimits, value.doubleValue());
+            if (index < 0) {
+                return labels[2 * (-index - 1)];
+            }
+            // the value may be next to the limit and only rounded to it
+            int cmp = value.compareTo(limits[index]);
+            return labels[cmp < 0 ? 2 * index : cmp == 0 ? 2 * index + 1 : 2 * index + 2];
+        }
+
+        int index = Arrays.binarySearch(limits, value);
+        return labels[index < 0 ? 2 * (-index - 1) : 2 * index + 1];
+    }
+
+    private BigDecimal representative(int segment) {
+        int index = segment / 2;
+        if (segment % 2 == 1) {
+            return limits[index];
+        } else if (limits.length == 0) {
+            return BigDecimal.ZERO;
+        } else if (index == 0) {
+            return limits[0].subtract(BigDecimal.ONE);
+        } else if (index == limits.length) {
+            return limits[index - 1].add(BigDecimal.ONE);
+        } else {
+            return limits[index - 1].add(limits[index]).divide(TWO);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.scale.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ScaleTableTest {
+    private static final BigDecimal EPSILON = new BigDecimal("1E-30");
+
+    @Test
+    public void testFirstMatchingRangeIsReturned() {
+        List<Map.Entry<Range, String>> ranges = List.of(
+                Map.entry(Range.closed(BigDecimal.ZERO, BigDecimal.TEN), "first"),
+                Map.entry(Range.atLeast(BigDecimal.ZERO), "second"), Map.entry(Range.all(), "third"));
+        ScaleTable table = new ScaleTable(ranges);
+
+        assertEquals("third", table.lookup(new BigDecimal("-1")));
+        assertEquals("first", table.lookup(BigDecimal.ZERO));
+        assertEquals("first", table.lookup(new BigDecimal("10.0")));
+        assertEquals("second", table.lookup(BigDecimal.TEN.add(EPSILON)));
+    }
+
+    @Test
+    public void testNoMatchingRange() {
+        ScaleTable table = new ScaleTable(List.of(Map.entry(Range.open(BigDecimal.ZERO, BigDecimal.ONE), "inside")));
+
+        assertNull(table.lookup(BigDecimal.ZERO));
+        assertEquals("inside", table.lookup(new BigDecimal("0.5")));
+        assertNull(table.lookup(BigDecimal.ONE));
+        assertNull(new ScaleTable(List.of()).lookup(BigDecimal.ONE));
+    }
+
+    @Test
+    public void testLookupMatchesLinearSearch() {
+        // the first set of limits is exactly representable as doubles, the second one is not
+        compareWithLinearSearch(new String[] { "-2", "0", "0.5", "1", "2.25", "7", "100" });
+        compareWithLinearSearch(new String[] { "-2", "0", "0.1", "1", "2.3", "7", "100" });
+    }
+
+    private void compareWithLinearSearch(String[] limitValues) {
+        Random random = new Random(4711);
+        List<BigDecimal> limits = new ArrayList<>();
+        for (String limit : limitValues) {
+            limits.add(new BigDecimal(limit));
+        }
+
+        for (int run = 0; run < 50; run++) {
+            List<Map.Entry<Range, String>> ranges = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                BigDecimal low = random.nextInt(5) == 0 ? null : limits.get(random.nextInt(limits.size()));
+                BigDecimal high = random.nextInt(5) == 0 ? null : limits.get(random.nextInt(limits.size()));
+                ranges.add(Map.entry(Range.range(low, random.nextBoolean(), high, random.nextBoolean()), "r" + i));
+            }
+            ScaleTable table = new ScaleTable(ranges);
+
+            for (BigDecimal limit : limits) {
+                for (BigDecimal value : List.of(limit, limit.subtract(EPSILON), limit.add(EPSILON),
+                        limit.add(new BigDecimal("0.05")), limit.subtract(new BigDecimal("1000")))) {
+                    assertEquals(linearSearch(ranges, value), table.lookup(value), "value " + value);
+                }
+            }
+        }
+    }
+
+    private @Nullable String linearSearch(List<Map.Entry<Range, String>> ranges, BigDecimal value) {
+        return ranges.stream().filter(range -> range.getKey().contains(value)).findFirst().map(Map.Entry::getValue)
+                .orElse(null);
+    }
+}
@@ -0,0 +1,202 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.xpath.internal;
+
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The {@link StreamingXPathSelector} evaluates simple XPath expressions while reading the document with StAX, without
+ * building a DOM.
+ *
+ * <p>
+ * Supported are location paths made of child steps with element names, e.g. <code>/root/element</code>, optionally
+ * starting with a descendant step (<code>//element/child</code>) and ending with an attribute
+ * (<code>/root/element/@name</code>). Names must not have a prefix, so they only match elements and attributes
+ * without namespace, as in XPath. The result is the string value of the first selected node in document order, or an
+ * empty string if no node is selected. The rest of the document is still read once the result is known, so that a
+ * malformed document fails as it does when it is parsed to a DOM.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class StreamingXPathSelector {
+    private static final Pattern NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_.\\-]*");
+    // the matched steps of an element are kept as bits of a long
+    private static final int MAX_STEPS = Long.SIZE;
+
+    private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+
+    private final boolean descendant;
+    private final String[] steps;
+    private final @Nullable String attribute;
+
+    private StreamingXPathSelector(boolean descendant, String[] steps, @Nullable String attribute) {
+        this.descendant = descendant;
+        this.steps = steps;
+        this.attribute = attribute;
+    }
+
+    /**
+     * Creates a selector for the given expression.
+     *
+     * @param expression the XPath expression
+     * @return the selector or <code>null</code> if the expression is not supported
+     */
+    static @Nullable StreamingXPathSelector parse(String expression) {
+        String path = expression.trim();
+        boolean descendant = path.startsWith("//");
+        if (!path.startsWith("/")) {
+            return null;
+        }
+        String[] parts = path.substring(descendant ? 2 : 1).split("/", -1);
+        String attribute = null;
+        int stepCount = parts.length;
+        if (parts[stepCount - 1].startsWith("@")) {
+            attribute = parts[stepCount - 1].substring(1);
+            if (!NAME.matcher(attribute).matches()) {
+                return null;
+            }
+            stepCount--;
+        }
+        if (stepCount == 0 || stepCount > MAX_STEPS) {
+            return null;
+        }
+        String[] steps = Arrays.copyOf(parts, stepCount);
+        for (String step : steps) {
+            if (!NAME.matcher(step).matches()) {
+                return null;
+            }
+        }
+        return new StreamingXPathSelector(descendant, steps, attribute);
+    }
+
+    /**
+     * Evaluates the expression on the given document.
+     *
+     * @param source the XML document
+     * @return the string value of the first selected node or <code>null</code> if the document contains a DTD, which
+     *         has to be evaluated on a DOM
+     * @throws XMLStreamException if the document could not be read
+     */
+    @Nullable String evaluate(String source) throws XMLStreamException {
+        XMLStreamReader reader;
+        synchronized (INPUT_FACTORY) {
+            reader = INPUT_FACTORY.createXMLStreamReader(new StringReader(source));
+        }
+        try {
+            // matched[depth] has bit i set if the element at this depth is selected by the first i + 1 steps
+            long[] matched = new long[16];
+            int depth = 0;
+            long lastStep = 1L << (steps.length - 1);
+            String result = null;
+
+            while (result == null && reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.DTD) {
+                    return null;
+                } else if (event == XMLStreamConstants.START_ELEMENT) {
+                    depth++;
+                    if (depth == matched.length) {
+                        matched = Arrays.copyOf(matched, matched.length * 2);
+                    }
+                    long elementSteps = matchSteps(reader, depth == 1 ? 0 : matched[depth - 1], depth);
+                    matched[depth] = elementSteps;
+                    if ((elementSteps & lastStep) != 0) {
+                        String attribute = this.attribute;
+                        result = attribute == null ? readStringValue(reader) : getAttributeValue(reader, attribute);
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    depth--;
+                }
+            }
+            // check that the remaining document is well-formed
+            while (reader.hasNext()) {
+                reader.next();
+            }
+            return result == null ? "" : result;
+        } finally {
+            reader.close();
+        }
+    }
+
+    private long matchSteps(XMLStreamReader reader, long parentSteps, int depth) {
+        String namespace = reader.getNamespaceURI();
+        if (namespace != null && !namespace.isEmpty()) {
+            return 0;
+        }
+        String name = reader.getLocalName();
+        long result = 0;
+        if ((descendant || depth == 1) && steps[0].equals(name)) {
+            result = 1;
+        }
+        for (int i = 1; i < steps.length; i++) {
+            if ((parentSteps & (1L << (i - 1))) != 0 && steps[i].equals(name)) {
+                result |= 1L << i;
+            }
+        }
+        return result;
+    }
+
+    private @Nullable String getAttributeValue(XMLStreamReader reader, String name) {
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String namespace = reader.getAttributeNamespace(i);
+            if ((namespace == null || namespace.isEmpty()) && name.equals(reader.getAttributeLocalName(i))) {
+                return reader.getAttributeValue(i);
+            }
+        }
+        return null;
+    }
+
+    private String readStringValue(XMLStreamReader reader) throws XMLStreamException {
+        StringBuilder value = new StringBuilder();
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            switch (event) {
+                case XMLStreamConstants.START_ELEMENT:
+                    depth++;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    depth--;
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    value.append(reader.getText());
+                    break;
+                default:
+                    break;
+            }
+        }
+        return value.toString();
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        // see https://cheatsheetseries.owasp.org/cheatsheets/XML_External_Entity_Prevention_Cheat_Sheet.html
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        return factory;
+    }
+}
@@ -13,12 +13,17 @@
 package org.openhab.transform.xpath.internal;
 
 import java.io.StringReader;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -35,14 +40,48 @@ import org.xml.sax.InputSource;
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by XPath Expressions.
  *
+ * <p>
+ * Expressions are compiled once. Simple location paths are evaluated while streaming the document (see
+ * {@link StreamingXPathSelector}), all others on a DOM.
+ *
  * @author Thomas.Eichstaedt-Engelen - Initial contribution
  */
 @NonNullByDefault
 @Component(property = { "openhab.transform=XPATH" })
 public class XPathTransformationService implements TransformationService {
 
+    private static final int EXPRESSION_CACHE_SIZE = 1000;
+
     private final Logger logger = LoggerFactory.getLogger(XPathTransformationService.class);
 
+    private final DocumentBuilderFactory domFactory;
+    private final XPath xpath = XPathFactory.newInstance().newXPath();
+    // compilation is serialized on the shared XPath instance, so the recently used expressions are kept
+    private final Map<String, CompiledExpression> expressionCache = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.@Nullable Entry<String, CompiledExpression> eldest) {
+            return size() > EXPRESSION_CACHE_SIZE;
+        }
+    };
+
+    public XPathTransformationService() {
+        domFactory = DocumentBuilderFactory.newInstance();
+        try {
+            // see https://cheatsheetseries.owasp.org/cheatsheets/XML_External_Entity_Prevention_Cheat_Sheet.html
+            domFactory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+            domFactory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+            domFactory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+        } catch (ParserConfigurationException e) {
+            throw new IllegalStateException("XML parser does not support disabling external entities", e);
+        }
+        domFactory.setXIncludeAware(false);
+        domFactory.setExpandEntityReferences(false);
+        domFactory.setNamespaceAware(true);
+        domFactory.setValidating(false);
+    }
+
     @Override
     public @Nullable String transform(String xpathExpression, String source) throws TransformationException {
         if (xpathExpression == null || source == null) {
@@ -54,16 +93,26 @@ public class XPathTransformationService implements TransformationService {
         StringReader stringReader = null;
 
         try {
-            DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
-            // see https://cheatsheetseries.owasp.org/cheatsheets/XML_External_Entity_Prevention_Cheat_Sheet.html
-            domFactory.setFeature("http://xml.org/sax/features/external-general-entities", false);
-            domFactory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
-            domFactory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
-            domFactory.setXIncludeAware(false);
-            domFactory.setExpandEntityReferences(false);
-            domFactory.setNamespaceAware(true);
-            domFactory.setValidating(false);
-            DocumentBuilder builder = domFactory.newDocumentBuilder();
+            CompiledExpression compiledExpression = getExpression(xpathExpression);
+
+            StreamingXPathSelector selector = compiledExpression.selector();
+            if (selector != null) {
+                try {
+                    String transformationResult = selector.evaluate(source);
+                    if (transformationResult != null) {
+                        logger.debug("transformation resulted in '{}'", transformationResult);
+                        return transformationResult;
+                    }
+                } catch (XMLStreamException e) {
+                    // report the error of the DOM parser, which is more specific
+                    logger.trace("streaming evaluation of '{}' failed: {}", xpathExpression, e.getMessage());
+                }
+            }
+
+            DocumentBuilder builder;
+            synchronized (domFactory) {
+                builder = domFactory.newDocumentBuilder();
+            }
 
             stringReader = new StringReader(source);
             InputSource inputSource = new InputSource(stringReader);
@@ -71,10 +120,11 @@ public class XPathTransformationService implements TransformationService {
 
             Document doc = builder.parse(inputSource);
 
-            XPath xpath = XPathFactory.newInstance().newXPath();
-            XPathExpression expr = xpath.compile(xpathExpression);
-
-            String transformationResult = (String) expr.evaluate(doc, XPathConstants.STRING);
+            XPathExpression expr = compiledExpression.expression();
+            String transformationResult;
+            synchronized (expr) {
+                transformationResult = (String) expr.evaluate(doc, XPathConstants.STRING);
+            }
 
             logger.debug("transformation resulted in '{}'", transformationResult);
 
@@ -87,4 +137,28 @@ public class XPathTransformationService implements TransformationService {
             }
         }
     }
+
+    private CompiledExpression getExpression(String xpathExpression) throws XPathExpressionException {
+        CompiledExpression compiledExpression;
+        synchronized (expressionCache) {
+            compiledExpression = expressionCache.get(xpathExpression);
+        }
+        if (compiledExpression == null) {
+            XPathExpression expression;
+            synchronized (xpath) {
+                expression = xpath.compile(xpathExpression);
+            }
+            compiledExpression = new CompiledExpression(expression, StreamingXPathSelector.parse(xpathExpression));
+            synchronized (expressionCache) {
+                expressionCache.put(xpathExpression, compiledExpression);
+            }
+        }
+        return compiledExpression;
+    }
+
+    /**
+     * A compiled expression, evaluated with the streaming selector if the expression is simple enough.
+     */
+    private record CompiledExpression(XPathExpression expression, @Nullable StreamingXPathSelector selector) {
+    }
 }
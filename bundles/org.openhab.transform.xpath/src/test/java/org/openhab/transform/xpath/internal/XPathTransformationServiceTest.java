@@ -38,4 +38,37 @@ public class XPathTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    @Test
+    public void testTransformByXPathFunction() throws TransformationException {
+        assertEquals("4", processor.transform("count(//forecast_conditions)", source));
+    }
+
+    @Test
+    public void testTransformByXPathElementValue() throws TransformationException {
+        String xml = "<a><b>t<c>u</c><!-- comment -->v</b><b>w</b></a>";
+        assertEquals("tuv", processor.transform("/a/b", xml));
+        assertEquals("", processor.transform("/a/d", xml));
+    }
+
+    @Test
+    public void testTransformByXPathAttributeOfLaterElement() throws TransformationException {
+        assertEquals("3", processor.transform("/a/b/@y", "<a><b x=\"1\"/><b x=\"2\" y=\"3\"/></a>"));
+    }
+
+    @Test
+    public void testTransformByXPathIgnoresNamespacedElements() throws TransformationException {
+        assertEquals("", processor.transform("/r/b", "<r xmlns=\"urn:test\"><b>1</b></r>"));
+        assertEquals("2", processor.transform("//b", "<r xmlns:p=\"urn:test\"><p:b>1</p:b><b>2</b></r>"));
+    }
+
+    @Test
+    public void testTransformInvalidXmlThrowsException() {
+        assertThrows(TransformationException.class, () -> processor.transform("/a/b", "<a><b>"));
+    }
+
+    @Test
+    public void testTransformInvalidXmlAfterMatchThrowsException() {
+        assertThrows(TransformationException.class, () -> processor.transform("/a/b", "<a><b>1</b><c></a>"));
+    }
 }
@@ -38,4 +38,15 @@ public class XsltTransformationServiceTest extends AbstractTransformationService
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    @Test
+    public void testTransformWithCachedStylesheet() throws TransformationException {
+        assertEquals("8", processor.transform("http/google_weather.xsl", source));
+        assertEquals("9", processor.transform("http/google_weather.xsl", source.replace("\"8\"", "\"9\"")));
+    }
+
+    @Test
+    public void testMissingStylesheetThrowsException() {
+        assertThrows(TransformationException.class, () -> processor.transform("http/missing.xsl", source));
+    }
 }